@@ -1,6 +1,7 @@
 package app;
 
 import java.awt.CardLayout;
+import java.io.File;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 
@@ -8,11 +9,14 @@ import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.WindowConstants;
 
+import data_access.FileIdAllocator;
 import data_access.FilePostDataAccessObject;
 import data_access.FileUserDataAccessObject;
 import data_access.InMemorySessionRepository;
 import data_access.TranslationDataAccessObject;
+import data_access.WriteBehindVoteDataAccessObject;
 import entities.CommonUserFactory;
+import entities.Post;
 import entities.UserFactory;
 import interface_adapter.ViewManagerModel;
 import interface_adapter.browse_posts.BrowsePostsController;
@@ -21,6 +25,7 @@ import interface_adapter.browse_posts.BrowsePostsViewModel;
 import interface_adapter.create_post.CreatePostController;
 import interface_adapter.create_post.CreatePostPresenter;
 import interface_adapter.create_post.CreatePostViewModel;
+import interface_adapter.edit_post.EditPostController;
 import interface_adapter.edit_profile.EditProfileController;
 import interface_adapter.edit_profile.EditProfilePresenter;
 import interface_adapter.edit_profile.EditProfileViewModel;
@@ -51,6 +56,7 @@ import use_case.browse_posts.BrowsePostsOutputBoundary;
 import use_case.create_post_use_case.CreatePostInputBoundary;
 import use_case.create_post_use_case.CreatePostInteractor;
 import use_case.create_post_use_case.CreatePostOutputBoundary;
+import use_case.edit_post.EditPostInteractor;
 import use_case.edit_profile.EditProfileInputBoundary;
 import use_case.edit_profile.EditProfileInteractor;
 import use_case.edit_profile.EditProfileOutputBoundary;
@@ -64,6 +70,7 @@ import use_case.logout.LogoutOutputBoundary;
 import use_case.read_post.ReadPostInputBoundary;
 import use_case.read_post.ReadPostInteractor;
 import use_case.read_post.ReadPostOutputBoundary;
+import use_case.read_post.ThreadProjectionCache;
 import use_case.reply_post.ReplyPostInputBoundary;
 import use_case.reply_post.ReplyPostInteractor;
 import use_case.reply_post.ReplyPostOutputBoundary;
@@ -95,6 +102,10 @@ public class AppBuilder {
     // Screen resolution
     private static final int SCREEN_WIDTH = 800;
     private static final int SCREEN_HEIGHT = 600;
+    private static final long VOTE_FLUSH_INTERVAL_MILLIS = 2000;
+    private static final int VOTE_FLUSH_BATCH_SIZE = 100;
+    private static final String POST_ID_FILE = "posts.json.ids";
+    private static final int POST_ID_LEASE_SIZE = 1000;
 
     // Javax stuff
     private final JPanel cardPanel = new JPanel();
@@ -107,8 +118,10 @@ public class AppBuilder {
     private final FileUserDataAccessObject userDataAccessObject =
             new FileUserDataAccessObject("users.csv");
     private final FilePostDataAccessObject postDataAccessObject =
-            new FilePostDataAccessObject("posts.json");
+            new FilePostDataAccessObject("posts.json", true);
     private final SessionRepository sessionRepository = new InMemorySessionRepository();
+    // Open threads, shared by the use cases that show, reply to and vote in them
+    private final ThreadProjectionCache threadProjections = new ThreadProjectionCache();
 
     // View models
     private SignupViewModel signupViewModel;
@@ -137,6 +150,8 @@ public class AppBuilder {
     private ReferencePostController referencePostController;
 
     public AppBuilder() {
+        // Posts are loaded lazily, so new posts get their IDs from here before the posts file is read
+        Post.setIdAllocator(new FileIdAllocator(new File(POST_ID_FILE), POST_ID_LEASE_SIZE));
         cardPanel.setLayout(cardLayout);
         this.translationDataAccessObject = new TranslationDataAccessObject();
         this.translationViewModel = new TranslationViewModel();
@@ -453,7 +468,7 @@ public class AppBuilder {
         final ReadPostOutputBoundary readPostOutputBoundary =
                 new ReadPostPresenter(readPostViewModel);
         final ReadPostInputBoundary readPostInteractor =
-                new ReadPostInteractor(postDataAccessObject, readPostOutputBoundary);
+                new ReadPostInteractor(postDataAccessObject, readPostOutputBoundary, threadProjections);
 
         final ReadPostController controller = new ReadPostController(readPostInteractor);
         postReadingView.setController(controller);
@@ -486,7 +501,8 @@ public class AppBuilder {
         final ReplyPostOutputBoundary replyPostOutputBoundary =
                 new ReplyPostPresenter(readPostViewModel);
         final ReplyPostInputBoundary replyPostInteractor =
-                new ReplyPostInteractor(postDataAccessObject, replyPostOutputBoundary, sessionRepository);
+                new ReplyPostInteractor(postDataAccessObject, replyPostOutputBoundary, sessionRepository,
+                        threadProjections);
 
         final ReplyPostController replyController = new ReplyPostController(replyPostInteractor);
         postReadingView.setReplyController(replyController);
@@ -494,6 +510,18 @@ public class AppBuilder {
         return this;
     }
 
+    /**
+     * Adds the Edit Post Use Case to the application.
+     * @return this builder
+     */
+    public AppBuilder addEditPostUseCase() {
+        final EditPostController editPostController =
+                new EditPostController(new EditPostInteractor(postDataAccessObject));
+        postReadingView.setEditPostController(editPostController);
+
+        return this;
+    }
+
     /**
      * Adds the Edit Profile Use Case to the application.
      * @return this builder
@@ -527,8 +555,10 @@ public class AppBuilder {
                 new VotePresenter(readPostViewModel);
 
         final VoteInputBoundary voteInteractor = new VoteInteractor(
-                postDataAccessObject,
-                voteOutputBoundary
+                new WriteBehindVoteDataAccessObject(postDataAccessObject, VOTE_FLUSH_INTERVAL_MILLIS,
+                        VOTE_FLUSH_BATCH_SIZE),
+                voteOutputBoundary,
+                threadProjections
         );
 
         final VoteController voteController = new VoteController(voteInteractor);
@@ -29,6 +29,7 @@ public class Main {
                 .addVoteUseCase()
                 .addTranslationUseCase()
                 .addReplyPostUseCase()
+                .addEditPostUseCase()
                 .addEditProfileUseCase()
                 .addCreatePostUseCase()
                 .addReferencePostUseCase()
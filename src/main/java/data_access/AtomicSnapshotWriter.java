@@ -0,0 +1,279 @@
+package data_access;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces whole files crash-safely: the new contents are written to a temporary file next to the target,
+ * flushed to disk and atomically renamed over the target, so a crash leaves either the old or the new file.
+ *
+ * <p>Saves are group-committed by a background thread. Every save submitted while a batch is being synced
+ * joins the next batch, and a temp file that is superseded by a newer save of the same target before it was
+ * synced is dropped instead of synced. A burst of saves therefore costs about one fsync per target rather
+ * than one per save. Pending saves are committed before the JVM exits.</p>
+ */
+public class AtomicSnapshotWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final AtomicSnapshotWriter SHARED = new AtomicSnapshotWriter();
+
+    private final Object lock = new Object();
+    private final AtomicLong tempCounter = new AtomicLong();
+    private final Map<File, Save> pending = new LinkedHashMap<>();
+    private final List<Save> committing = new ArrayList<>();
+    private final Map<File, IOException> failures = new HashMap<>();
+    private final Map<File, Long> submissions = new HashMap<>();
+    private Thread committer;
+    private long fsyncCount;
+
+    /**
+     * Returns the writer shared by all data access objects, so their saves are grouped together.
+     * @return the shared writer
+     */
+    public static AtomicSnapshotWriter shared() {
+        return SHARED;
+    }
+
+    /**
+     * Writes the new contents of the target to a temporary file and queues it to be synced and renamed
+     * over the target. Returns without waiting for the rename; use {@link #flush(File)} to wait for it.
+     * Callers must not submit saves of the same target concurrently, the last submitted one wins.
+     * @param target the file to replace
+     * @param contents writes the new file contents; the stream must not be closed
+     * @throws IOException if the contents could not be written; the target is left untouched
+     */
+    public void submit(File target, Contents contents) throws IOException {
+        final File absoluteTarget = target.getAbsoluteFile();
+        final File tempFile = new File(absoluteTarget.getPath() + "." + tempCounter.incrementAndGet() + TEMP_SUFFIX);
+        try (OutputStream output = new FileOutputStream(tempFile)) {
+            contents.writeTo(output);
+        }
+        catch (IOException ex) {
+            Files.deleteIfExists(tempFile.toPath());
+            throw ex;
+        }
+
+        synchronized (lock) {
+            submissions.merge(absoluteTarget, 1L, Long::sum);
+            final Save superseded = pending.put(absoluteTarget, new Save(absoluteTarget, tempFile));
+            if (superseded != null) {
+                deleteQuietly(superseded.tempFile);
+            }
+            startCommitter();
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Atomically replaces the target file with the given contents and waits until they are durable.
+     * @param target the file to replace
+     * @param contents writes the new file contents; the stream must not be closed
+     * @throws IOException if the contents could not be written or installed
+     */
+    public void write(File target, Contents contents) throws IOException {
+        submit(target, contents);
+        flush(target);
+    }
+
+    /**
+     * Waits until every submitted save of the target has been renamed into place.
+     * @param target the file whose saves to wait for
+     * @throws IOException if the latest save of the target could not be installed
+     */
+    public void flush(File target) throws IOException {
+        final File absoluteTarget = target.getAbsoluteFile();
+        synchronized (lock) {
+            while (pending.containsKey(absoluteTarget) || isCommitting(absoluteTarget)) {
+                try {
+                    lock.wait();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for " + target + " to be saved", ex);
+                }
+            }
+            final IOException failure = failures.remove(absoluteTarget);
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Waits until every submitted save has been renamed into place.
+     */
+    public void flushAll() {
+        synchronized (lock) {
+            while (!pending.isEmpty() || !committing.isEmpty()) {
+                try {
+                    lock.wait();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns how many saves of the target have been submitted so far, so a reader can tell whether anyone
+     * queued a save it has not seen.
+     * @param target the file
+     * @return the number of submitted saves of the target
+     */
+    public long getSubmissionCount(File target) {
+        synchronized (lock) {
+            return submissions.getOrDefault(target.getAbsoluteFile(), 0L);
+        }
+    }
+
+    /**
+     * Returns how many file and directory syncs this writer has issued.
+     * @return the number of fsync calls
+     */
+    public long getFsyncCount() {
+        synchronized (lock) {
+            return fsyncCount;
+        }
+    }
+
+    private boolean isCommitting(File target) {
+        for (Save save : committing) {
+            if (save.target.equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startCommitter() {
+        if (committer != null) {
+            return;
+        }
+        committer = new Thread(this::runCommitter, "snapshot-writer");
+        committer.setDaemon(true);
+        committer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushAll, "snapshot-writer-shutdown"));
+    }
+
+    private void runCommitter() {
+        while (true) {
+            synchronized (lock) {
+                while (pending.isEmpty()) {
+                    try {
+                        lock.wait();
+                    }
+                    catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                committing.addAll(pending.values());
+                pending.clear();
+            }
+
+            final long syncs = commit(committing);
+
+            synchronized (lock) {
+                fsyncCount += syncs;
+                for (Save save : committing) {
+                    if (save.error == null) {
+                        failures.remove(save.target);
+                    }
+                    else {
+                        failures.put(save.target, save.error);
+                    }
+                }
+                committing.clear();
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Syncs and installs every save of the batch, then syncs their directories once each.
+     * @return the number of fsync calls issued
+     */
+    private long commit(List<Save> batch) {
+        long syncs = 0;
+        final Set<Path> directories = new LinkedHashSet<>();
+        for (Save save : batch) {
+            try {
+                try (FileChannel channel = FileChannel.open(save.tempFile.toPath(), StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                syncs++;
+                Files.move(save.tempFile.toPath(), save.target.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                directories.add(save.target.toPath().getParent());
+            }
+            catch (IOException ex) {
+                System.err.println("Error saving " + save.target + ": " + ex.getMessage());
+                save.error = ex;
+                deleteQuietly(save.tempFile);
+            }
+        }
+        for (Path directory : directories) {
+            // Makes the renames durable; not every platform can open a directory, which is fine to skip
+            try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                channel.force(true);
+                syncs++;
+            }
+            catch (IOException ex) {
+                // Directory sync is best effort
+            }
+        }
+        return syncs;
+    }
+
+    private static void deleteQuietly(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        }
+        catch (IOException ex) {
+            System.err.println("Could not delete temporary file " + file + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes the contents of a file being saved.
+     */
+    @FunctionalInterface
+    public interface Contents {
+        /**
+         * Writes the file contents.
+         * @param output the stream to write to
+         * @throws IOException if writing fails
+         */
+        void writeTo(OutputStream output) throws IOException;
+    }
+
+    /**
+     * A temp file waiting to be synced and renamed over its target.
+     */
+    private static final class Save {
+        private final File target;
+        private final File tempFile;
+        private IOException error;
+
+        Save(File target, File tempFile) {
+            this.target = target;
+            this.tempFile = tempFile;
+        }
+    }
+}
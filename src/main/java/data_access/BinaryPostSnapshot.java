@@ -0,0 +1,428 @@
+package data_access;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.PostContentStore;
+import entities.ReplyPost;
+
+/**
+ * Compact binary snapshot of all posts, laid out so that it can be memory-mapped and read without parsing text.
+ *
+ * <p>Layout (big-endian):</p>
+ * <pre>
+ * header   magic, version, row count, string count, string table offset, column offset, heap offset (ints)
+ * strings  string count x (length int, UTF-8 bytes)       - usernames, each stored once
+ * columns  row count x id (long), date (long, epoch millis), upvotes (int), downvotes (int),
+ *          parent row (int, -1 for original posts), username index (int),
+ *          referenced post id (long, -1 for none), title offset (int, -1 for replies), content offset (int)
+ * heap     length-prefixed UTF-8 titles and contents
+ * </pre>
+ *
+ * <p>Rows are stored in pre-order, so a reply always comes after its parent and siblings keep their order.
+ * Offsets are ints, which limits a snapshot to 2 GB, the most a single mapping can cover anyway.</p>
+ */
+public final class BinaryPostSnapshot {
+    static final int MAGIC = 0x50534e50;
+    static final int VERSION = 1;
+    static final int NONE = -1;
+
+    // Header fields
+    static final int ROW_COUNT_OFFSET = 8;
+    static final int STRING_COUNT_OFFSET = 12;
+    static final int STRING_TABLE_OFFSET = 16;
+    static final int COLUMN_OFFSET = 20;
+    static final int HEAP_OFFSET = 24;
+    static final int HEADER_BYTES = 28;
+
+    // Row columns, relative to the start of a row
+    static final int ID_COLUMN = 0;
+    static final int DATE_COLUMN = 8;
+    static final int UPVOTES_COLUMN = 16;
+    static final int DOWNVOTES_COLUMN = 20;
+    static final int PARENT_COLUMN = 24;
+    static final int USERNAME_COLUMN = 28;
+    static final int REFERENCE_COLUMN = 32;
+    static final int TITLE_COLUMN = 40;
+    static final int CONTENT_COLUMN = 44;
+    static final int ROW_BYTES = 48;
+
+    private static final int UTF8_TWO_BYTE_LIMIT = 0x800;
+    private static final int UTF8_ONE_BYTE_LIMIT = 0x80;
+    private static final int UTF8_MAX_BYTES = 3;
+
+    private BinaryPostSnapshot() {
+    }
+
+    /**
+     * Writes the given posts, with their nested replies, as a binary snapshot. The output is not closed.
+     * @param posts the original posts to write
+     * @param output the stream to write to
+     * @throws IOException if writing fails
+     */
+    public static void write(List<OriginalPost> posts, OutputStream output) throws IOException {
+        final List<Post> rows = new ArrayList<>();
+        final List<Integer> parentRows = new ArrayList<>();
+        flatten(posts, rows, parentRows);
+
+        final Map<String, Integer> usernameIndex = new HashMap<>();
+        final List<String> usernames = new ArrayList<>();
+        // Lazily stored contents decode on every read, so each is read once for sizing, offsets and writing
+        final String[] contents = new String[rows.size()];
+        int stringBytes = 0;
+        int heapBytes = 0;
+        for (int row = 0; row < rows.size(); row++) {
+            final Post post = rows.get(row);
+            contents[row] = post.getContent();
+            if (!usernameIndex.containsKey(post.getCreatorUsername())) {
+                usernameIndex.put(post.getCreatorUsername(), usernames.size());
+                usernames.add(post.getCreatorUsername());
+                stringBytes += Integer.BYTES + utf8Length(post.getCreatorUsername());
+            }
+            if (post instanceof OriginalPost) {
+                heapBytes += Integer.BYTES + utf8Length(((OriginalPost) post).getTitle());
+            }
+            heapBytes += Integer.BYTES + utf8Length(contents[row]);
+        }
+
+        final int stringTableOffset = HEADER_BYTES;
+        final int columnOffset = checkedOffset((long) stringTableOffset + stringBytes);
+        final int heapOffset = checkedOffset((long) columnOffset + (long) rows.size() * ROW_BYTES);
+        checkedOffset((long) heapOffset + heapBytes);
+
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(rows.size());
+        data.writeInt(usernames.size());
+        data.writeInt(stringTableOffset);
+        data.writeInt(columnOffset);
+        data.writeInt(heapOffset);
+
+        for (String username : usernames) {
+            writeString(data, username);
+        }
+
+        int heapPosition = heapOffset;
+        for (int row = 0; row < rows.size(); row++) {
+            final Post post = rows.get(row);
+            final int[] votes = post.getVotes();
+            data.writeLong(post.getId());
+            data.writeLong(post.getCreationMillis());
+            data.writeInt(votes[0]);
+            data.writeInt(votes[1]);
+            data.writeInt(parentRows.get(row));
+            data.writeInt(usernameIndex.get(post.getCreatorUsername()));
+            if (post.hasReference()) {
+                data.writeLong(post.getReferencedPost().getId());
+            }
+            else {
+                data.writeLong(NONE);
+            }
+            if (post instanceof OriginalPost) {
+                data.writeInt(heapPosition);
+                heapPosition += Integer.BYTES + utf8Length(((OriginalPost) post).getTitle());
+            }
+            else {
+                data.writeInt(NONE);
+            }
+            data.writeInt(heapPosition);
+            heapPosition += Integer.BYTES + utf8Length(contents[row]);
+        }
+
+        for (int row = 0; row < rows.size(); row++) {
+            final Post post = rows.get(row);
+            if (post instanceof OriginalPost) {
+                writeString(data, ((OriginalPost) post).getTitle());
+            }
+            writeString(data, contents[row]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Memory-maps a binary snapshot and builds the posts it contains.
+     * @param file the snapshot file
+     * @param idMap the id lookup to fill with every post and reply
+     * @return the original posts, with their nested replies
+     * @throws IOException if the file could not be read or is not a binary snapshot
+     */
+    public static List<OriginalPost> read(File file, Map<Long, Post> idMap) throws IOException {
+        return read(file, idMap, false);
+    }
+
+    /**
+     * Memory-maps a binary snapshot and builds the posts it contains.
+     * With lazy content, post contents stay in the mapping and are only decoded when read.
+     * @param file the snapshot file
+     * @param idMap the id lookup to fill with every post and reply
+     * @param lazyContent whether contents are left in the mapped file instead of decoded up front
+     * @return the original posts, with their nested replies
+     * @throws IOException if the file could not be read or is not a binary snapshot
+     */
+    public static List<OriginalPost> read(File file, Map<Long, Post> idMap, boolean lazyContent) throws IOException {
+        final ByteBuffer buffer = map(file);
+        final PostContentStore contentStore = new MappedContentStore(buffer);
+        final int rowCount = header(buffer, file);
+        final String[] usernames = readStringTable(buffer);
+        final int columnOffset = buffer.getInt(COLUMN_OFFSET);
+
+        final List<OriginalPost> posts = new ArrayList<>();
+        final Post[] built = new Post[rowCount];
+        final List<Post> pendingReferences = new ArrayList<>();
+        final List<Long> pendingReferenceIds = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            final int base = columnOffset + row * ROW_BYTES;
+            final long id = buffer.getLong(base + ID_COLUMN);
+            final long date = buffer.getLong(base + DATE_COLUMN);
+            final int upvotes = buffer.getInt(base + UPVOTES_COLUMN);
+            final int downvotes = buffer.getInt(base + DOWNVOTES_COLUMN);
+            final int parentRow = buffer.getInt(base + PARENT_COLUMN);
+            final String username = usernames[buffer.getInt(base + USERNAME_COLUMN)];
+            final long referencedId = buffer.getLong(base + REFERENCE_COLUMN);
+            final int titleOffset = buffer.getInt(base + TITLE_COLUMN);
+            final int contentOffset = buffer.getInt(base + CONTENT_COLUMN);
+            String content = null;
+            if (!lazyContent) {
+                content = readString(buffer, contentOffset);
+            }
+
+            final Post post;
+            if (parentRow == NONE) {
+                final OriginalPost originalPost = new OriginalPost(id, readString(buffer, titleOffset), content,
+                        username, date, upvotes, downvotes);
+                posts.add(originalPost);
+                idMap.put(id, originalPost);
+                post = originalPost;
+            }
+            else {
+                final ReplyPost reply = new ReplyPost(id, username, content, date, upvotes, downvotes);
+                final Post parent = built[parentRow];
+                if (parent instanceof OriginalPost) {
+                    ((OriginalPost) parent).addReply(reply);
+                }
+                else {
+                    ((ReplyPost) parent).addReply(reply);
+                }
+                // OriginalPosts take precedence over replies that share their id
+                if (!(idMap.get(id) instanceof OriginalPost)) {
+                    idMap.put(id, reply);
+                }
+                post = reply;
+            }
+            if (lazyContent) {
+                post.setLazyContent(contentStore, contentOffset);
+            }
+            built[row] = post;
+            if (referencedId != NONE) {
+                pendingReferences.add(post);
+                pendingReferenceIds.add(referencedId);
+            }
+        }
+
+        for (int i = 0; i < pendingReferences.size(); i++) {
+            final Post referencedPost = idMap.get(pendingReferenceIds.get(i));
+            if (referencedPost != null) {
+                pendingReferences.get(i).setReferencedPost(referencedPost);
+            }
+        }
+        return posts;
+    }
+
+    /**
+     * Converts a JSON posts file into a binary snapshot.
+     * @param jsonFile the JSON file to read
+     * @param binaryFile the binary snapshot to write
+     * @throws IOException if either file could not be accessed
+     */
+    public static void convertJsonToBinary(File jsonFile, File binaryFile) throws IOException {
+        final List<OriginalPost> posts = new PostJsonReader().read(jsonFile, new HashMap<>());
+        try (OutputStream output = new FileOutputStream(binaryFile)) {
+            write(posts, output);
+        }
+    }
+
+    /**
+     * Converts a binary snapshot into a pretty-printed JSON posts file.
+     * @param binaryFile the binary snapshot to read
+     * @param jsonFile the JSON file to write
+     * @throws IOException if either file could not be accessed
+     */
+    public static void convertBinaryToJson(File binaryFile, File jsonFile) throws IOException {
+        final List<OriginalPost> posts = read(binaryFile, new HashMap<>());
+        try (OutputStream output = new FileOutputStream(jsonFile)) {
+            new PostJsonWriter(true).write(posts, output);
+        }
+    }
+
+    /**
+     * Maps the whole file read-only.
+     * @param file the file to map
+     * @return the mapped contents
+     * @throws IOException if the file could not be mapped
+     */
+    static MappedByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Validates the header of a mapped snapshot.
+     * @param buffer the mapped snapshot
+     * @param file the file, for error messages
+     * @return the number of rows
+     * @throws IOException if the buffer does not hold a supported snapshot
+     */
+    static int header(ByteBuffer buffer, File file) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a binary post snapshot");
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported binary post snapshot version " + buffer.getInt(Integer.BYTES));
+        }
+        return buffer.getInt(ROW_COUNT_OFFSET);
+    }
+
+    /**
+     * Decodes the length-prefixed UTF-8 string at the given offset.
+     * @param buffer the mapped snapshot
+     * @param offset the offset of the length prefix
+     * @return the string
+     */
+    static String readString(ByteBuffer buffer, int offset) {
+        final int length = buffer.getInt(offset);
+        final byte[] bytes = new byte[length];
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset + Integer.BYTES);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes the username string table of a mapped snapshot.
+     * @param buffer the mapped snapshot
+     * @return the usernames, indexed by the username column
+     */
+    static String[] readStringTable(ByteBuffer buffer) {
+        final String[] strings = new String[buffer.getInt(STRING_COUNT_OFFSET)];
+        int offset = buffer.getInt(STRING_TABLE_OFFSET);
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(buffer, offset);
+            offset += Integer.BYTES + buffer.getInt(offset);
+        }
+        return strings;
+    }
+
+    /**
+     * Lists every post in pre-order together with the row of its parent.
+     */
+    private static void flatten(List<OriginalPost> posts, List<Post> rows, List<Integer> parentRows) {
+        final Deque<Iterator<ReplyPost>> stack = new ArrayDeque<>();
+        final Deque<Integer> parents = new ArrayDeque<>();
+        for (OriginalPost post : posts) {
+            rows.add(post);
+            parentRows.add(NONE);
+            stack.push(post.getReplies().iterator());
+            parents.push(rows.size() - 1);
+            while (!stack.isEmpty()) {
+                final Iterator<ReplyPost> replies = stack.peek();
+                if (replies.hasNext()) {
+                    final ReplyPost reply = replies.next();
+                    rows.add(reply);
+                    parentRows.add(parents.peek());
+                    stack.push(reply.getReplies().iterator());
+                    parents.push(rows.size() - 1);
+                }
+                else {
+                    stack.pop();
+                    parents.pop();
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        final byte[] bytes = nonNull(value).getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Computes the UTF-8 encoded length of a string without encoding it.
+     */
+    private static int utf8Length(String nullableValue) {
+        final String value = nonNull(nullableValue);
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            if (character < UTF8_ONE_BYTE_LIMIT) {
+                length++;
+            }
+            else if (character < UTF8_TWO_BYTE_LIMIT) {
+                length += 2;
+            }
+            else if (Character.isHighSurrogate(character) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += UTF8_MAX_BYTES + 1;
+                i++;
+            }
+            else if (Character.isSurrogate(character)) {
+                // An unpaired surrogate is encoded as a single '?'
+                length++;
+            }
+            else {
+                length += UTF8_MAX_BYTES;
+            }
+        }
+        return length;
+    }
+
+    private static String nonNull(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value;
+    }
+
+    private static int checkedOffset(long offset) throws IOException {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("Binary post snapshot would exceed 2 GB");
+        }
+        return (int) offset;
+    }
+
+    /**
+     * Decodes contents straight from a mapped snapshot. The mapping stays valid after the file is replaced.
+     */
+    private static final class MappedContentStore implements PostContentStore {
+        private final ByteBuffer buffer;
+
+        MappedContentStore(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public String contentAt(int position) {
+            return readString(buffer, position);
+        }
+    }
+}
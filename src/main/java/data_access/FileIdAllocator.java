@@ -0,0 +1,102 @@
+package data_access;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import entities.IdAllocator;
+
+/**
+ * Allocates post ids from blocks leased against a high-water mark kept in a file.
+ * Before any id of a block is handed out, the end of the block is durably written as the new high-water mark,
+ * so after a restart allocation resumes above every id that may have been used, without reading the posts.
+ * Handing out an id from the current block is a single compare-and-set and never touches the disk.
+ * Ids of a block that were leased but not used before the program exited are skipped.
+ */
+public class FileIdAllocator implements IdAllocator {
+    private static final long FIRST_ID = 1;
+
+    private final File file;
+    private final int leaseSize;
+    private final AtomicLong nextId;
+    private final AtomicInteger leaseCount = new AtomicInteger();
+    private volatile long leaseEnd;
+
+    /**
+     * Creates an allocator that continues from the high-water mark in the given file, if there is one.
+     * @param file the file holding the high-water mark
+     * @param leaseSize how many ids to lease with each write of the high-water mark
+     */
+    public FileIdAllocator(File file, int leaseSize) {
+        this.file = file;
+        this.leaseSize = leaseSize;
+        final long highWater = readHighWater(file);
+        this.nextId = new AtomicLong(highWater);
+        // Nothing is leased until the first id is needed
+        this.leaseEnd = highWater;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            final long id = nextId.get();
+            if (id >= leaseEnd) {
+                extendLease(id + 1);
+            }
+            else if (nextId.compareAndSet(id, id + 1)) {
+                return id;
+            }
+        }
+    }
+
+    @Override
+    public void reserve(long id) {
+        final long next = nextId.accumulateAndGet(id + 1, Math::max);
+        if (next > leaseEnd) {
+            // The id was not covered by the high-water mark yet, e.g. the posts file was copied from elsewhere
+            extendLease(next);
+        }
+    }
+
+    /**
+     * Returns how many times the high-water mark has been written by this allocator.
+     * @return the number of leased blocks
+     */
+    public int getLeaseCount() {
+        return leaseCount.get();
+    }
+
+    private synchronized void extendLease(long minimumEnd) {
+        if (leaseEnd >= minimumEnd) {
+            // Another thread extended the lease meanwhile
+            return;
+        }
+        final long newEnd = minimumEnd - 1 + leaseSize;
+        try {
+            AtomicSnapshotWriter.shared().write(file,
+                    output -> output.write(Long.toString(newEnd).getBytes(StandardCharsets.UTF_8)));
+        }
+        catch (IOException ex) {
+            System.err.println("Error saving post id high-water mark: " + ex.getMessage());
+        }
+        leaseCount.incrementAndGet();
+        leaseEnd = newEnd;
+    }
+
+    private static long readHighWater(File file) {
+        if (!file.exists()) {
+            return FIRST_ID;
+        }
+        try {
+            final String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+            return Math.max(FIRST_ID, Long.parseLong(text));
+        }
+        catch (IOException | NumberFormatException ex) {
+            System.err.println("Error reading post id high-water mark: " + ex.getMessage());
+            return FIRST_ID;
+        }
+    }
+}
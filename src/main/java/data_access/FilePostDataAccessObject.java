@@ -1,36 +1,41 @@
 package data_access;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.Writer;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import entities.OriginalPost;
 import entities.Post;
 import entities.ReplyPost;
 import use_case.browse_posts.BrowsePostsDataAccessInterface;
+import use_case.browse_posts.FeedCursor;
+import use_case.browse_posts.HotScore;
 import use_case.create_post_use_case.CreatePostDataAccessInterface;
+import use_case.edit_post.EditPostDataAccessInterface;
 import use_case.read_post.ReadPostDataAccessInterface;
 import use_case.reply_post.ReplyPostDataAccessInterface;
 import use_case.upvote_downvote.VoteDataAccessInterface;
 
 /**
  * File-based implementation of the DAO for reading post data from JSON.
+ * Posts are parsed once and kept resident; they are only parsed again when the snapshot (or journal)
+ * is changed on disk by someone else, detected through its modification stamp and checksum.
+ * In journaled mode, mutations are appended to a {@link PostJournal} next to the snapshot
+ * and folded into the snapshot by a background compaction once the journal grows large.
  */
 public class FilePostDataAccessObject implements
         BrowsePostsDataAccessInterface,
@@ -38,148 +43,412 @@ public class FilePostDataAccessObject implements
         ReplyPostDataAccessInterface, 
         VoteDataAccessInterface,  
         CreatePostDataAccessInterface,
+        EditPostDataAccessInterface,
         use_case.reference_post.ReferencePostDataAccessInterface {
-    private static final String ID = "id";
-    private static final String TITLE = "title";
-    private static final String USERNAME = "username";
-    private static final String CONTENT = "content";
-    private static final String DATE = "date";
-    private static final String VOTES = "votes";
-    private static final String REPLIES = "replies";
-    private static final String REFERENCED_POST_ID = "referencedPostId";
-
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
-
-    private final String filePath;
-    private final Gson gson;
-    private final Gson gsonSaving;
-    private final Map<Long, Post> postIdMap = new HashMap<>();
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String COMPACTING_SUFFIX = ".compacting";
+    private static final long COMPACTION_THRESHOLD_BYTES = 256 * 1024;
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+    private final File snapshotFile;
+    private final PostSnapshotFormat format;
+    private volatile boolean prettyPrinting = true;
+    private volatile boolean lazyContent;
+    private PostIndex index = new PostIndex();
+    // Built on the first search, then kept up to date; null until then
+    private PostSearchIndex searchIndex;
+    private PostSubstringIndex substringIndex;
+    // Built on the first feed request; votes reach it without taking the storage lock
+    private volatile ScoreIndex scoreIndex;
+    private volatile HotIndex hotIndex;
     private List<OriginalPost> posts = new ArrayList<>();
 
+    // Resident store bookkeeping: what the loaded posts were built from
+    private final AtomicInteger parseCount = new AtomicInteger();
+    private boolean loaded;
+    private FileStamp snapshotStamp;
+    private long snapshotChecksum;
+    private FileStamp journalStamp;
+    // Saves of the snapshot queued in this process that this object has accounted for
+    private long seenSubmissions;
+    private FileStamp compactingStamp;
+
+    // Journaled storage mode
+    private final boolean journaled;
+    private final PostJournal journal;
+    private final File compactingFile;
+    private final Object storageLock = new Object();
+    private ExecutorService compactionExecutor;
+    private boolean compactionScheduled;
+
     /**
      * Creates a new FilePostDataAccessObject that reads from the given file.
      * @param filePath the path to the JSON file containing posts
      */
     public FilePostDataAccessObject(String filePath) {
-        this.filePath = filePath;
-        this.gson = new Gson();
-        this.gsonSaving = new GsonBuilder().setPrettyPrinting().create();
+        this(filePath, false);
+    }
+
+    /**
+     * Creates a new FilePostDataAccessObject that reads from the given file.
+     * @param filePath the path to the JSON file containing posts
+     * @param journaled whether mutations are appended to a journal instead of rewriting the whole file
+     */
+    public FilePostDataAccessObject(String filePath, boolean journaled) {
+        this(filePath, journaled, PostSnapshotFormat.JSON);
+    }
+
+    /**
+     * Creates a new FilePostDataAccessObject that reads from the given file.
+     * @param filePath the path to the snapshot file containing posts
+     * @param journaled whether mutations are appended to a journal instead of rewriting the whole file
+     * @param format the format of the snapshot file
+     */
+    public FilePostDataAccessObject(String filePath, boolean journaled, PostSnapshotFormat format) {
+        this.snapshotFile = new File(filePath);
+        this.format = format;
+        this.journaled = journaled;
+        this.journal = new PostJournal(new File(filePath + JOURNAL_SUFFIX));
+        this.compactingFile = new File(filePath + COMPACTING_SUFFIX);
     }
 
+    /**
+     * Returns the resident posts, parsing the files first only if they changed since they were last read.
+     * The returned list is a copy, so callers may sort or filter it freely.
+     * @return all original posts
+     */
     @Override
     public List<OriginalPost> getAllPosts() {
-        final List<OriginalPost> localPosts = new ArrayList<>();
-
-        try (FileReader reader = new FileReader(filePath)) {
-            final JsonArray jsonArray = gson.fromJson(reader, JsonArray.class);
-
-            if (jsonArray != null) {
-                for (JsonElement element : jsonArray) {
-                    final JsonObject postObj = element.getAsJsonObject();
-
-                    final long id = postObj.get(ID).getAsLong();
-                    final String title = postObj.get(TITLE).getAsString();
-                    final String username = postObj.get(USERNAME).getAsString();
-                    final String content = postObj.get(CONTENT).getAsString();
-                    final Date creationDate = dateFormat.parse(postObj.get(DATE).getAsString());
-                    int upvotes = 0;
-                    int downvotes = 0;
-                    if (postObj.has(VOTES) && !postObj.get(VOTES).isJsonNull()) {
-                        final JsonArray votesArray = postObj.getAsJsonArray(VOTES);
-                        if (votesArray.size() >= 2) {
-                            upvotes = votesArray.get(0).getAsInt();
-                            downvotes = votesArray.get(1).getAsInt();
-                        }
-                    }
+        synchronized (storageLock) {
+            ensureFresh();
+            return new ArrayList<>(posts);
+        }
+    }
 
-                    final OriginalPost post = new OriginalPost(id, title, content, username,
-                            creationDate, upvotes, downvotes);
-                    postIdMap.put(id, post);
+    /**
+     * Reads a page of the browse feed from the score index, in O(limit log n).
+     * @param after the position to continue after, or null for the first page
+     * @param limit the largest number of posts to return
+     * @return the posts in feed order
+     */
+    @Override
+    public List<OriginalPost> getTopPosts(FeedCursor after, int limit) {
+        synchronized (storageLock) {
+            ensureFresh();
+            final List<OriginalPost> top = new ArrayList<>();
+            for (long id : scoreIndex().topIds(after, limit)) {
+                top.add((OriginalPost) index.get(id));
+            }
+            return top;
+        }
+    }
 
-                    if (postObj.has(REPLIES)) {
-                        final JsonArray repliesArray = postObj.getAsJsonArray(REPLIES);
-                        parseReplies(repliesArray, post.getReplies(), dateFormat);
-                    }
+    /**
+     * Finds the position of a post in the browse feed from the score index, in O(log n).
+     * @param postId the id of an original post
+     * @return how many posts come before it, or -1 if there is no such post
+     */
+    @Override
+    public int getRank(long postId) {
+        synchronized (storageLock) {
+            ensureFresh();
+            return scoreIndex().rankOf(postId);
+        }
+    }
 
-                    localPosts.add(post);
-                }
-                
-                // Second pass: restore references after all posts are loaded
-                for (int i = 0; i < jsonArray.size(); i++) {
-                    final JsonElement element = jsonArray.get(i);
-                    final JsonObject postObj = element.getAsJsonObject();
-                    
-                    if (postObj.has(REFERENCED_POST_ID) && !postObj.get(REFERENCED_POST_ID).isJsonNull()) {
-                        final long referencedPostId = postObj.get(REFERENCED_POST_ID).getAsLong();
-                        final Post referencedPost = postIdMap.get(referencedPostId);
-                        if (referencedPost != null) {
-                            localPosts.get(i).setReferencedPost(referencedPost);
-                        }
+    private ScoreIndex scoreIndex() {
+        ScoreIndex current = scoreIndex;
+        if (current == null) {
+            // Published before it is filled, so votes cast meanwhile land in it and are not overwritten
+            current = new ScoreIndex();
+            scoreIndex = current;
+            for (OriginalPost post : posts) {
+                current.addIfAbsent(post.getId(), FeedCursor.of(post).getScore());
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reads a page of the hot feed from the hot index, without scoring any post.
+     * @param after the position to continue after, or null for the first page
+     * @param limit the largest number of posts to return
+     * @return the posts, hottest first
+     */
+    @Override
+    public List<OriginalPost> getHotPosts(FeedCursor after, int limit) {
+        synchronized (storageLock) {
+            ensureFresh();
+            final List<OriginalPost> hot = new ArrayList<>();
+            for (long id : hotIndex().topIds(after, limit)) {
+                hot.add((OriginalPost) index.get(id));
+            }
+            return hot;
+        }
+    }
+
+    @Override
+    public FeedCursor getHotPosition(OriginalPost post) {
+        // The index is published before it is filled and changed by saves, so it is only read under the lock
+        synchronized (storageLock) {
+            ensureFresh();
+            final FeedCursor position = hotIndex().position(post.getId());
+            if (position == null) {
+                return HotScore.position(post);
+            }
+            return position;
+        }
+    }
+
+    private HotIndex hotIndex() {
+        HotIndex current = hotIndex;
+        if (current == null) {
+            synchronized (storageLock) {
+                current = hotIndex;
+                if (current == null) {
+                    // Published before it is filled, like the score index
+                    current = new HotIndex();
+                    hotIndex = current;
+                    for (OriginalPost post : posts) {
+                        current.add(post);
                     }
                 }
             }
         }
-        catch (IOException | ParseException ex) {
-            System.err.println("Error reading posts from file: " + ex.getMessage());
-        }
-        System.out.println("DAO DEBUG: getAllPosts loaded " + localPosts.size() + " posts from file.");
+        return current;
+    }
 
-        this.posts = localPosts;
-        return localPosts;
+    /**
+     * Returns the inverted index of all posts, building it on first use. Callers hold the storage lock.
+     */
+    private PostSearchIndex searchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new PostSearchIndex();
+            searchIndex.addThreads(posts);
+        }
+        return searchIndex;
     }
 
     /**
-     * Recursively parses reply posts from JSON and adds them to the given list.
-     * @param repliesArray the JSON array containing reply data
-     * @param repliesList the list to add the constructed ReplyPost entities to
-     * @param simpleDateFormat the date format to use for parsing dates
-     * @throws ParseException throws a parsing exception if parsing failed
+     * Moves a post in the score and hot indexes after its votes changed.
+     * @param post the voted post or reply
      */
-    private void parseReplies(JsonArray repliesArray, List<ReplyPost> repliesList, SimpleDateFormat simpleDateFormat)
-            throws ParseException {
-        for (JsonElement replyElement : repliesArray) {
-            final JsonObject replyObj = replyElement.getAsJsonObject();
+    @Override
+    public void votesChanged(Post post) {
+        if (!(post instanceof OriginalPost)) {
+            return;
+        }
+        final ScoreIndex currentScores = scoreIndex;
+        if (currentScores != null) {
+            currentScores.update(post.getId(), FeedCursor.of(post).getScore());
+        }
+        final HotIndex currentHot = hotIndex;
+        if (currentHot != null) {
+            currentHot.votesChanged((OriginalPost) post, System.currentTimeMillis());
+        }
+    }
 
-            final long id = replyObj.get(ID).getAsLong();
-            final String username = replyObj.get(USERNAME).getAsString();
-            final String content = replyObj.get(CONTENT).getAsString();
-            final Date creationDate = simpleDateFormat.parse(replyObj.get(DATE).getAsString());
+    private void postAdded(OriginalPost post) {
+        votesChanged(post);
+        final HotIndex currentHot = hotIndex;
+        if (currentHot != null) {
+            currentHot.add(post);
+        }
+    }
 
-            int upvotes = 0;
-            int downvotes = 0;
-            if (replyObj.has(VOTES) && !replyObj.get(VOTES).isJsonNull()) {
-                final JsonArray votesArray = replyObj.getAsJsonArray(VOTES);
-                if (votesArray.size() >= 2) {
-                    upvotes = votesArray.get(0).getAsInt();
-                    downvotes = votesArray.get(1).getAsInt();
-                }
-            }
+    /**
+     * Returns how many times the snapshot file has been fully parsed by this object.
+     * @return the number of full parses
+     */
+    public int getParseCount() {
+        return parseCount.get();
+    }
 
-            final ReplyPost reply = new ReplyPost(id, username, content, creationDate, upvotes, downvotes);
-            // Only add reply to map if an OriginalPost with this ID doesn't already exist
-            // (OriginalPosts should take precedence since they're the main posts)
-            final Post existingPost = postIdMap.get(id);
-            if (existingPost == null || !(existingPost instanceof OriginalPost)) {
-                postIdMap.put(id, reply);
+    /**
+     * Brings the resident posts up to date with the files on disk. Must be called holding the storage lock.
+     * A snapshot whose stamp changed but whose checksum did not (e.g. it was only touched) is not parsed again,
+     * and records appended to the journal by another writer are replayed from where this object stopped reading.
+     */
+    private void ensureFresh() {
+        if (!loaded) {
+            reload();
+            return;
+        }
+        if (AtomicSnapshotWriter.shared().getSubmissionCount(snapshotFile) != seenSubmissions) {
+            // Another object in this process queued a save; wait for it so the check below sees it
+            awaitQueuedSaves();
+        }
+        FileStamp currentSnapshot = FileStamp.of(snapshotFile);
+        if (!currentSnapshot.equals(snapshotStamp)) {
+            // One of our own saves may have landed with a newer one still queued; compare against the newest
+            awaitQueuedSaves();
+            currentSnapshot = FileStamp.of(snapshotFile);
+            final long currentChecksum = checksum(snapshotFile);
+            if (currentChecksum != snapshotChecksum) {
+                reload();
+                return;
+            }
+            snapshotStamp = currentSnapshot;
+        }
+        if (!journaled) {
+            return;
+        }
+        final FileStamp currentJournal = FileStamp.of(journal.getFile());
+        if (!FileStamp.of(compactingFile).equals(compactingStamp)
+                || currentJournal.getLength() < journalStamp.getLength()) {
+            reload();
+        }
+        else if (!currentJournal.equals(journalStamp)) {
+            // Only complete records are applied; a record still being written is read again next time
+            final long replayed = journal.replayFrom(journalStamp.getLength(), posts, index);
+            final boolean changed = replayed > journalStamp.getLength();
+            journalStamp = currentJournal.truncatedTo(replayed);
+            if (changed) {
+                searchIndex = null;
+                substringIndex = null;
+                scoreIndex = null;
+                hotIndex = null;
             }
+        }
+    }
 
-            // Recursively parse nested replies
-            if (replyObj.has(REPLIES)) {
-                final JsonArray nestedRepliesArray = replyObj.getAsJsonArray(REPLIES);
-                parseReplies(nestedRepliesArray, reply.getReplies(), simpleDateFormat);
+    /**
+     * Parses the snapshot and replays the journal into a fresh resident store.
+     */
+    private void reload() {
+        awaitQueuedSaves();
+        final PostIndex freshIndex = new PostIndex();
+        final FileStamp stamp = FileStamp.of(snapshotFile);
+        final List<OriginalPost> localPosts = readSnapshot(freshIndex);
+        parseCount.incrementAndGet();
+        snapshotStamp = stamp;
+        snapshotChecksum = checksum(snapshotFile);
+        if (journaled) {
+            compactingStamp = FileStamp.of(compactingFile);
+            final FileStamp currentJournal = FileStamp.of(journal.getFile());
+            // A leftover segment means a compaction was interrupted; its records are replayed first
+            new PostJournal(compactingFile).replay(localPosts, freshIndex);
+            journalStamp = currentJournal.truncatedTo(journal.replay(localPosts, freshIndex));
+        }
+        System.out.println("DAO DEBUG: getAllPosts loaded " + localPosts.size() + " posts from file.");
+
+        this.posts = localPosts;
+        this.index = freshIndex;
+        this.searchIndex = null;
+        this.substringIndex = null;
+        this.scoreIndex = null;
+        this.hotIndex = null;
+        this.loaded = true;
+    }
+
+    /**
+     * Computes the CRC32 checksum of a file's contents.
+     * @param file the file to checksum
+     * @return the checksum, or -1 if the file could not be read
+     */
+    private static long checksum(File file) {
+        final CRC32 crc = new CRC32();
+        try (InputStream input = new CheckedInputStream(new FileInputStream(file), crc)) {
+            final byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+            while (input.read(buffer) != -1) {
+                // Reading updates the checksum
             }
+        }
+        catch (IOException ex) {
+            return -1;
+        }
+        return crc.getValue();
+    }
 
-            repliesList.add(reply);
+    /**
+     * Parses the snapshot file into original posts with their nested replies.
+     * @param postIndex the index to fill with every parsed post and reply
+     * @return the parsed original posts
+     */
+    private List<OriginalPost> readSnapshot(PostIndex postIndex) {
+        try {
+            final List<OriginalPost> parsed;
+            if (format == PostSnapshotFormat.BINARY) {
+                parsed = BinaryPostSnapshot.read(snapshotFile, postIndex.postsById(), lazyContent);
+            }
+            else {
+                parsed = new PostJsonReader().read(snapshotFile, postIndex.postsById());
+            }
+            postIndex.indexThreads(parsed);
+            return parsed;
+        }
+        catch (IOException ex) {
+            System.err.println("Error reading posts from file: " + ex.getMessage());
+            return new ArrayList<>();
         }
     }
 
     @Override
     public Post getPostById(long id) {
-        if (!postIdMap.containsKey(id)) {
-            // This repopulates postIdMap
-            getAllPosts();
+        synchronized (storageLock) {
+            ensureFresh();
+            return index.get(id);
+        }
+    }
+
+    /**
+     * Returns the posts and replies that reference the given post, from the maintained backlinks.
+     * @param id the id of the referenced post
+     * @return the referencing posts, in the order they were loaded or saved
+     */
+    @Override
+    public List<Post> getReferencingPosts(long id) {
+        synchronized (storageLock) {
+            ensureFresh();
+            return postsOf(index.getReferencingIds(id));
+        }
+    }
+
+    /**
+     * Returns the posts and replies that are referenced by the most other posts.
+     * @param limit how many posts to return at most
+     * @return the most referenced posts, most referenced first
+     */
+    public List<Post> getMostReferencedPosts(int limit) {
+        synchronized (storageLock) {
+            ensureFresh();
+            return postsOf(index.getMostReferencedIds(limit));
+        }
+    }
+
+    private List<Post> postsOf(Collection<Long> ids) {
+        final List<Post> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            final Post post = index.get(id);
+            if (post != null) {
+                result.add(post);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the post or reply that the given reply answers.
+     * @param id the id of a reply
+     * @return the parent, or null for original posts and unknown ids
+     */
+    public Post getParentPost(long id) {
+        synchronized (storageLock) {
+            ensureFresh();
+            return index.getParent(id);
+        }
+    }
+
+    /**
+     * Returns the original post of the thread that the given post or reply belongs to.
+     * @param id the id of a post or reply
+     * @return the thread's original post, or null for unknown ids
+     */
+    public OriginalPost getRootPost(long id) {
+        synchronized (storageLock) {
+            ensureFresh();
+            return index.getRoot(id);
         }
-        return postIdMap.get(id);
     }
 
     /**
@@ -198,46 +467,70 @@ public class FilePostDataAccessObject implements
      * @param postsToSave the posts to save
      */
     private void save(List<OriginalPost> postsToSave) {
-        final JsonArray jsonArray = new JsonArray();
-
-        for (OriginalPost post : postsToSave) {
-            final JsonObject postObj = new JsonObject();
-            postObj.addProperty(ID, post.getId());
-            postObj.addProperty(TITLE, post.getTitle());
-            postObj.addProperty(USERNAME, post.getCreatorUsername());
-            postObj.addProperty(DATE, dateFormat.format(post.getCreationDate()));
-            postObj.addProperty(CONTENT, post.getContent());
-
-            // Votes
-            final JsonArray votesArray = new JsonArray();
-            votesArray.add(post.getVotes()[0]);
-            votesArray.add(post.getVotes()[1]);
-            postObj.add(VOTES, votesArray);
-
-            // Replies
-            final JsonArray repliesArray = new JsonArray();
-            for (ReplyPost reply : post.getReplies()) {
-                // We use the helper formatReply which also does manual mapping
-                final JsonObject replyObj = formatReply(reply);
-                repliesArray.add(replyObj);
+        synchronized (storageLock) {
+            try {
+                // Committed with whatever else is queued; once it lands, ensureFresh recognises it by its checksum
+                // instead of mistaking it for an external change
+                snapshotChecksum = submitSnapshot(postsToSave);
+                seenSubmissions = AtomicSnapshotWriter.shared().getSubmissionCount(snapshotFile);
             }
-            postObj.add(REPLIES, repliesArray);
-            
-            // Referenced post ID (if this post references another post)
-            if (post.hasReference() && post.getReferencedPost() != null) {
-                postObj.addProperty(REFERENCED_POST_ID, post.getReferencedPost().getId());
+            catch (IOException ex) {
+                System.out.println("Error writing file: " + ex.getMessage());
             }
-
-            jsonArray.add(postObj);
         }
+    }
 
-        try (Writer writer = new FileWriter(filePath)) {
-            // Use gsonSaving for pretty printing
-            gsonSaving.toJson(jsonArray, writer);
+    /**
+     * Waits until every save of the snapshot this process has queued is in place, so that reading the file
+     * never sees one of our own saves older than the resident posts.
+     */
+    private void awaitQueuedSaves() {
+        try {
+            seenSubmissions = AtomicSnapshotWriter.shared().getSubmissionCount(snapshotFile);
+            AtomicSnapshotWriter.shared().flush(snapshotFile);
         }
         catch (IOException ex) {
-            System.out.println("Error writing file: " + ex.getMessage());
+            System.err.println("Error writing file: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Queues the given posts to atomically replace the snapshot file.
+     * @param postsToSave the posts to save
+     * @return the CRC32 checksum of the written bytes
+     * @throws IOException if the snapshot could not be written
+     */
+    private long submitSnapshot(List<OriginalPost> postsToSave) throws IOException {
+        final CRC32 crc = new CRC32();
+        if (format == PostSnapshotFormat.BINARY) {
+            AtomicSnapshotWriter.shared().submit(snapshotFile,
+                output -> BinaryPostSnapshot.write(postsToSave, new CheckedOutputStream(output, crc)));
         }
+        else {
+            final PostJsonWriter writer = new PostJsonWriter(prettyPrinting);
+            AtomicSnapshotWriter.shared().submit(snapshotFile,
+                output -> writer.write(postsToSave, new CheckedOutputStream(output, crc)));
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Keeps post contents in the memory-mapped binary snapshot and decodes them only when a post's content
+     * is read, instead of holding every content string on the heap. Only applies to binary snapshots,
+     * from the next time the snapshot is loaded.
+     * @param lazyContent whether contents are decoded lazily
+     */
+    public void setLazyContent(boolean lazyContent) {
+        this.lazyContent = lazyContent;
+    }
+
+    /**
+     * Chooses between an indented, human-readable JSON snapshot (the default) and a compact one.
+     * Only affects snapshots written from now on; both are read back the same way.
+     * @param prettyPrinting whether snapshots are indented
+     */
+    public void setPrettyPrinting(boolean prettyPrinting) {
+        this.prettyPrinting = prettyPrinting;
     }
 
     /**
@@ -245,173 +538,272 @@ public class FilePostDataAccessObject implements
      * @param id the id of the post
      * @param contentNew the new content
      */
+    @Override
     public void editPostContent(long id, String contentNew) {
-        final ObjectMapper mapper = new ObjectMapper();
-
-        try {
-            final List<Map<String, Object>> postings = mapper.readValue(
-                    new File("posts.json"),
-                    new TypeReference<List<Map<String, Object>>>() { }
-            );
-
-            for (Map<String, Object> post : postings) {
-                if (((Number) post.get(ID)).longValue() == id) {
-                    post.put(CONTENT, contentNew);
-                }
+        synchronized (storageLock) {
+            ensureFresh();
+            final Post post = index.get(id);
+            if (post != null) {
+                post.setContent(contentNew);
+                updateSearchIndex(post);
+            }
+            if (journaled) {
+                appendToJournal(() -> journal.appendEdit(id, contentNew));
+            }
+            else if (post != null) {
+                save();
             }
-
-            mapper.writerWithDefaultPrettyPrinter().writeValue(
-                    new File("posts.json"), postings
-            );
-        }
-        catch (IOException ex) {
-            ex.printStackTrace();
         }
     }
 
     @Override
     public void saveVote(long id, int newUpvotes, int newDownvotes) {
-        final List<OriginalPost> allPosts = getAllPosts();
-
-        final boolean found = updateVoteInList(allPosts, id, newUpvotes, newDownvotes);
-
-        if (found) {
-            this.posts = allPosts;
-            save(allPosts);
+        synchronized (storageLock) {
+            ensureFresh();
+            final Post post = index.get(id);
+            if (journaled) {
+                // Journal what the entity holds, so a late, older total cannot be the last record for the post
+                final int[] votes = mergeVotes(post, newUpvotes, newDownvotes);
+                appendToJournal(() -> journal.appendVote(id, votes[0], votes[1]));
+            }
+            else if (post != null) {
+                mergeVotes(post, newUpvotes, newDownvotes);
+                save();
+            }
+            votesChanged(post);
         }
     }
 
-    // Helper to update the vote in the list we are about to save
-    private boolean updateVoteInList(List<? extends Post> postList, long targetId, int upvote, int downvote) {
-        for (Post post : postList) {
-            if (post.getId() == targetId) {
-                post.setUpvotes(upvote);
-                post.setDownvotes(downvote);
-                return true;
+    /**
+     * Applies several vote changes with a single snapshot write (or a single journal append).
+     * @param votes the new [upvotes, downvotes] totals, by post id
+     */
+    @Override
+    public void saveVotes(Map<Long, int[]> votes) {
+        synchronized (storageLock) {
+            ensureFresh();
+            final Map<Long, int[]> merged = new LinkedHashMap<>();
+            for (Map.Entry<Long, int[]> vote : votes.entrySet()) {
+                merged.put(vote.getKey(),
+                        mergeVotes(index.get(vote.getKey()), vote.getValue()[0], vote.getValue()[1]));
+                votesChanged(index.get(vote.getKey()));
             }
-            if (post instanceof OriginalPost) {
-                if (updateVoteInList(((OriginalPost) post).getReplies(), targetId, upvote, downvote)) {
-                    return true;
-                }
+            if (journaled) {
+                appendToJournal(() -> journal.appendVotes(merged));
             }
-            else if (post instanceof ReplyPost) {
-                if (updateVoteInList(((ReplyPost) post).getReplies(), targetId, upvote, downvote)) {
-                    return true;
-                }
+            else {
+                save();
             }
         }
-        return false;
     }
 
     /**
-     * Format the reply into JsonObject.
-     * @param replyPost the reply post object
-     * @return the reply json object
+     * Folds vote totals into the resident post without undoing votes it already holds.
+     * @return the totals to persist
      */
-    public JsonObject formatReply(ReplyPost replyPost) {
-        final JsonObject replyPostObj = new JsonObject();
-        replyPostObj.addProperty(ID, replyPost.getId());
-        replyPostObj.addProperty(USERNAME, replyPost.getCreatorUsername());
-        replyPostObj.addProperty(DATE, dateFormat.format(replyPost.getCreationDate()));
-        replyPostObj.addProperty(CONTENT, replyPost.getContent());
-        // Votes
-        final JsonArray votesArray = new JsonArray();
-        votesArray.add(replyPost.getVotes()[0]);
-        votesArray.add(replyPost.getVotes()[1]);
-        replyPostObj.add(VOTES, votesArray);
-        // Replies
-        final JsonArray repliesArray = new JsonArray();
-        for (ReplyPost reply : replyPost.getReplies()) {
-            final JsonObject replyObj = formatReply(reply);
-            repliesArray.add(replyObj);
+    private static int[] mergeVotes(Post post, int upvotes, int downvotes) {
+        if (post == null) {
+            return new int[] {upvotes, downvotes};
         }
-        replyPostObj.add(REPLIES, repliesArray);
-
-        return replyPostObj;
+        return post.advanceVotes(upvotes, downvotes);
     }
 
     // Save a reply to an original post.
     @Override
     public void save(ReplyPost replyPost, OriginalPost parentPost) {
-        parentPost.addReply(replyPost);
-        this.save();
+        saveReply(replyPost, parentPost);
     }
 
     // Save a reply to another reply.
     @Override
     public void save(ReplyPost replyPost, ReplyPost parentPost) {
-        parentPost.addReply(replyPost);
-        this.save();
+        saveReply(replyPost, parentPost);
+    }
+
+    private void saveReply(ReplyPost replyPost, Post parentPost) {
+        synchronized (storageLock) {
+            ensureFresh();
+            // The caller's parent may be an object the last reload replaced; the reply goes on the resident one
+            final Post parent = resident(parentPost);
+            parent.getReplies().add(replyPost);
+            index.addReply(replyPost, parent);
+            updateSearchIndex(replyPost);
+            final HotIndex currentHot = hotIndex;
+            final OriginalPost root = index.getRoot(replyPost.getId());
+            if (currentHot != null && root != null) {
+                currentHot.replyAdded(root.getId(), replyPost.getCreationMillis());
+            }
+            if (journaled) {
+                appendToJournal(() -> journal.appendReply(parent.getId(), replyPost));
+            }
+            else {
+                this.save();
+            }
+        }
+    }
+
+    /**
+     * Returns the resident post of the same id and kind as the given post.
+     * @return the resident post, or the given post itself if none is resident
+     */
+    private Post resident(Post post) {
+        final Post current = index.get(post.getId());
+        // An original post and a reply can share an id, so the kind has to match as well
+        if (current != null && current.getClass() == post.getClass()) {
+            return current;
+        }
+        return post;
     }
 
     // Save a new original post.
     @Override
     public void save(OriginalPost originalPost) {
-        this.posts.add(originalPost);
-        this.save();
-    }
-    
-    // ReferencePostDataAccessInterface methods
-    @Override
-    public List<Post> searchPostsByKeyword(String keyword) {
-        final List<Post> results = new ArrayList<>();
-        final String lowerKeyword = keyword.toLowerCase();
-        
-        // Ensure posts are loaded
-        getAllPosts();
-        
-        // Search through all posts (including replies)
-        for (OriginalPost post : posts) {
-            searchPostRecursive(post, lowerKeyword, results);
+        synchronized (storageLock) {
+            ensureFresh();
+            this.posts.add(originalPost);
+            index.addPost(originalPost);
+            updateSearchIndex(originalPost);
+            postAdded(originalPost);
+            if (journaled) {
+                appendToJournal(() -> journal.appendPost(originalPost));
+            }
+            else {
+                this.save();
+            }
         }
-        
-        return results;
     }
 
     /**
-     * Recursively searches through a post and its replies.
-     * @param post The post to search for
-     * @param lowerKeyword The keyword to search for
-     * @param results The results
+     * Appends a record to the journal and schedules a compaction once the journal has grown large.
+     * @param append the append operation to run
      */
-    private void searchPostRecursive(Post post, String lowerKeyword, List<Post> results) {
-        boolean matches = false;
-        
-        // Search in content
-        if (post.getContent() != null && post.getContent().toLowerCase().contains(lowerKeyword)) {
-            matches = true;
-        }
-        
-        // Search in title for OriginalPost
-        if (post instanceof OriginalPost) {
-            final OriginalPost originalPost = (OriginalPost) post;
-            if (originalPost.getTitle() != null && originalPost.getTitle().toLowerCase().contains(lowerKeyword)) {
-                matches = true;
+    private void appendToJournal(JournalAppend append) {
+        final boolean compactionDue;
+        synchronized (storageLock) {
+            try {
+                append.run();
+            }
+            catch (IOException ex) {
+                System.err.println("Error appending to journal: " + ex.getMessage());
+            }
+            journalStamp = FileStamp.of(journal.getFile());
+            compactionDue = !compactionScheduled && journal.sizeInBytes() >= COMPACTION_THRESHOLD_BYTES;
+            if (compactionDue) {
+                compactionScheduled = true;
             }
         }
-        
-        // Search in creator username
-        if (post.getCreatorUsername() != null && post.getCreatorUsername().toLowerCase().contains(lowerKeyword)) {
-            matches = true;
+        if (compactionDue) {
+            getCompactionExecutor().execute(this::compactJournal);
         }
-        
-        if (matches) {
-            results.add(post);
+    }
+
+    private synchronized ExecutorService getCompactionExecutor() {
+        if (compactionExecutor == null) {
+            compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "post-journal-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
-        
-        // Search in replies
-        if (post instanceof OriginalPost) {
-            for (ReplyPost reply : ((OriginalPost) post).getReplies()) {
-                searchPostRecursive(reply, lowerKeyword, results);
+        return compactionExecutor;
+    }
+
+    /**
+     * Folds the journal into the snapshot file.
+     * The current journal is moved aside so that new mutations keep appending to a fresh one,
+     * then the moved records are replayed onto a freshly parsed snapshot that is atomically
+     * swapped in by the {@link AtomicSnapshotWriter}. The live in-memory posts are never touched.
+     */
+    public void compactJournal() {
+        synchronized (storageLock) {
+            compactionScheduled = false;
+            if (!compactingFile.exists() && !journal.rotateTo(compactingFile)) {
+                return;
             }
+            journalStamp = FileStamp.of(journal.getFile());
+            compactingStamp = FileStamp.of(compactingFile);
         }
-        else if (post instanceof ReplyPost) {
-            for (ReplyPost reply : ((ReplyPost) post).getReplies()) {
-                searchPostRecursive(reply, lowerKeyword, results);
+
+        final PostIndex foldedIndex = new PostIndex();
+        final List<OriginalPost> folded = readSnapshot(foldedIndex);
+        new PostJournal(compactingFile).replay(folded, foldedIndex);
+
+        try {
+            final long checksum = submitSnapshot(folded);
+            synchronized (storageLock) {
+                // The resident posts already contain every folded record, so no reload is needed
+                snapshotChecksum = checksum;
+            }
+            // The segment may only go once the folded snapshot is durable
+            AtomicSnapshotWriter.shared().flush(snapshotFile);
+            synchronized (storageLock) {
+                Files.delete(compactingFile.toPath());
+                snapshotStamp = FileStamp.of(snapshotFile);
+                compactingStamp = FileStamp.of(compactingFile);
             }
         }
+        catch (IOException ex) {
+            System.err.println("Error compacting journal: " + ex.getMessage());
+        }
     }
     
+    private void updateSearchIndex(Post post) {
+        if (searchIndex != null) {
+            searchIndex.add(post);
+        }
+        if (substringIndex != null) {
+            substringIndex.add(post);
+        }
+    }
+
+    // ReferencePostDataAccessInterface methods
+
+    /**
+     * Searches titles, contents and usernames of all posts and replies for the keyword, ignoring case.
+     * A trigram index narrows the search to the posts that can contain the keyword before checking them.
+     * @param keyword the text to search for
+     * @return the matching posts and replies, each thread in reading order
+     */
+    @Override
+    public List<Post> searchPostsByKeyword(String keyword) {
+        synchronized (storageLock) {
+            ensureFresh();
+            if (substringIndex == null) {
+                substringIndex = new PostSubstringIndex();
+                substringIndex.addThreads(posts);
+            }
+            return substringIndex.search(keyword);
+        }
+    }
+
+    /**
+     * Searches titles, contents and usernames of all posts and replies through an inverted index.
+     * Every word of the query must start a word of the post; better matches come first.
+     * @param query the words to search for
+     * @return the matching posts and replies, best first
+     */
+    public List<Post> searchPostsRanked(String query) {
+        synchronized (storageLock) {
+            ensureFresh();
+            return searchIndex().search(query);
+        }
+    }
+
+    /**
+     * Finds the same posts as {@link #searchPostsByKeyword}, ordered by how well they match the keyword's
+     * words in the inverted index.
+     * @param keyword the keyword to search for
+     * @return the posts containing the keyword, best match first
+     */
+    @Override
+    public List<Post> searchPostsBestMatch(String keyword) {
+        synchronized (storageLock) {
+            // Searching first brings the posts up to date, so the index ranks the same post objects
+            final List<Post> matches = searchPostsByKeyword(keyword);
+            return searchIndex().rank(keyword, matches);
+        }
+    }
+
     @Override
     public Post getPostById(String postId) {
         try {
@@ -425,29 +817,100 @@ public class FilePostDataAccessObject implements
     
     @Override
     public void savePost(Post post) {
-        if (post instanceof OriginalPost) {
-            // Check if post already exists
-            final OriginalPost originalPost = (OriginalPost) post;
-            final List<OriginalPost> allPosts = getAllPosts();
-            
-            // Find and update existing post or add new one
-            boolean found = false;
-            for (int i = 0; i < allPosts.size(); i++) {
-                if (allPosts.get(i).getId() == post.getId()) {
-                    allPosts.set(i, originalPost);
-                    found = true;
-                    break;
+        synchronized (storageLock) {
+            ensureFresh();
+            final Post existing = index.get(post.getId());
+            if (journaled && existing != null) {
+                index.indexReference(post);
+                appendToJournal(() -> journal.appendReference(post.getId(), post.getReferencedPost()));
+            }
+            else if (!(post instanceof OriginalPost)) {
+                // A reply can only be saved in place, as part of its thread
+                if (existing != null) {
+                    index.indexReference(post);
+                    this.save();
                 }
             }
-            
-            if (!found) {
-                allPosts.add(originalPost);
+            else if (journaled) {
+                save((OriginalPost) post);
+            }
+            else {
+                // Replace the existing post or add the new one
+                final OriginalPost originalPost = (OriginalPost) post;
+                final int position = posts.indexOf(existing);
+                if (position >= 0) {
+                    posts.set(position, originalPost);
+                }
+                else {
+                    posts.add(originalPost);
+                }
+                index.addPost(originalPost);
+                index.indexThreads(Collections.singletonList(originalPost));
+                if (searchIndex != null) {
+                    searchIndex.addThreads(Collections.singletonList(originalPost));
+                }
+                if (substringIndex != null) {
+                    substringIndex.addThreads(Collections.singletonList(originalPost));
+                }
+                postAdded(originalPost);
+                this.save();
             }
-            
-            this.posts = allPosts;
-            this.save();
         }
-        // For ReplyPost, we'd need to find the parent and update it
-        // This is more complex and may require additional logic
+    }
+
+    /**
+     * A single append to the journal.
+     */
+    @FunctionalInterface
+    private interface JournalAppend {
+        /**
+         * Appends the record.
+         * @throws IOException if the record could not be written
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * Length and modification time of a file, used to notice changes without reading it.
+     */
+    private static final class FileStamp {
+        private final long length;
+        private final long lastModified;
+
+        private FileStamp(long length, long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        static FileStamp of(File file) {
+            return new FileStamp(file.length(), file.lastModified());
+        }
+
+        long getLength() {
+            return length;
+        }
+
+        /**
+         * Returns this stamp with its length cut to the part of the file that has been read.
+         * @param readLength the number of bytes read
+         * @return the stamp of the read part
+         */
+        FileStamp truncatedTo(long readLength) {
+            return new FileStamp(Math.min(length, readLength), lastModified);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof FileStamp)) {
+                return false;
+            }
+            final FileStamp stamp = (FileStamp) other;
+            return length == stamp.length && lastModified == stamp.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(length) * 31 + Long.hashCode(lastModified);
+        }
     }
 }
@@ -4,8 +4,10 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -51,7 +53,7 @@ public class FileUserDataAccessObject implements
             return;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 // -1 to include empty strings
@@ -83,20 +85,24 @@ public class FileUserDataAccessObject implements
     }
 
     /**
-     * Saves all users to the CSV file.
+     * Saves all users to the CSV file. The file is replaced atomically once the save is committed.
      */
     private void saveUsers() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (User user : usersByUsername.values()) {
-                writer.write(String.format("%s,%s,%s,%s,%s,%s%n",
-                    escapeCsv(user.getUsername()),
-                    escapeCsv(user.getFullName()),
-                    escapeCsv(user.getEmail()),
-                    escapeCsv(user.getPassword()),
-                    escapeCsv(user.getBio()),
-                    escapeCsv(user.getProfilePicture())
-                ));
-            }
+        try {
+            AtomicSnapshotWriter.shared().submit(new File(filePath), output -> {
+                final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+                for (User user : usersByUsername.values()) {
+                    writer.write(String.format("%s,%s,%s,%s,%s,%s%n",
+                        escapeCsv(user.getUsername()),
+                        escapeCsv(user.getFullName()),
+                        escapeCsv(user.getEmail()),
+                        escapeCsv(user.getPassword()),
+                        escapeCsv(user.getBio()),
+                        escapeCsv(user.getProfilePicture())
+                    ));
+                }
+                writer.flush();
+            });
         }
         catch (IOException ex) {
             System.err.println("Error saving users to file: " + ex.getMessage());
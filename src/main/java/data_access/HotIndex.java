@@ -0,0 +1,111 @@
+package data_access;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import entities.OriginalPost;
+import use_case.browse_posts.FeedCursor;
+import use_case.browse_posts.HotScore;
+
+/**
+ * Original posts kept in "hot" order as votes and replies arrive. Each post's {@link HotScore} is computed
+ * once when the post is added and then moved by one step per event, and the posts are ordered in a
+ * {@link ScoreIndex}, so the top page of the hot feed is read without scoring any post.
+ */
+public class HotIndex {
+    private final ScoreIndex order = new ScoreIndex();
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+
+    /**
+     * Adds a post unless it is already indexed, scoring it from its current votes and replies.
+     * @param post the post
+     */
+    public synchronized void add(OriginalPost post) {
+        if (entriesById.containsKey(post.getId())) {
+            return;
+        }
+        final int[] votes = post.getVotes();
+        final Entry entry = new Entry(HotScore.halfLives(post.getCreationMillis()), HotScore.of(post),
+                votes[0], votes[1]);
+        entriesById.put(post.getId(), entry);
+        order.update(post.getId(), HotScore.toKey(entry.hot));
+    }
+
+    /**
+     * Counts the votes a post received since it was last seen, as cast at the given time.
+     * @param post the voted post
+     * @param atMillis when the votes were cast
+     */
+    public synchronized void votesChanged(OriginalPost post, long atMillis) {
+        final Entry entry = entriesById.get(post.getId());
+        if (entry == null) {
+            return;
+        }
+        final int[] votes = post.getVotes();
+        final int change = votes[0] - entry.upvotes - (votes[1] - entry.downvotes);
+        entry.upvotes = votes[0];
+        entry.downvotes = votes[1];
+        record(post.getId(), entry, HotScore.VOTE_WEIGHT * change, atMillis);
+    }
+
+    /**
+     * Counts a new reply in a thread.
+     * @param rootId the id of the thread's original post
+     * @param atMillis when the reply was written
+     */
+    public synchronized void replyAdded(long rootId, long atMillis) {
+        final Entry entry = entriesById.get(rootId);
+        if (entry != null) {
+            record(rootId, entry, HotScore.REPLY_WEIGHT, atMillis);
+        }
+    }
+
+    private void record(long postId, Entry entry, double weight, long atMillis) {
+        if (weight == 0) {
+            return;
+        }
+        entry.hot = HotScore.add(entry.hot, entry.created, weight, HotScore.halfLives(atMillis));
+        order.update(postId, HotScore.toKey(entry.hot));
+    }
+
+    /**
+     * Returns the position of a post in the hot feed.
+     * @param postId the id of the post
+     * @return the position, or null if the post is not indexed
+     */
+    public synchronized FeedCursor position(long postId) {
+        final Entry entry = entriesById.get(postId);
+        if (entry == null) {
+            return null;
+        }
+        return new FeedCursor(HotScore.toKey(entry.hot), postId);
+    }
+
+    /**
+     * Returns the ids of the first posts after a position in the hot feed.
+     * @param after the position to continue after, or null to start at the top
+     * @param limit the largest number of ids to return
+     * @return the post ids, hottest first
+     */
+    public List<Long> topIds(FeedCursor after, int limit) {
+        return order.topIds(after, limit);
+    }
+
+    /**
+     * The hot score of a post and the votes it was last seen with.
+     */
+    private static final class Entry {
+        private final double created;
+        private double hot;
+        private int upvotes;
+        private int downvotes;
+
+        Entry(double created, double hot, int upvotes, int downvotes) {
+            this.created = created;
+            this.hot = hot;
+            this.upvotes = upvotes;
+            this.downvotes = downvotes;
+        }
+    }
+}
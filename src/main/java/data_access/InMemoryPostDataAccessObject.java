@@ -1,6 +1,5 @@
 package data_access;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +18,7 @@ import use_case.reply_post.ReplyPostDataAccessInterface;
 public class InMemoryPostDataAccessObject implements ReplyPostDataAccessInterface,
                                                     ReferencePostDataAccessInterface {
     private final Map<Long, Post> postsById = new HashMap<>();
+    private final PostSubstringIndex searchIndex = new PostSubstringIndex();
 
     /**
      * Adds a post to the data store.
@@ -27,6 +27,7 @@ public class InMemoryPostDataAccessObject implements ReplyPostDataAccessInterfac
      */
     public void addPost(long postId, Post post) {
         postsById.put(postId, post);
+        searchIndex.add(post);
     }
 
     @Override
@@ -64,36 +65,7 @@ public class InMemoryPostDataAccessObject implements ReplyPostDataAccessInterfac
 
     @Override
     public List<Post> searchPostsByKeyword(String keyword) {
-        final List<Post> results = new ArrayList<>();
-        final String lowerKeyword = keyword.toLowerCase();
-
-        for (Post post : postsById.values()) {
-            boolean matches = false;
-
-            // Search in content
-            if (post.getContent() != null && post.getContent().toLowerCase().contains(lowerKeyword)) {
-                matches = true;
-            }
-
-            // Search in title for OriginalPost
-            if (post instanceof OriginalPost) {
-                final OriginalPost originalPost = (OriginalPost) post;
-                if (originalPost.getTitle() != null && originalPost.getTitle().toLowerCase().contains(lowerKeyword)) {
-                    matches = true;
-                }
-            }
-
-            // Search in creator username
-            if (post.getCreatorUsername() != null && post.getCreatorUsername().toLowerCase().contains(lowerKeyword)) {
-                matches = true;
-            }
-
-            if (matches) {
-                results.add(post);
-            }
-        }
-
-        return results;
+        return searchIndex.search(keyword);
     }
 
     /**
@@ -109,6 +81,9 @@ public class InMemoryPostDataAccessObject implements ReplyPostDataAccessInterfac
      * Useful for testing.
      */
     public void clear() {
+        for (Long id : postsById.keySet()) {
+            searchIndex.remove(id);
+        }
         postsById.clear();
     }
 }
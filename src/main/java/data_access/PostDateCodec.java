@@ -0,0 +1,195 @@
+package data_access;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads and writes the creation times of posts in posts JSON files. Times are written as UTC ISO-8601 instants
+ * with milliseconds, e.g. {@code 2025-11-17T14:03:27.512Z}, so they keep the time of day. The
+ * {@code MM/dd/yyyy} day stamps of older files are still read, as midnight in the codec's zone, which is how
+ * they were written.
+ *
+ * <p>Instants of the written form are formatted and parsed digit by digit, with no formatter and no garbage
+ * beyond the resulting string. Legacy days are converted through the zone rules once and then cached. A codec
+ * keeps no per-call state, so one instance can be shared by every thread.</p>
+ */
+public final class PostDateCodec {
+    // yyyy-MM-ddTHH:mm:ss.SSSZ
+    private static final int ISO_LENGTH = 24;
+    private static final int MONTH_START = 5;
+    private static final int DAY_START = 8;
+    private static final int HOUR_START = 11;
+    private static final int MINUTE_START = 14;
+    private static final int SECOND_START = 17;
+    private static final int MILLI_START = 20;
+    private static final int YEAR_DIGITS = 4;
+    private static final int MILLI_DIGITS = 3;
+    private static final int MAX_YEAR = 9999;
+
+    private static final long MILLIS_PER_SECOND = 1000;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int DECIMAL = 10;
+
+    // A file holds a few distinct days at most per day of the forum's life, so this is never reached in practice
+    private static final int LEGACY_CACHE_LIMIT = 4096;
+
+    private final ZoneId legacyZone;
+    private final ConcurrentMap<String, Long> legacyDays = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a codec.
+     * @param legacyZone the zone whose midnight legacy {@code MM/dd/yyyy} dates stand for
+     */
+    public PostDateCodec(ZoneId legacyZone) {
+        this.legacyZone = legacyZone;
+    }
+
+    /**
+     * Formats a time as a UTC ISO-8601 instant with milliseconds.
+     * @param epochMillis the time in milliseconds since 1970
+     * @return the formatted time
+     */
+    public String format(long epochMillis) {
+        final long epochDay = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        final long millisOfDay = Math.floorMod(epochMillis, MILLIS_PER_DAY);
+        final LocalDate day = LocalDate.ofEpochDay(epochDay);
+        if (day.getYear() < 0 || day.getYear() > MAX_YEAR) {
+            return Instant.ofEpochMilli(epochMillis).toString();
+        }
+        final char[] text = new char[ISO_LENGTH];
+        writeDigits(text, 0, YEAR_DIGITS, day.getYear());
+        text[MONTH_START - 1] = '-';
+        writeDigits(text, MONTH_START, 2, day.getMonthValue());
+        text[DAY_START - 1] = '-';
+        writeDigits(text, DAY_START, 2, day.getDayOfMonth());
+        text[HOUR_START - 1] = 'T';
+        writeDigits(text, HOUR_START, 2, (int) (millisOfDay / MILLIS_PER_HOUR));
+        text[MINUTE_START - 1] = ':';
+        writeDigits(text, MINUTE_START, 2, (int) (millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE));
+        text[SECOND_START - 1] = ':';
+        writeDigits(text, SECOND_START, 2, (int) (millisOfDay % MILLIS_PER_MINUTE / MILLIS_PER_SECOND));
+        text[MILLI_START - 1] = '.';
+        writeDigits(text, MILLI_START, MILLI_DIGITS, (int) (millisOfDay % MILLIS_PER_SECOND));
+        text[ISO_LENGTH - 1] = 'Z';
+        return new String(text);
+    }
+
+    /**
+     * Parses a time written by {@link #format}, any other ISO-8601 instant, or a legacy {@code MM/dd/yyyy} day.
+     * @param text the text to parse
+     * @return the time in milliseconds since 1970
+     * @throws IllegalArgumentException if the text is none of these
+     */
+    public long parse(String text) {
+        if (text.length() == ISO_LENGTH && text.charAt(ISO_LENGTH - 1) == 'Z') {
+            final long millis = parseIso(text);
+            if (millis != Long.MIN_VALUE) {
+                return millis;
+            }
+        }
+        else if (text.indexOf('/') >= 0) {
+            return parseLegacy(text);
+        }
+        try {
+            return Instant.parse(text).toEpochMilli();
+        }
+        catch (DateTimeException | ArithmeticException ex) {
+            throw new IllegalArgumentException("Invalid post date: " + text, ex);
+        }
+    }
+
+    /**
+     * Parses the exact form {@link #format} writes.
+     * @return the time, or {@link Long#MIN_VALUE} if the text is not of that form
+     */
+    private static long parseIso(String text) {
+        final int year = readDigits(text, 0, YEAR_DIGITS);
+        final int month = readDigits(text, MONTH_START, 2);
+        final int day = readDigits(text, DAY_START, 2);
+        final int hour = readDigits(text, HOUR_START, 2);
+        final int minute = readDigits(text, MINUTE_START, 2);
+        final int second = readDigits(text, SECOND_START, 2);
+        final int milli = readDigits(text, MILLI_START, MILLI_DIGITS);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0 || milli < 0
+                || text.charAt(MONTH_START - 1) != '-' || text.charAt(DAY_START - 1) != '-'
+                || text.charAt(HOUR_START - 1) != 'T' || text.charAt(MINUTE_START - 1) != ':'
+                || text.charAt(SECOND_START - 1) != ':' || text.charAt(MILLI_START - 1) != '.'
+                || hour >= HOURS_PER_DAY || minute >= MINUTES_PER_HOUR || second >= SECONDS_PER_MINUTE) {
+            return Long.MIN_VALUE;
+        }
+        final long epochDay;
+        try {
+            epochDay = LocalDate.of(year, month, day).toEpochDay();
+        }
+        catch (DateTimeException ex) {
+            return Long.MIN_VALUE;
+        }
+        return epochDay * MILLIS_PER_DAY + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE
+                + second * MILLIS_PER_SECOND + milli;
+    }
+
+    private long parseLegacy(String text) {
+        final Long cached = legacyDays.get(text);
+        if (cached != null) {
+            return cached;
+        }
+        final int firstSlash = text.indexOf('/');
+        final int secondSlash = text.indexOf('/', firstSlash + 1);
+        if (secondSlash < 0) {
+            throw new IllegalArgumentException("Invalid post date: " + text);
+        }
+        final int month = readDigits(text, 0, firstSlash);
+        final int day = readDigits(text, firstSlash + 1, secondSlash - firstSlash - 1);
+        final int year = readDigits(text, secondSlash + 1, text.length() - secondSlash - 1);
+        final long millis;
+        try {
+            if (month < 0 || day < 0 || year < 0) {
+                throw new DateTimeException("Not a MM/dd/yyyy date");
+            }
+            millis = LocalDate.of(year, month, day).atStartOfDay(legacyZone).toInstant().toEpochMilli();
+        }
+        catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid post date: " + text, ex);
+        }
+        if (legacyDays.size() < LEGACY_CACHE_LIMIT) {
+            legacyDays.put(text, millis);
+        }
+        return millis;
+    }
+
+    private static void writeDigits(char[] text, int start, int count, int value) {
+        int remaining = value;
+        for (int i = start + count - 1; i >= start; i--) {
+            text[i] = (char) ('0' + remaining % DECIMAL);
+            remaining /= DECIMAL;
+        }
+    }
+
+    /**
+     * Reads a run of decimal digits.
+     * @return the value, or -1 if the run is empty, too long for an int, or holds anything but digits
+     */
+    private static int readDigits(String text, int start, int count) {
+        if (count <= 0 || count > YEAR_DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final char digit = text.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            value = value * DECIMAL + digit - '0';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,192 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.PostTraversal;
+import entities.ReplyPost;
+
+/**
+ * Lookup of every loaded post and reply by id, together with the parent and the root thread of each reply.
+ * It is built once when the posts are loaded and then kept up to date as posts and replies are added,
+ * so finding a post, its parent or its thread takes constant time however deep the reply tree is.
+ * It also keeps the backlinks of every post: the ids of the posts and replies that reference it.
+ * When an original post and a reply share an id, the id refers to the original post.
+ */
+public class PostIndex {
+    private final Map<Long, Post> postsById = new HashMap<>();
+    private final Map<Long, Post> parentsById = new HashMap<>();
+    private final Map<Long, OriginalPost> rootsById = new HashMap<>();
+    private final Map<Long, Long> referencedIdById = new HashMap<>();
+    private final Map<Long, Set<Long>> referencingIdsById = new HashMap<>();
+
+    /**
+     * Returns the id lookup itself, for readers that fill it while parsing.
+     * Posts put into it this way must be linked with {@link #indexThreads} afterwards.
+     * @return the mutable id lookup
+     */
+    Map<Long, Post> postsById() {
+        return postsById;
+    }
+
+    /**
+     * Records the parent and root of every reply in the given threads, which must already be in the lookup.
+     * @param threads the loaded original posts
+     */
+    public void indexThreads(List<OriginalPost> threads) {
+        for (OriginalPost thread : threads) {
+            if (postsById.get(thread.getId()) == thread) {
+                indexReference(thread);
+            }
+            PostTraversal.walkReplies(thread, (reply, parent, depth) -> {
+                // A reply shadowed by an original post with the same id is not reachable by id
+                if (postsById.get(reply.getId()) == reply) {
+                    parentsById.put(reply.getId(), parent);
+                    rootsById.put(reply.getId(), thread);
+                    indexReference(reply);
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Adds an original post.
+     * @param post the new post
+     */
+    public void addPost(OriginalPost post) {
+        postsById.put(post.getId(), post);
+        parentsById.remove(post.getId());
+        rootsById.remove(post.getId());
+        indexReference(post);
+    }
+
+    /**
+     * Adds a reply under a post that is already indexed.
+     * @param reply the new reply
+     * @param parent the post or reply it answers
+     */
+    public void addReply(ReplyPost reply, Post parent) {
+        if (postsById.get(reply.getId()) instanceof OriginalPost) {
+            return;
+        }
+        postsById.put(reply.getId(), reply);
+        parentsById.put(reply.getId(), parent);
+        rootsById.put(reply.getId(), getRoot(parent.getId()));
+        indexReference(reply);
+    }
+
+    /**
+     * Brings the backlinks up to date with the post's current reference, after it was set, changed or cleared.
+     * @param post an indexed post or reply
+     */
+    public void indexReference(Post post) {
+        final Long referencedId;
+        if (post.hasReference()) {
+            referencedId = post.getReferencedPost().getId();
+        }
+        else {
+            referencedId = null;
+        }
+        final Long previousId;
+        if (referencedId != null) {
+            previousId = referencedIdById.put(post.getId(), referencedId);
+        }
+        else {
+            previousId = referencedIdById.remove(post.getId());
+        }
+        if (previousId != null && !previousId.equals(referencedId)) {
+            final Set<Long> previousBacklinks = referencingIdsById.get(previousId);
+            previousBacklinks.remove(post.getId());
+            if (previousBacklinks.isEmpty()) {
+                referencingIdsById.remove(previousId);
+            }
+        }
+        if (referencedId != null) {
+            referencingIdsById.computeIfAbsent(referencedId, id -> new LinkedHashSet<>()).add(post.getId());
+        }
+    }
+
+    /**
+     * Returns the post or reply with the given id.
+     * @param id the id to look up
+     * @return the post, or null if there is none
+     */
+    public Post get(long id) {
+        return postsById.get(id);
+    }
+
+    /**
+     * Returns the post or reply that the given reply answers.
+     * @param id the id of a reply
+     * @return the parent, or null for original posts and unknown ids
+     */
+    public Post getParent(long id) {
+        return parentsById.get(id);
+    }
+
+    /**
+     * Returns the original post at the top of the thread that the given post belongs to.
+     * @param id the id of a post or reply
+     * @return the thread's original post (the post itself for original posts), or null for unknown ids
+     */
+    public OriginalPost getRoot(long id) {
+        final Post post = postsById.get(id);
+        if (post instanceof OriginalPost) {
+            return (OriginalPost) post;
+        }
+        return rootsById.get(id);
+    }
+
+    /**
+     * Returns the ids of the posts and replies that reference the given post, in the order they were indexed.
+     * @param id the id of the referenced post
+     * @return the referencing ids, empty if there are none
+     */
+    public Set<Long> getReferencingIds(long id) {
+        final Set<Long> referencingIds = referencingIdsById.get(id);
+        if (referencingIds == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(referencingIds);
+    }
+
+    /**
+     * Returns the ids of the posts with the most backlinks, most referenced first.
+     * @param limit how many ids to return at most
+     * @return the most referenced ids
+     */
+    public List<Long> getMostReferencedIds(int limit) {
+        // Keeps the best candidates so far, least referenced on top
+        final PriorityQueue<Map.Entry<Long, Set<Long>>> best = new PriorityQueue<>(
+                (first, second) -> Integer.compare(first.getValue().size(), second.getValue().size()));
+        for (Map.Entry<Long, Set<Long>> entry : referencingIdsById.entrySet()) {
+            best.add(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        final List<Long> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(best.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    /**
+     * Returns how many posts and replies can be looked up.
+     * @return the number of indexed ids
+     */
+    public int size() {
+        return postsById.size();
+    }
+}
@@ -0,0 +1,380 @@
+package data_access;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+/**
+ * Append-only log of post mutations that sits next to the posts snapshot.
+ * Each mutation is written as one compact JSON record per line, so the cost of a write
+ * is proportional to the change rather than to the size of the forum.
+ * Every append is forced to disk before it returns, so an acknowledged mutation survives a power failure.
+ * A line torn by a crash mid-append is closed off by the next append and skipped on replay.
+ */
+public class PostJournal {
+    static final String OP = "op";
+    static final String OP_VOTE = "vote";
+    static final String OP_REPLY = "reply";
+    static final String OP_POST = "post";
+    static final String OP_REFERENCE = "reference";
+    static final String OP_EDIT = "edit";
+
+    private static final byte NEWLINE = '\n';
+    private static final int READ_CHUNK_BYTES = 64 * 1024;
+
+    private static final String ID = "id";
+    private static final String PARENT_ID = "parentId";
+    private static final String TITLE = "title";
+    private static final String USERNAME = "username";
+    private static final String CONTENT = "content";
+    private static final String DATE = "date";
+    private static final String VOTES = "votes";
+    private static final String REFERENCED_POST_ID = "referencedPostId";
+
+    private final File file;
+    private final Gson gson = new Gson();
+
+    /**
+     * Creates a journal backed by the given file. The file is created on the first append.
+     * @param file the journal file
+     */
+    public PostJournal(File file) {
+        this.file = file;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the current size of the journal on disk.
+     * @return the journal size in bytes, or 0 if it does not exist yet
+     */
+    public long sizeInBytes() {
+        return file.length();
+    }
+
+    /**
+     * Records new vote counts for a post or reply.
+     * @param id the id of the voted post
+     * @param upvotes the new upvote total
+     * @param downvotes the new downvote total
+     * @throws IOException if the record could not be appended
+     */
+    public void appendVote(long id, int upvotes, int downvotes) throws IOException {
+        final JsonObject jsonRecord = newRecord(OP_VOTE, id);
+        jsonRecord.add(VOTES, votesArray(upvotes, downvotes));
+        append(jsonRecord);
+    }
+
+    /**
+     * Records new vote counts for several posts with a single append and a single sync.
+     * @param votes the new [upvotes, downvotes] totals, by post id
+     * @throws IOException if the records could not be appended
+     */
+    public void appendVotes(Map<Long, int[]> votes) throws IOException {
+        final StringBuilder records = new StringBuilder();
+        for (Map.Entry<Long, int[]> vote : votes.entrySet()) {
+            final JsonObject jsonRecord = newRecord(OP_VOTE, vote.getKey());
+            jsonRecord.add(VOTES, votesArray(vote.getValue()[0], vote.getValue()[1]));
+            records.append(gson.toJson(jsonRecord)).append('\n');
+        }
+        append(records.toString());
+    }
+
+    /**
+     * Records a new reply under an existing post or reply.
+     * @param parentId the id of the parent post
+     * @param reply the reply that was added
+     * @throws IOException if the record could not be appended
+     */
+    public void appendReply(long parentId, ReplyPost reply) throws IOException {
+        final JsonObject jsonRecord = newRecord(OP_REPLY, reply.getId());
+        jsonRecord.addProperty(PARENT_ID, parentId);
+        addPostFields(jsonRecord, reply);
+        if (reply.hasReference()) {
+            jsonRecord.addProperty(REFERENCED_POST_ID, reply.getReferencedPost().getId());
+        }
+        append(jsonRecord);
+    }
+
+    /**
+     * Records a new original post.
+     * @param post the post that was created
+     * @throws IOException if the record could not be appended
+     */
+    public void appendPost(OriginalPost post) throws IOException {
+        final JsonObject jsonRecord = newRecord(OP_POST, post.getId());
+        jsonRecord.addProperty(TITLE, post.getTitle());
+        addPostFields(jsonRecord, post);
+        if (post.hasReference()) {
+            jsonRecord.addProperty(REFERENCED_POST_ID, post.getReferencedPost().getId());
+        }
+        append(jsonRecord);
+    }
+
+    /**
+     * Records that a post now references another post (or no longer references any).
+     * @param id the id of the referencing post
+     * @param referencedPost the referenced post, or null to clear the reference
+     * @throws IOException if the record could not be appended
+     */
+    public void appendReference(long id, Post referencedPost) throws IOException {
+        final JsonObject jsonRecord = newRecord(OP_REFERENCE, id);
+        if (referencedPost != null) {
+            jsonRecord.addProperty(REFERENCED_POST_ID, referencedPost.getId());
+        }
+        append(jsonRecord);
+    }
+
+    /**
+     * Records new content for a post or reply.
+     * @param id the id of the edited post
+     * @param content the new content
+     * @throws IOException if the record could not be appended
+     */
+    public void appendEdit(long id, String content) throws IOException {
+        final JsonObject jsonRecord = newRecord(OP_EDIT, id);
+        jsonRecord.addProperty(CONTENT, content);
+        append(jsonRecord);
+    }
+
+    /**
+     * Replays every record of this journal onto an already loaded post list.
+     * Records are idempotent, so replaying a journal twice leaves the posts unchanged.
+     * @param posts the loaded original posts, new posts are appended to it
+     * @param index the id lookup for the loaded posts, kept up to date while replaying
+     * @return the offset just past the last complete line, where the next replay should start
+     */
+    public long replay(List<OriginalPost> posts, PostIndex index) {
+        return replayFrom(0, posts, index);
+    }
+
+    /**
+     * Replays the records appended after the given byte offset, e.g. the ones another process wrote
+     * since this journal was last read. Malformed lines, such as one torn by a crash, are skipped. A last line
+     * without its newline may still be being written, so it is left for a later replay.
+     * @param offset the journal length that has already been applied
+     * @param posts the loaded original posts, new posts are appended to it
+     * @param index the id lookup for the loaded posts, kept up to date while replaying
+     * @return the offset just past the last complete line, where the next replay should start
+     */
+    public long replayFrom(long offset, List<OriginalPost> posts, PostIndex index) {
+        long consumed = offset;
+        if (!file.exists()) {
+            return consumed;
+        }
+        try (InputStream input = skipFully(new FileInputStream(file), offset)) {
+            final byte[] chunk = new byte[READ_CHUNK_BYTES];
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (chunk[i] == NEWLINE) {
+                        line.write(chunk, lineStart, i - lineStart);
+                        consumed += line.size() + 1;
+                        applyLine(line.toString(StandardCharsets.UTF_8), posts, index);
+                        line.reset();
+                        lineStart = i + 1;
+                    }
+                }
+                line.write(chunk, lineStart, read - lineStart);
+            }
+        }
+        catch (IOException ex) {
+            System.err.println("Error replaying journal " + file + ": " + ex.getMessage());
+        }
+        return consumed;
+    }
+
+    private void applyLine(String line, List<OriginalPost> posts, PostIndex index) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            apply(gson.fromJson(line, JsonObject.class), posts, index);
+        }
+        catch (RuntimeException ex) {
+            // Gson reports fields of the wrong type through several unchecked exceptions, none of which should
+            // stop the records after this one from being replayed
+            System.err.println("Skipping malformed journal record in " + file + ": " + ex);
+        }
+    }
+
+    private static InputStream skipFully(InputStream input, long offset) throws IOException {
+        long remaining = offset;
+        while (remaining > 0) {
+            final long skipped = input.skip(remaining);
+            if (skipped <= 0) {
+                break;
+            }
+            remaining -= skipped;
+        }
+        return input;
+    }
+
+    /**
+     * Moves this journal aside so that new appends start a fresh file.
+     * @param destination where the current records are moved to
+     * @return true if there were records to move
+     */
+    public boolean rotateTo(File destination) {
+        return file.length() > 0 && file.renameTo(destination);
+    }
+
+    private void apply(JsonObject jsonRecord, List<OriginalPost> posts, PostIndex index) {
+        final String op = jsonRecord.get(OP).getAsString();
+        final long id = jsonRecord.get(ID).getAsLong();
+        final Post target = index.get(id);
+
+        switch (op) {
+            case OP_VOTE:
+                if (target != null) {
+                    final JsonArray votes = jsonRecord.getAsJsonArray(VOTES);
+                    target.setVotes(votes.get(0).getAsInt(), votes.get(1).getAsInt());
+                }
+                break;
+            case OP_REPLY:
+                if (target == null) {
+                    applyReply(jsonRecord, index);
+                }
+                break;
+            case OP_POST:
+                if (!(target instanceof OriginalPost)) {
+                    applyPost(jsonRecord, posts, index);
+                }
+                break;
+            case OP_REFERENCE:
+                if (target != null) {
+                    Post referenced = null;
+                    if (jsonRecord.has(REFERENCED_POST_ID)) {
+                        referenced = index.get(jsonRecord.get(REFERENCED_POST_ID).getAsLong());
+                    }
+                    target.setReferencedPost(referenced);
+                    index.indexReference(target);
+                }
+                break;
+            case OP_EDIT:
+                if (target != null) {
+                    target.setContent(jsonRecord.get(CONTENT).getAsString());
+                }
+                break;
+            default:
+                System.err.println("Unknown journal record type: " + op);
+        }
+    }
+
+    private void applyReply(JsonObject jsonRecord, PostIndex index) {
+        final Post parent = index.get(jsonRecord.get(PARENT_ID).getAsLong());
+        if (parent == null) {
+            return;
+        }
+        final long id = jsonRecord.get(ID).getAsLong();
+        final ReplyPost reply = new ReplyPost(id, jsonRecord.get(USERNAME).getAsString(),
+                jsonRecord.get(CONTENT).getAsString(), readDate(jsonRecord),
+                readVote(jsonRecord, 0), readVote(jsonRecord, 1));
+        if (jsonRecord.has(REFERENCED_POST_ID)) {
+            reply.setReferencedPost(index.get(jsonRecord.get(REFERENCED_POST_ID).getAsLong()));
+        }
+        if (parent instanceof OriginalPost) {
+            ((OriginalPost) parent).addReply(reply);
+        }
+        else {
+            ((ReplyPost) parent).addReply(reply);
+        }
+        index.addReply(reply, parent);
+    }
+
+    private void applyPost(JsonObject jsonRecord, List<OriginalPost> posts, PostIndex index) {
+        final long id = jsonRecord.get(ID).getAsLong();
+        final OriginalPost post = new OriginalPost(id, jsonRecord.get(TITLE).getAsString(),
+                jsonRecord.get(CONTENT).getAsString(), jsonRecord.get(USERNAME).getAsString(),
+                readDate(jsonRecord), readVote(jsonRecord, 0), readVote(jsonRecord, 1));
+        if (jsonRecord.has(REFERENCED_POST_ID)) {
+            post.setReferencedPost(index.get(jsonRecord.get(REFERENCED_POST_ID).getAsLong()));
+        }
+        posts.add(post);
+        index.addPost(post);
+    }
+
+    private JsonObject newRecord(String op, long id) {
+        final JsonObject jsonRecord = new JsonObject();
+        jsonRecord.addProperty(OP, op);
+        jsonRecord.addProperty(ID, id);
+        return jsonRecord;
+    }
+
+    private void addPostFields(JsonObject jsonRecord, Post post) {
+        final int[] votes = post.getVotes();
+        jsonRecord.addProperty(USERNAME, post.getCreatorUsername());
+        jsonRecord.addProperty(DATE, post.getCreationMillis());
+        jsonRecord.addProperty(CONTENT, post.getContent());
+        jsonRecord.add(VOTES, votesArray(votes[0], votes[1]));
+    }
+
+    private JsonArray votesArray(int upvotes, int downvotes) {
+        final JsonArray votes = new JsonArray();
+        votes.add(upvotes);
+        votes.add(downvotes);
+        return votes;
+    }
+
+    private long readDate(JsonObject jsonRecord) {
+        return jsonRecord.get(DATE).getAsLong();
+    }
+
+    private int readVote(JsonObject jsonRecord, int index) {
+        return jsonRecord.getAsJsonArray(VOTES).get(index).getAsInt();
+    }
+
+    private void append(JsonObject jsonRecord) throws IOException {
+        append(gson.toJson(jsonRecord) + '\n');
+    }
+
+    /**
+     * Appends whole lines and forces them to disk. If the journal ends in a line torn by a crash, a newline is
+     * written first, so the torn line stays a line of its own that replay skips instead of swallowing the new
+     * records.
+     */
+    private void append(String lines) throws IOException {
+        String text = lines;
+        if (endsInTornLine()) {
+            text = '\n' + lines;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private boolean endsInTornLine() throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) != NEWLINE;
+        }
+    }
+}
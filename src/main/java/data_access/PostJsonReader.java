@@ -0,0 +1,230 @@
+package data_access;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+/**
+ * Builds post entities straight from the token stream of a posts JSON file.
+ * Only the chain of posts currently being read is held on an explicit stack, so reply threads of any
+ * depth can be loaded without materializing an intermediate JSON tree or recursing.
+ * References to posts that appear later in the file are fixed up once the whole file has been read.
+ */
+public class PostJsonReader {
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String USERNAME = "username";
+    private static final String CONTENT = "content";
+    private static final String DATE = "date";
+    private static final String VOTES = "votes";
+    private static final String REPLIES = "replies";
+    private static final String REFERENCED_POST_ID = "referencedPostId";
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .streamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(Integer.MAX_VALUE).build())
+            .build();
+
+    // Shared, so legacy day stamps are converted once per process rather than once per file
+    private static final PostDateCodec DATE_CODEC = new PostDateCodec(ZoneId.systemDefault());
+
+    /**
+     * Reads every original post, with its nested replies, from the given file.
+     * @param file the posts JSON file
+     * @param idMap the id lookup to fill with every parsed post and reply
+     * @return the parsed original posts, or an empty list if the file is empty
+     * @throws IOException if the file could not be read or is not a valid posts file
+     */
+    public List<OriginalPost> read(File file, Map<Long, Post> idMap) throws IOException {
+        return read(file, idMap, null);
+    }
+
+    /**
+     * Reads every original post, with its nested replies, from the given file.
+     * References are resolved against the whole id lookup, so posts read earlier can be referenced.
+     * @param file the posts JSON file
+     * @param idMap the id lookup to fill with every parsed post and reply
+     * @param unresolvedReferences if not null, receives the posts whose referenced post is not in the lookup,
+     *                             mapped to the referenced id
+     * @return the parsed original posts, or an empty list if the file is empty
+     * @throws IOException if the file could not be read or is not a valid posts file
+     */
+    public List<OriginalPost> read(File file, Map<Long, Post> idMap, Map<Post, Long> unresolvedReferences)
+            throws IOException {
+        final List<OriginalPost> posts = new ArrayList<>();
+        final List<Post> pendingReferences = new ArrayList<>();
+        final List<Long> pendingReferenceIds = new ArrayList<>();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(file)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return posts;
+            }
+            expect(parser, token, JsonToken.START_ARRAY);
+
+            final Deque<Frame> stack = new ArrayDeque<>();
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                expect(parser, token, JsonToken.START_OBJECT);
+                stack.push(new Frame());
+                while (!stack.isEmpty()) {
+                    token = parser.nextToken();
+                    final Frame frame = stack.peek();
+                    if (token == JsonToken.FIELD_NAME) {
+                        readField(parser, frame);
+                    }
+                    else if (token == JsonToken.START_OBJECT) {
+                        // The only objects left unskipped are the elements of a replies array
+                        stack.push(new Frame());
+                    }
+                    else if (token == JsonToken.END_OBJECT) {
+                        stack.pop();
+                        final Post post;
+                        if (stack.isEmpty()) {
+                            final OriginalPost originalPost = frame.toOriginalPost();
+                            idMap.put(originalPost.getId(), originalPost);
+                            posts.add(originalPost);
+                            post = originalPost;
+                        }
+                        else {
+                            final ReplyPost reply = frame.toReplyPost();
+                            // OriginalPosts take precedence over replies that share their id
+                            if (!(idMap.get(reply.getId()) instanceof OriginalPost)) {
+                                idMap.put(reply.getId(), reply);
+                            }
+                            stack.peek().replies.add(reply);
+                            post = reply;
+                        }
+                        if (frame.referencedPostId != null) {
+                            pendingReferences.add(post);
+                            pendingReferenceIds.add(frame.referencedPostId);
+                        }
+                    }
+                    else if (token == null) {
+                        throw new IOException("Unexpected end of posts file " + file);
+                    }
+                    // END_ARRAY closes a replies array; nothing to do
+                }
+            }
+        }
+
+        for (int i = 0; i < pendingReferences.size(); i++) {
+            final Post referencedPost = idMap.get(pendingReferenceIds.get(i));
+            if (referencedPost != null) {
+                pendingReferences.get(i).setReferencedPost(referencedPost);
+            }
+            else if (unresolvedReferences != null) {
+                unresolvedReferences.put(pendingReferences.get(i), pendingReferenceIds.get(i));
+            }
+        }
+        return posts;
+    }
+
+    /**
+     * Reads one field of the post on top of the stack. Leaves the parser inside the replies array
+     * so that the caller pushes a frame for each reply object.
+     */
+    private void readField(JsonParser parser, Frame frame) throws IOException {
+        final String name = parser.currentName();
+        final JsonToken value = parser.nextToken();
+        if (value == JsonToken.VALUE_NULL) {
+            return;
+        }
+        switch (name) {
+            case ID:
+                frame.id = parser.getLongValue();
+                break;
+            case TITLE:
+                frame.title = parser.getText();
+                break;
+            case USERNAME:
+                frame.username = parser.getText();
+                break;
+            case CONTENT:
+                frame.content = parser.getText();
+                break;
+            case DATE:
+                frame.date = parseDate(parser.getText());
+                break;
+            case VOTES:
+                readVotes(parser, frame);
+                break;
+            case REFERENCED_POST_ID:
+                frame.referencedPostId = parser.getLongValue();
+                break;
+            case REPLIES:
+                expect(parser, value, JsonToken.START_ARRAY);
+                break;
+            default:
+                parser.skipChildren();
+        }
+    }
+
+    private void readVotes(JsonParser parser, Frame frame) throws IOException {
+        expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (index == 0) {
+                frame.upvotes = parser.getIntValue();
+            }
+            else if (index == 1) {
+                frame.downvotes = parser.getIntValue();
+            }
+            index++;
+        }
+    }
+
+    private long parseDate(String text) throws IOException {
+        try {
+            return DATE_CODEC.parse(text);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new IOException("Invalid post date: " + text, ex);
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual
+                    + " at " + parser.currentLocation());
+        }
+    }
+
+    /**
+     * The fields of a post that is still being read, plus its already built replies.
+     */
+    private static final class Frame {
+        private long id;
+        private String title;
+        private String username;
+        private String content;
+        private long date;
+        private int upvotes;
+        private int downvotes;
+        private Long referencedPostId;
+        private final List<ReplyPost> replies = new ArrayList<>();
+
+        OriginalPost toOriginalPost() {
+            final OriginalPost post = new OriginalPost(id, title, content, username, date, upvotes, downvotes);
+            post.getReplies().addAll(replies);
+            return post;
+        }
+
+        ReplyPost toReplyPost() {
+            final ReplyPost reply = new ReplyPost(id, username, content, date, upvotes, downvotes);
+            reply.getReplies().addAll(replies);
+            return reply;
+        }
+    }
+}
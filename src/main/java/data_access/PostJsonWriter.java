@@ -0,0 +1,116 @@
+package data_access;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteConstraints;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+/**
+ * Writes post entities as a posts JSON file by streaming tokens straight to the output,
+ * without building an intermediate JSON tree. The output is read back by {@link PostJsonReader}.
+ * Reply threads are walked with an explicit stack, so threads of any depth can be written.
+ */
+public class PostJsonWriter {
+    private static final String ID = "id";
+    private static final String TITLE = "title";
+    private static final String USERNAME = "username";
+    private static final String CONTENT = "content";
+    private static final String DATE = "date";
+    private static final String VOTES = "votes";
+    private static final String REPLIES = "replies";
+    private static final String REFERENCED_POST_ID = "referencedPostId";
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .streamWriteConstraints(StreamWriteConstraints.builder().maxNestingDepth(Integer.MAX_VALUE).build())
+            .build();
+    private static final PostDateCodec DATE_CODEC = new PostDateCodec(ZoneId.systemDefault());
+
+    private final boolean prettyPrinting;
+
+    /**
+     * Creates a writer.
+     * @param prettyPrinting whether to indent the output for humans, or write it compactly
+     */
+    public PostJsonWriter(boolean prettyPrinting) {
+        this.prettyPrinting = prettyPrinting;
+    }
+
+    /**
+     * Writes the given posts, with their nested replies, to the output. The output is not closed.
+     * @param posts the original posts to write
+     * @param output the stream to write UTF-8 JSON to
+     * @throws IOException if writing fails
+     */
+    public void write(List<OriginalPost> posts, OutputStream output) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (prettyPrinting) {
+                generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            }
+
+            generator.writeStartArray();
+            final Deque<Iterator<ReplyPost>> stack = new ArrayDeque<>();
+            for (OriginalPost post : posts) {
+                generator.writeStartObject();
+                generator.writeNumberField(ID, post.getId());
+                generator.writeStringField(TITLE, post.getTitle());
+                writeCommonFields(generator, post);
+                generator.writeArrayFieldStart(REPLIES);
+
+                stack.push(post.getReplies().iterator());
+                while (!stack.isEmpty()) {
+                    final Iterator<ReplyPost> replies = stack.peek();
+                    if (replies.hasNext()) {
+                        final ReplyPost reply = replies.next();
+                        generator.writeStartObject();
+                        generator.writeNumberField(ID, reply.getId());
+                        writeCommonFields(generator, reply);
+                        if (reply.hasReference()) {
+                            generator.writeNumberField(REFERENCED_POST_ID, reply.getReferencedPost().getId());
+                        }
+                        generator.writeArrayFieldStart(REPLIES);
+                        stack.push(reply.getReplies().iterator());
+                    }
+                    else {
+                        stack.pop();
+                        generator.writeEndArray();
+                        if (!stack.isEmpty()) {
+                            // Closes the reply whose replies were just written
+                            generator.writeEndObject();
+                        }
+                    }
+                }
+
+                // Referenced post ID (if this post references another post)
+                if (post.hasReference()) {
+                    generator.writeNumberField(REFERENCED_POST_ID, post.getReferencedPost().getId());
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeCommonFields(JsonGenerator generator, Post post) throws IOException {
+        final int[] votes = post.getVotes();
+        generator.writeStringField(USERNAME, post.getCreatorUsername());
+        generator.writeStringField(DATE, DATE_CODEC.format(post.getCreationMillis()));
+        generator.writeStringField(CONTENT, post.getContent());
+        generator.writeArrayFieldStart(VOTES);
+        generator.writeNumber(votes[0]);
+        generator.writeNumber(votes[1]);
+        generator.writeEndArray();
+    }
+}
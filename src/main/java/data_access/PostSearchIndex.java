@@ -0,0 +1,403 @@
+package data_access;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.PostTraversal;
+
+/**
+ * Inverted index over the titles, contents and creator usernames of posts and replies.
+ * Text is normalized (NFKC, lower case) and split into words; scripts written without spaces between
+ * words, such as Japanese and Chinese, are split into overlapping character pairs instead.
+ * Every query word is matched as a prefix of the indexed words, a post must match all of them, and
+ * matches are ranked with BM25, counting title words more than content words.
+ * Posts are added and replaced one at a time, so the index can follow creations, replies and edits.
+ */
+public class PostSearchIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int USERNAME_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    // Words that only start with the query word count for less than exact matches
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final int MIN_POSTINGS_CAPACITY = 4;
+    private static final int MIN_REBUILD_TOMBSTONES = 1024;
+    private static final char ASCII_LIMIT = 0x80;
+
+    private final TreeMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<Long, Integer> docById = new HashMap<>();
+    private final List<Post> docs = new ArrayList<>();
+    private int[] docLengths = new int[MIN_POSTINGS_CAPACITY];
+    private long totalLength;
+    private int tombstones;
+
+    /**
+     * Adds every post and reply of the given threads.
+     * @param threads the original posts to add, with their nested replies
+     */
+    public synchronized void addThreads(List<OriginalPost> threads) {
+        PostTraversal.walkThreads(threads, (post, parent, depth) -> {
+            add(post);
+            return true;
+        });
+    }
+
+    /**
+     * Adds a post or reply, replacing what was indexed for its id before (e.g. after an edit).
+     * @param post the post to index
+     */
+    public synchronized void add(Post post) {
+        removeDoc(post.getId());
+        final Map<String, Integer> frequencies = new HashMap<>();
+        if (post instanceof OriginalPost) {
+            countTerms(((OriginalPost) post).getTitle(), TITLE_WEIGHT, frequencies);
+        }
+        countTerms(post.getCreatorUsername(), USERNAME_WEIGHT, frequencies);
+        countTerms(post.getContent(), CONTENT_WEIGHT, frequencies);
+
+        final int doc = docs.size();
+        docs.add(post);
+        docById.put(post.getId(), doc);
+        if (doc == docLengths.length) {
+            docLengths = Arrays.copyOf(docLengths, doc * 2);
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            postingsByTerm.computeIfAbsent(frequency.getKey(), term -> new Postings()).add(doc, frequency.getValue());
+            length += frequency.getValue();
+        }
+        docLengths[doc] = length;
+        totalLength += length;
+    }
+
+    /**
+     * Removes a post or reply from the index.
+     * @param id the id of the post
+     */
+    public synchronized void remove(long id) {
+        removeDoc(id);
+    }
+
+    private void removeDoc(long id) {
+        final Integer doc = docById.remove(id);
+        if (doc == null) {
+            return;
+        }
+        // Postings are append-only; removed documents are skipped until the next rebuild
+        docs.set(doc, null);
+        totalLength -= docLengths[doc];
+        tombstones++;
+        if (tombstones > MIN_REBUILD_TOMBSTONES && tombstones > docById.size()) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        final List<Post> live = new ArrayList<>(docById.size());
+        for (Post post : docs) {
+            if (post != null) {
+                live.add(post);
+            }
+        }
+        postingsByTerm.clear();
+        docById.clear();
+        docs.clear();
+        docLengths = new int[Math.max(MIN_POSTINGS_CAPACITY, live.size())];
+        totalLength = 0;
+        tombstones = 0;
+        for (Post post : live) {
+            add(post);
+        }
+    }
+
+    /**
+     * Returns how many posts and replies are indexed.
+     * @return the number of indexed posts
+     */
+    public synchronized int size() {
+        return docById.size();
+    }
+
+    /**
+     * Finds every post that matches all words of the query, best match first.
+     * @param query the words to look for; each is matched as a prefix
+     * @return the matching posts
+     */
+    public List<Post> search(String query) {
+        return search(query, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the best posts that match all words of the query.
+     * @param query the words to look for; each is matched as a prefix
+     * @param limit how many posts to return at most
+     * @return the matching posts, best match first
+     */
+    public synchronized List<Post> search(String query, int limit) {
+        final List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query, true)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        final List<List<Map.Entry<String, Postings>>> expansions = new ArrayList<>();
+        for (String queryTerm : queryTerms) {
+            final List<Map.Entry<String, Postings>> expansion =
+                    new ArrayList<>(postingsByTerm.subMap(queryTerm, queryTerm + Character.MAX_VALUE).entrySet());
+            if (expansion.isEmpty()) {
+                return new ArrayList<>();
+            }
+            expansions.add(expansion);
+        }
+        // The rarest word goes first, so later words only need to look at its matches
+        expansions.sort(Comparator.comparingLong(PostSearchIndex::postingCount));
+
+        final int docCount = docs.size();
+        final double[] scores = new double[docCount];
+        final int[] matchedTerms = new int[docCount];
+        final double averageLength = Math.max(1.0, (double) totalLength / Math.max(1, docById.size()));
+        for (int term = 0; term < expansions.size(); term++) {
+            for (Map.Entry<String, Postings> expanded : expansions.get(term)) {
+                final Postings postings = expanded.getValue();
+                final double weight = idf(postings.size) * matchWeight(queryTerms, expanded.getKey());
+                for (int i = 0; i < postings.size; i++) {
+                    final int doc = postings.docs[i];
+                    // Matched every earlier word, and this word not yet through another expansion
+                    if (matchedTerms[doc] == term && docs.get(doc) != null) {
+                        matchedTerms[doc] = term + 1;
+                    }
+                    else if (matchedTerms[doc] != term + 1) {
+                        continue;
+                    }
+                    scores[doc] += termScore(weight, postings.frequencies[i], doc, averageLength);
+                }
+            }
+        }
+        return collect(scores, matchedTerms, expansions.size(), limit);
+    }
+
+    /**
+     * Orders posts found some other way by how well they match the query, best match first. Unlike
+     * {@link #search}, a post does not have to match every word: each word it matches adds to its score.
+     * Posts that match no word, or are not the post indexed under their id, keep their order after the rest.
+     * @param query the words to rank by; each is matched as a prefix
+     * @param candidates the posts to rank
+     * @return the same posts, best match first
+     */
+    public synchronized List<Post> rank(String query, List<Post> candidates) {
+        final List<Post> ranked = new ArrayList<>(candidates);
+        final List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query, true)));
+        if (queryTerms.isEmpty() || ranked.size() < 2) {
+            return ranked;
+        }
+        final double[] scores = new double[docs.size()];
+        final double averageLength = Math.max(1.0, (double) totalLength / Math.max(1, docById.size()));
+        for (String queryTerm : queryTerms) {
+            for (Map.Entry<String, Postings> expanded
+                    : postingsByTerm.subMap(queryTerm, queryTerm + Character.MAX_VALUE).entrySet()) {
+                final Postings postings = expanded.getValue();
+                final double weight = idf(postings.size) * matchWeight(queryTerms, expanded.getKey());
+                for (int i = 0; i < postings.size; i++) {
+                    scores[postings.docs[i]] += termScore(weight, postings.frequencies[i], postings.docs[i],
+                            averageLength);
+                }
+            }
+        }
+        final Map<Post, Double> scoreByPost = new IdentityHashMap<>();
+        for (Post post : ranked) {
+            final Integer doc = docById.get(post.getId());
+            // Compared by identity, as an original post and a reply can share an id
+            if (doc != null && docs.get(doc) == post) {
+                scoreByPost.put(post, scores[doc]);
+            }
+        }
+        // A stable sort, so equally good matches keep the order they were found in
+        ranked.sort(Comparator.<Post>comparingDouble(post -> scoreByPost.getOrDefault(post, 0.0)).reversed());
+        return ranked;
+    }
+
+    private double termScore(double weight, int frequency, int doc, double averageLength) {
+        return weight * frequency * (BM25_K1 + 1) / (frequency
+                + BM25_K1 * (1 - BM25_B + BM25_B * docLengths[doc] / averageLength));
+    }
+
+    private List<Post> collect(double[] scores, int[] matchedTerms, int termCount, int limit) {
+        // Best score first; equal scores keep index order
+        final Comparator<Integer> ranking = Comparator.<Integer>comparingDouble(doc -> scores[doc]).reversed()
+                .thenComparingInt(doc -> doc);
+        final PriorityQueue<Integer> best = new PriorityQueue<>(ranking.reversed());
+        final List<Integer> all = new ArrayList<>();
+        for (int doc = 0; doc < matchedTerms.length; doc++) {
+            if (matchedTerms[doc] != termCount) {
+                continue;
+            }
+            if (limit == Integer.MAX_VALUE) {
+                all.add(doc);
+            }
+            else {
+                best.add(doc);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        all.addAll(best);
+        all.sort(ranking);
+        final List<Post> results = new ArrayList<>(all.size());
+        for (Integer doc : all) {
+            results.add(docs.get(doc));
+        }
+        return results;
+    }
+
+    private double idf(int documentFrequency) {
+        final int docCount = docById.size();
+        return Math.log(1 + (docCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double matchWeight(List<String> queryTerms, String indexedTerm) {
+        if (queryTerms.contains(indexedTerm)) {
+            return 1;
+        }
+        return PREFIX_MATCH_WEIGHT;
+    }
+
+    private static long postingCount(List<Map.Entry<String, Postings>> expansion) {
+        long count = 0;
+        for (Map.Entry<String, Postings> expanded : expansion) {
+            count += expanded.getValue().size;
+        }
+        return count;
+    }
+
+    private static void countTerms(String text, int weight, Map<String, Integer> frequencies) {
+        for (String term : tokenize(text, false)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Splits text into index terms.
+     * Runs of letters and digits form words. Runs in scripts without spaces between words are split into
+     * overlapping pairs of characters; when indexing, the last character of such a run is added on its own
+     * too, so that a single character query finds it as a prefix.
+     * @param text the text to split, may be null
+     * @param query whether the text is a query rather than indexed text
+     * @return the terms, in order of appearance
+     */
+    static List<String> tokenize(String text, boolean query) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String normalized = text;
+        if (!isAscii(text)) {
+            normalized = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        }
+        normalized = normalized.toLowerCase(Locale.ROOT);
+        final List<String> terms = new ArrayList<>();
+        final StringBuilder word = new StringBuilder();
+        final List<String> run = new ArrayList<>();
+        int offset = 0;
+        while (offset < normalized.length()) {
+            final int codePoint = normalized.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+            if (isUnspacedScript(codePoint)) {
+                addWord(word, terms);
+                run.add(new String(Character.toChars(codePoint)));
+            }
+            else if (Character.isLetterOrDigit(codePoint) || isMark(codePoint)) {
+                addRun(run, query, terms);
+                word.appendCodePoint(codePoint);
+            }
+            else {
+                addWord(word, terms);
+                addRun(run, query, terms);
+            }
+        }
+        addWord(word, terms);
+        addRun(run, query, terms);
+        return terms;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= ASCII_LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addWord(StringBuilder word, List<String> terms) {
+        if (word.length() > 0) {
+            terms.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static void addRun(List<String> run, boolean query, List<String> terms) {
+        if (run.size() == 1) {
+            terms.add(run.get(0));
+        }
+        else if (!run.isEmpty()) {
+            for (int i = 0; i + 1 < run.size(); i++) {
+                terms.add(run.get(i) + run.get(i + 1));
+            }
+            if (!query) {
+                terms.add(run.get(run.size() - 1));
+            }
+        }
+        run.clear();
+    }
+
+    private static boolean isMark(int codePoint) {
+        final int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    private static boolean isUnspacedScript(int codePoint) {
+        if (codePoint < ASCII_LIMIT) {
+            return false;
+        }
+        final Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.THAI
+                || script == Character.UnicodeScript.LAO
+                || script == Character.UnicodeScript.KHMER
+                || script == Character.UnicodeScript.MYANMAR;
+    }
+
+    /**
+     * The documents containing one term, in ascending document order, with the weighted term frequency.
+     */
+    private static final class Postings {
+        private int[] docs = new int[MIN_POSTINGS_CAPACITY];
+        private byte[] frequencies = new byte[MIN_POSTINGS_CAPACITY];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            // Saturates; beyond this a term is frequent enough for ranking purposes
+            frequencies[size] = (byte) Math.min(frequency, Byte.MAX_VALUE);
+            size++;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package data_access;
+
+/**
+ * On-disk formats of the posts snapshot written by {@link FilePostDataAccessObject}.
+ */
+public enum PostSnapshotFormat {
+    /** Human-readable JSON, read by {@link PostJsonReader} and written by {@link PostJsonWriter}. */
+    JSON,
+    /** Memory-mappable columnar layout, see {@link BinaryPostSnapshot}. */
+    BINARY
+}
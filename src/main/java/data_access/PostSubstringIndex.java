@@ -0,0 +1,60 @@
+package data_access;
+
+import java.util.List;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.PostTraversal;
+import use_case.search_post.TrigramIndex;
+
+/**
+ * Trigram index over the titles, contents and usernames of posts and replies.
+ * A keyword matches a post when one of those fields contains it, ignoring case, exactly as the former
+ * {@code String.contains} scan did, but only posts sharing every trigram of the keyword are checked.
+ */
+public class PostSubstringIndex extends TrigramIndex<Post> {
+    // Never typed into a search box, so a match cannot run from one field into the next
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    /**
+     * Creates an empty index.
+     */
+    public PostSubstringIndex() {
+        super(PostSubstringIndex::searchableText);
+    }
+
+    /**
+     * Adds whole threads, each post before its replies, so matches come back in reading order.
+     * @param threads the original posts whose threads are added
+     */
+    public synchronized void addThreads(List<OriginalPost> threads) {
+        PostTraversal.walkThreads(threads, (post, parent, depth) -> {
+            add(post);
+            return true;
+        });
+    }
+
+    /**
+     * Adds a post or reply, replacing what was indexed for its id before (e.g. after an edit).
+     * @param post the post to index
+     */
+    public void add(Post post) {
+        add(post.getId(), post);
+    }
+
+    private static String searchableText(Post post) {
+        final StringBuilder text = new StringBuilder();
+        if (post instanceof OriginalPost && ((OriginalPost) post).getTitle() != null) {
+            text.append(((OriginalPost) post).getTitle());
+        }
+        text.append(FIELD_SEPARATOR);
+        if (post.getContent() != null) {
+            text.append(post.getContent());
+        }
+        text.append(FIELD_SEPARATOR);
+        if (post.getCreatorUsername() != null) {
+            text.append(post.getCreatorUsername());
+        }
+        return text.toString();
+    }
+}
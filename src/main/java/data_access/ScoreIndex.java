@@ -0,0 +1,276 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import use_case.browse_posts.FeedCursor;
+
+/**
+ * Original posts kept in browse feed order (score descending, then id ascending) as they are voted on.
+ * The posts sit in a treap, a binary search tree balanced by random priorities, whose nodes also count the
+ * posts below them; moving a post after a vote, finding its rank and finding the n-th post all take
+ * O(log n), and a page of k posts takes O(k log n). Reads share a lock, so front-page requests run side by
+ * side while votes take turns.
+ */
+public class ScoreIndex {
+    private final Map<Long, Node> nodesById = new HashMap<>();
+    private final SplittableRandom priorities = new SplittableRandom();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    /**
+     * Places a post at the position its score gives it, adding it if it was not indexed yet.
+     * @param postId the id of the post
+     * @param score the post's upvotes minus its downvotes
+     */
+    public void update(long postId, long score) {
+        lock.writeLock().lock();
+        try {
+            final Node existing = nodesById.get(postId);
+            if (existing != null && existing.score == score) {
+                return;
+            }
+            if (existing != null) {
+                root = remove(root, existing);
+            }
+            insert(postId, score);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a post unless it is already indexed, so that a bulk build cannot overwrite a newer score
+     * placed by a concurrent {@link #update}.
+     * @param postId the id of the post
+     * @param score the post's upvotes minus its downvotes
+     */
+    public void addIfAbsent(long postId, long score) {
+        lock.writeLock().lock();
+        try {
+            if (!nodesById.containsKey(postId)) {
+                insert(postId, score);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(long postId, long score) {
+        final Node node = new Node(postId, score, priorities.nextInt());
+        nodesById.put(postId, node);
+        final Node[] halves = split(root, node);
+        root = merge(merge(halves[0], node), halves[1]);
+    }
+
+    /**
+     * Removes a post.
+     * @param postId the id of the post
+     */
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            final Node existing = nodesById.remove(postId);
+            if (existing != null) {
+                root = remove(root, existing);
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the position of a post in the feed.
+     * @param postId the id of the post
+     * @return the number of posts before it, or -1 if it is not indexed
+     */
+    public int rankOf(long postId) {
+        lock.readLock().lock();
+        try {
+            final Node target = nodesById.get(postId);
+            if (target == null) {
+                return -1;
+            }
+            return countBefore(target.score, target.postId, false);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the first posts after a position in the feed.
+     * @param after the position to continue after, or null to start at the top
+     * @param limit the largest number of ids to return
+     * @return the post ids in feed order
+     */
+    public List<Long> topIds(FeedCursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            int rank = 0;
+            if (after != null) {
+                rank = countBefore(after.getScore(), after.getPostId(), true);
+            }
+            final List<Long> ids = new ArrayList<>();
+            final int end = Math.min(size(root), rank + Math.max(limit, 0));
+            for (; rank < end; rank++) {
+                ids.add(select(rank).postId);
+            }
+            return ids;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns how many posts are indexed.
+     * @return the number of posts
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the posts that come before a position, or at it too if {@code inclusive}.
+     */
+    private int countBefore(long score, long postId, boolean inclusive) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            final int order = compare(node.score, node.postId, score, postId);
+            if (order < 0 || inclusive && order == 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+            else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private Node select(int rank) {
+        Node node = root;
+        int remaining = rank;
+        while (true) {
+            final int leftSize = size(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            }
+            else if (remaining == leftSize) {
+                return node;
+            }
+            else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Splits a tree into the nodes before the key and the nodes after it.
+     */
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (compare(node.score, node.postId, key.score, key.postId) < 0) {
+            final Node[] halves = split(node.right, key);
+            node.right = halves[0];
+            node.resize();
+            halves[0] = node;
+            return halves;
+        }
+        final Node[] halves = split(node.left, key);
+        node.left = halves[1];
+        node.resize();
+        halves[1] = node;
+        return halves;
+    }
+
+    /**
+     * Joins two trees whose keys are all in order, the first before the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.resize();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.resize();
+        return second;
+    }
+
+    private static Node remove(Node node, Node target) {
+        if (node == target) {
+            return merge(node.left, node.right);
+        }
+        if (compare(target.score, target.postId, node.score, node.postId) < 0) {
+            node.left = remove(node.left, target);
+        }
+        else {
+            node.right = remove(node.right, target);
+        }
+        node.resize();
+        return node;
+    }
+
+    private static int compare(long firstScore, long firstId, long secondScore, long secondId) {
+        final int byScore = Long.compare(secondScore, firstScore);
+        if (byScore != 0) {
+            return byScore;
+        }
+        return Long.compare(firstId, secondId);
+    }
+
+    private static int size(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return node.size;
+    }
+
+    /**
+     * A post in the tree.
+     */
+    private static final class Node {
+        private final long postId;
+        private final long score;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(long postId, long score, int priority) {
+            this.postId = postId;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        void resize() {
+            size = ScoreIndex.size(left) + ScoreIndex.size(right) + 1;
+        }
+    }
+}
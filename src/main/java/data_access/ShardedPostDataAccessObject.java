@@ -0,0 +1,433 @@
+package data_access;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import entities.OriginalPost;
+import entities.Post;
+import entities.PostTraversal;
+import entities.ReplyPost;
+import use_case.browse_posts.BrowsePostsDataAccessInterface;
+import use_case.create_post_use_case.CreatePostDataAccessInterface;
+import use_case.read_post.ReadPostDataAccessInterface;
+import use_case.reference_post.ReferencePostDataAccessInterface;
+import use_case.reply_post.ReplyPostDataAccessInterface;
+import use_case.upvote_downvote.VoteDataAccessInterface;
+
+/**
+ * Post DAO that stores every thread (an original post with all of its replies) in its own segment file,
+ * plus an index file listing the threads in order.
+ * A mutation rewrites only the segment of the thread it touches, and threads are only read once they are
+ * needed, so reading one thread does not parse the rest of the forum.
+ */
+public class ShardedPostDataAccessObject implements
+        BrowsePostsDataAccessInterface,
+        ReadPostDataAccessInterface,
+        ReplyPostDataAccessInterface,
+        VoteDataAccessInterface,
+        CreatePostDataAccessInterface,
+        ReferencePostDataAccessInterface {
+    private static final String INDEX_FILE = "index.json";
+    private static final String SEGMENT_PREFIX = "thread-";
+    private static final String SEGMENT_SUFFIX = ".json";
+    private static final String ID = "id";
+    private static final String SEGMENT = "segment";
+
+    private final File directory;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    // Thread ids in browse order, with the segment file of each
+    private final Map<Long, String> segments = new LinkedHashMap<>();
+    private final Map<Long, OriginalPost> loadedThreads = new HashMap<>();
+    private final Map<Long, Post> postIdMap = new HashMap<>();
+    private final Map<Long, Long> threadOfPost = new HashMap<>();
+    private boolean indexLoaded;
+
+    /**
+     * Creates a DAO storing its threads in the given directory.
+     * @param directory the directory holding the index and the thread segments; created on the first save
+     */
+    public ShardedPostDataAccessObject(String directory) {
+        this.directory = new File(directory);
+    }
+
+    /**
+     * Splits a posts JSON file into one segment per thread plus an index, replacing any existing threads.
+     * The segments are synced together once all are written, and segments of threads the import no longer
+     * lists are deleted once the new index is in place.
+     * @param postsJson the posts file to import
+     * @throws IOException if the file could not be read or the segments could not be written
+     */
+    public synchronized void importJson(File postsJson) throws IOException {
+        final Map<Long, Post> idMap = new HashMap<>();
+        final List<OriginalPost> posts = new PostJsonReader().read(postsJson, idMap);
+
+        segments.clear();
+        loadedThreads.clear();
+        postIdMap.clear();
+        threadOfPost.clear();
+        indexLoaded = true;
+        final List<File> written = new ArrayList<>();
+        for (OriginalPost post : posts) {
+            segments.put(post.getId(), SEGMENT_PREFIX + post.getId() + SEGMENT_SUFFIX);
+            register(post);
+            written.add(submitSegment(post));
+        }
+        for (File segment : written) {
+            AtomicSnapshotWriter.shared().flush(segment);
+        }
+        writeIndex();
+        deleteStaleSegments();
+    }
+
+    /**
+     * Returns every thread, reading the segments that have not been read yet.
+     * @return all original posts, in index order
+     */
+    @Override
+    public synchronized List<OriginalPost> getAllPosts() {
+        final List<OriginalPost> posts = new ArrayList<>();
+        for (Long threadId : threadIds()) {
+            final OriginalPost thread = loadThread(threadId);
+            if (thread != null) {
+                posts.add(thread);
+            }
+        }
+        return posts;
+    }
+
+    /**
+     * Returns the ids of all threads without reading any segment.
+     * @return the thread ids, in index order
+     */
+    public synchronized List<Long> getThreadIds() {
+        return Collections.unmodifiableList(new ArrayList<>(threadIds()));
+    }
+
+    /**
+     * Returns one thread, reading only its segment if it has not been read yet.
+     * @param threadId the id of the original post
+     * @return the thread, or null if there is no such thread
+     */
+    public synchronized OriginalPost getThread(long threadId) {
+        threadIds();
+        return loadThread(threadId);
+    }
+
+    /**
+     * Returns how many thread segments have been read so far.
+     * @return the number of loaded threads
+     */
+    public synchronized int getLoadedThreadCount() {
+        return loadedThreads.size();
+    }
+
+    /**
+     * Finds a post or reply. Segments are read one at a time until it is found.
+     * @param id the id of the post
+     * @return the post, or null if no thread contains it
+     */
+    @Override
+    public synchronized Post getPostById(long id) {
+        Post post = postIdMap.get(id);
+        if (post == null) {
+            final OriginalPost thread = getThread(id);
+            if (thread != null) {
+                return thread;
+            }
+            for (Long threadId : threadIds()) {
+                if (!loadedThreads.containsKey(threadId)) {
+                    loadThread(threadId);
+                    post = postIdMap.get(id);
+                    if (post != null) {
+                        break;
+                    }
+                }
+            }
+        }
+        return post;
+    }
+
+    @Override
+    public Post getPostById(String postId) {
+        try {
+            return getPostById(Long.parseLong(postId));
+        }
+        catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void save(OriginalPost originalPost) {
+        threadIds();
+        segments.put(originalPost.getId(), SEGMENT_PREFIX + originalPost.getId() + SEGMENT_SUFFIX);
+        register(originalPost);
+        saveThread(originalPost.getId());
+        try {
+            writeIndex();
+        }
+        catch (IOException ex) {
+            System.err.println("Error writing thread index: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void save(ReplyPost replyPost, OriginalPost parentPost) {
+        parentPost.addReply(replyPost);
+        saveReply(replyPost, parentPost);
+    }
+
+    @Override
+    public synchronized void save(ReplyPost replyPost, ReplyPost parentPost) {
+        parentPost.addReply(replyPost);
+        saveReply(replyPost, parentPost);
+    }
+
+    private void saveReply(ReplyPost replyPost, Post parentPost) {
+        final Long threadId = threadOfPost.get(parentPost.getId());
+        if (threadId == null) {
+            System.err.println("Cannot save reply " + replyPost.getId() + ": parent is not in any thread");
+            return;
+        }
+        postIdMap.put(replyPost.getId(), replyPost);
+        threadOfPost.put(replyPost.getId(), threadId);
+        saveThread(threadId);
+    }
+
+    @Override
+    public synchronized void saveVote(long contentId, int newUpvotes, int newDownvotes) {
+        final Post post = getPostById(contentId);
+        if (post != null) {
+            post.advanceVotes(newUpvotes, newDownvotes);
+            saveThread(threadOfPost.get(contentId));
+        }
+    }
+
+    /**
+     * Applies several vote changes, rewriting each affected thread once.
+     * @param votes the new [upvotes, downvotes] totals, by post id
+     */
+    @Override
+    public synchronized void saveVotes(Map<Long, int[]> votes) {
+        final Set<Long> touchedThreads = new LinkedHashSet<>();
+        for (Map.Entry<Long, int[]> vote : votes.entrySet()) {
+            final Post post = getPostById(vote.getKey());
+            if (post != null) {
+                post.advanceVotes(vote.getValue()[0], vote.getValue()[1]);
+                touchedThreads.add(threadOfPost.get(vote.getKey()));
+            }
+        }
+        for (Long threadId : touchedThreads) {
+            saveThread(threadId);
+        }
+    }
+
+    /**
+     * Edit the post content.
+     * @param id the id of the post
+     * @param contentNew the new content
+     */
+    public synchronized void editPostContent(long id, String contentNew) {
+        final Post post = getPostById(id);
+        if (post != null) {
+            post.setContent(contentNew);
+            saveThread(threadOfPost.get(id));
+        }
+    }
+
+    @Override
+    public synchronized void savePost(Post post) {
+        if (!(post instanceof OriginalPost)) {
+            return;
+        }
+        if (threadIds().contains(post.getId())) {
+            final OriginalPost existing = loadThread(post.getId());
+            if (existing != null && existing != post) {
+                existing.setReferencedPost(post.getReferencedPost());
+            }
+            saveThread(post.getId());
+        }
+        else {
+            save((OriginalPost) post);
+        }
+    }
+
+    @Override
+    public synchronized List<Post> searchPostsByKeyword(String keyword) {
+        final String lowerKeyword = keyword.toLowerCase();
+        final List<Post> results = new ArrayList<>();
+        PostTraversal.walkThreads(getAllPosts(), (post, parent, depth) -> {
+            if (matches(post, lowerKeyword)) {
+                results.add(post);
+            }
+            return true;
+        });
+        return results;
+    }
+
+    private static boolean matches(Post post, String lowerKeyword) {
+        boolean matches = post.getContent() != null && post.getContent().toLowerCase().contains(lowerKeyword);
+        if (post instanceof OriginalPost) {
+            final String title = ((OriginalPost) post).getTitle();
+            matches |= title != null && title.toLowerCase().contains(lowerKeyword);
+        }
+        matches |= post.getCreatorUsername() != null
+                && post.getCreatorUsername().toLowerCase().contains(lowerKeyword);
+        return matches;
+    }
+
+    private List<Long> threadIds() {
+        if (!indexLoaded) {
+            readIndex();
+            indexLoaded = true;
+        }
+        return new ArrayList<>(segments.keySet());
+    }
+
+    private OriginalPost loadThread(long threadId) {
+        OriginalPost thread = loadedThreads.get(threadId);
+        final String segment = segments.get(threadId);
+        if (thread == null && segment != null) {
+            final Map<Post, Long> unresolved = new HashMap<>();
+            try {
+                final List<OriginalPost> posts = new PostJsonReader()
+                        .read(new File(directory, segment), postIdMap, unresolved);
+                if (!posts.isEmpty()) {
+                    thread = posts.get(0);
+                    register(thread);
+                }
+            }
+            catch (IOException ex) {
+                System.err.println("Error reading thread segment " + segment + ": " + ex.getMessage());
+            }
+            // References into threads that have not been read yet
+            for (Map.Entry<Post, Long> reference : unresolved.entrySet()) {
+                reference.getKey().setReferencedPost(getPostById(reference.getValue()));
+            }
+        }
+        return thread;
+    }
+
+    /**
+     * Records a thread and every post in it as loaded.
+     */
+    private void register(OriginalPost thread) {
+        loadedThreads.put(thread.getId(), thread);
+        postIdMap.put(thread.getId(), thread);
+        PostTraversal.walkReplies(thread, (reply, parent, depth) -> {
+            if (!(postIdMap.get(reply.getId()) instanceof OriginalPost)) {
+                postIdMap.put(reply.getId(), reply);
+            }
+            threadOfPost.putIfAbsent(reply.getId(), thread.getId());
+            return true;
+        });
+        threadOfPost.put(thread.getId(), thread.getId());
+    }
+
+    private void saveThread(Long threadId) {
+        final OriginalPost thread = loadedThreads.get(threadId);
+        if (thread == null) {
+            return;
+        }
+        try {
+            writeSegment(thread);
+        }
+        catch (IOException ex) {
+            System.err.println("Error writing thread segment " + segments.get(threadId) + ": " + ex.getMessage());
+        }
+    }
+
+    private void writeSegment(OriginalPost thread) throws IOException {
+        AtomicSnapshotWriter.shared().flush(submitSegment(thread));
+    }
+
+    /**
+     * Queues the segment of a thread to be saved, without waiting for it.
+     * @return the segment file
+     */
+    private File submitSegment(OriginalPost thread) throws IOException {
+        ensureDirectory();
+        final List<OriginalPost> segment = Collections.singletonList(thread);
+        final File file = new File(directory, segments.get(thread.getId()));
+        AtomicSnapshotWriter.shared().submit(file, output -> new PostJsonWriter(true).write(segment, output));
+        return file;
+    }
+
+    /**
+     * Deletes the segment files of threads the index does not list.
+     */
+    private void deleteStaleSegments() {
+        final File[] files = directory.listFiles(
+            (dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        final Set<String> listed = new HashSet<>(segments.values());
+        for (File file : files) {
+            if (!listed.contains(file.getName()) && !file.delete()) {
+                System.err.println("Could not delete stale thread segment " + file.getName());
+            }
+        }
+    }
+
+    private void readIndex() {
+        final File indexFile = new File(directory, INDEX_FILE);
+        if (!indexFile.exists()) {
+            return;
+        }
+        try (Reader reader = new FileReader(indexFile, StandardCharsets.UTF_8)) {
+            final JsonArray entries = gson.fromJson(reader, JsonArray.class);
+            if (entries != null) {
+                for (JsonElement element : entries) {
+                    final JsonObject entry = element.getAsJsonObject();
+                    segments.put(entry.get(ID).getAsLong(), entry.get(SEGMENT).getAsString());
+                }
+            }
+        }
+        catch (IOException ex) {
+            System.err.println("Error reading thread index: " + ex.getMessage());
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        ensureDirectory();
+        final JsonArray entries = new JsonArray();
+        for (Map.Entry<Long, String> segment : segments.entrySet()) {
+            final JsonObject entry = new JsonObject();
+            entry.addProperty(ID, segment.getKey());
+            entry.addProperty(SEGMENT, segment.getValue());
+            entries.add(entry);
+        }
+        AtomicSnapshotWriter.shared().write(new File(directory, INDEX_FILE), output -> {
+            final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            gson.toJson(entries, writer);
+            writer.flush();
+        });
+    }
+
+    private void ensureDirectory() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package data_access;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import entities.Post;
+import use_case.upvote_downvote.VoteDataAccessInterface;
+
+/**
+ * Write-behind buffer in front of another vote DAO.
+ * Votes update the in-memory post right away, which stays the source of truth, while the storage write is
+ * deferred: repeated votes on the same post collapse into their latest totals, and the buffered totals are
+ * handed to the underlying DAO in one {@link VoteDataAccessInterface#saveVotes} call once the flush interval
+ * elapses or the batch size is reached. Pending votes are flushed on {@link #close()} and at JVM shutdown.
+ */
+public class WriteBehindVoteDataAccessObject implements VoteDataAccessInterface, AutoCloseable {
+    private final VoteDataAccessInterface delegate;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flusher;
+    private final Thread shutdownHook;
+    private final Object flushLock = new Object();
+    private Map<Long, int[]> pending = new LinkedHashMap<>();
+
+    /**
+     * Creates a write-behind buffer.
+     * @param delegate the DAO the buffered votes are written to
+     * @param flushIntervalMillis how long a vote may stay buffered
+     * @param maxBatchSize how many distinct posts may have buffered votes before they are written right away
+     */
+    public WriteBehindVoteDataAccessObject(VoteDataAccessInterface delegate, long flushIntervalMillis,
+                                           int maxBatchSize) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "vote-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        this.shutdownHook = new Thread(this::flush, "vote-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    @Override
+    public Post getPostById(long contentId) {
+        return delegate.getPostById(contentId);
+    }
+
+    @Override
+    public void saveVote(long contentId, int newUpvotes, int newDownvotes) {
+        final Post post = delegate.getPostById(contentId);
+        final boolean batchFull;
+        synchronized (this) {
+            // Buffer what the post holds afterwards, so a late, older total cannot replace a newer one
+            if (post != null) {
+                pending.put(contentId, post.advanceVotes(newUpvotes, newDownvotes));
+            }
+            else {
+                pending.put(contentId, new int[] {newUpvotes, newDownvotes});
+            }
+            batchFull = pending.size() >= maxBatchSize;
+        }
+        if (post != null) {
+            delegate.votesChanged(post);
+        }
+        if (batchFull && !flusher.isShutdown()) {
+            flusher.execute(this::flush);
+        }
+        else if (batchFull) {
+            flush();
+        }
+    }
+
+    @Override
+    public void saveVotes(Map<Long, int[]> votes) {
+        for (Map.Entry<Long, int[]> vote : votes.entrySet()) {
+            saveVote(vote.getKey(), vote.getValue()[0], vote.getValue()[1]);
+        }
+    }
+
+    /**
+     * Writes every buffered vote to the underlying DAO.
+     */
+    public void flush() {
+        // Serializes flushes so that an older batch is never written after a newer one
+        synchronized (flushLock) {
+            final Map<Long, int[]> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+            try {
+                // Votes cast meanwhile were advanced into their posts already, and the DAO merges the batch
+                // without lowering them
+                delegate.saveVotes(batch);
+            }
+            catch (RuntimeException ex) {
+                System.err.println("Error writing buffered votes: " + ex.getMessage());
+                synchronized (this) {
+                    // Keep the failed votes for the next flush, unless newer ones arrived meanwhile
+                    for (Map.Entry<Long, int[]> vote : batch.entrySet()) {
+                        pending.putIfAbsent(vote.getKey(), vote.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns how many posts currently have votes waiting to be written.
+     * @return the number of buffered posts
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Flushes the buffered votes and stops the background flusher.
+     */
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+        catch (IllegalStateException ex) {
+            // Already shutting down; the hook flushes anyway
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package entities;
+
+/**
+ * Hands out unique post ids. Implementations must be safe to call from several threads.
+ */
+public interface IdAllocator {
+    /**
+     * Returns an id that has not been handed out or reserved before.
+     * @return the new id
+     */
+    long nextId();
+
+    /**
+     * Records that a post with the given id already exists, so the id is never handed out.
+     * @param id the existing id
+     */
+    void reserve(long id);
+}
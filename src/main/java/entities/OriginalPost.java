@@ -14,6 +14,22 @@ public class OriginalPost extends Post {
         this.title = title;
     }
 
+    /**
+     * Constructor for loading original posts whose creation time is kept as epoch milliseconds.
+     * @param id the unique identifier of the post
+     * @param title the title of the post
+     * @param content the content of the post
+     * @param username the username of the post creator
+     * @param creationMillis the creation time, in milliseconds since 1970
+     * @param upvotes the number of upvotes
+     * @param downvotes the number of downvotes
+     */
+    public OriginalPost(long id, String title, String content, String username,
+                        long creationMillis, int upvotes, int downvotes) {
+        super(id, username, content, creationMillis, upvotes, downvotes);
+        this.title = title;
+    }
+
     public OriginalPost(String username, String title, String content) {
         super(username, content);
         this.title = title;
@@ -23,6 +39,7 @@ public class OriginalPost extends Post {
         return title;
     }
 
+    @Override
     public List<ReplyPost> getReplies() {
         return this.replies;
     }
@@ -1,15 +1,27 @@
 package entities;
 
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class Post {
 
-    private static long nextId = 1;
+    private static final int DOWNVOTE_BITS = 32;
+    private static final long DOWNVOTE_MASK = 0xFFFFFFFFL;
+    private static final long ONE_UPVOTE = 1L << DOWNVOTE_BITS;
+
+    private static volatile IdAllocator idAllocator = new InMemoryIdAllocator();
     private final long id;
-    private final Date creationDate;
+    // Epoch milliseconds, so ordering and persistence never need a Date or a formatter
+    private final long creationMillis;
     private final String creatorUsername;
     private String content;
-    private final int[] votes;
+    private PostContentStore contentStore;
+    private int contentPosition;
+    // Counts content edits, so copies derived from the content can tell when they are stale
+    private int contentVersion;
+    // Upvotes in the high half, downvotes in the low half, so both change together atomically
+    private final AtomicLong votes;
     private Post referencedPost;
 
     /**
@@ -18,12 +30,12 @@ public abstract class Post {
      * @param content the content of the post
      */
     protected Post(String creatorUsername, String content) {
-        this.id = nextId++;
+        this.id = idAllocator.nextId();
         this.creatorUsername = creatorUsername;
         this.content = content;
-        this.creationDate = new Date();
+        this.creationMillis = System.currentTimeMillis();
         // [upvotes, downvotes] - both initialized to 0
-        this.votes = new int[2];
+        this.votes = new AtomicLong();
         this.referencedPost = null;
     }
 
@@ -37,32 +49,106 @@ public abstract class Post {
      * @param downvotes the number of downvotes
      */
     protected Post(long id, String creatorUsername, String content, Date creationDate, int upvotes, int downvotes) {
+        this(id, creatorUsername, content, creationDate.getTime(), upvotes, downvotes);
+    }
+
+    /**
+     * Constructor for loading posts from storage that keeps the creation time as epoch milliseconds.
+     * @param id the unique identifier of the post
+     * @param creatorUsername the username of the post creator
+     * @param content the content of the post
+     * @param creationMillis the creation time, in milliseconds since 1970
+     * @param upvotes the number of upvotes
+     * @param downvotes the number of downvotes
+     */
+    protected Post(long id, String creatorUsername, String content, long creationMillis, int upvotes, int downvotes) {
         this.id = id;
         this.creatorUsername = creatorUsername;
         this.content = content;
-        this.creationDate = creationDate;
-        this.votes = new int[2];
-        this.votes[0] = upvotes;
-        this.votes[1] = downvotes;
+        this.creationMillis = creationMillis;
+        this.votes = new AtomicLong(pack(upvotes, downvotes));
         this.referencedPost = null;
-        // Update nextId to ensure it's always higher than loaded IDs
-        if (id >= nextId) {
-            nextId = id + 1;
-        }
+        // Ensure newly created posts never reuse a loaded ID
+        idAllocator.reserve(id);
+    }
+
+    /**
+     * Replaces the allocator that new posts take their IDs from, e.g. with one that survives restarts.
+     * @param allocator the allocator to use from now on
+     */
+    public static void setIdAllocator(IdAllocator allocator) {
+        idAllocator = allocator;
     }
 
+    /**
+     * Returns the creation time as a new Date, which the caller may change without changing the post.
+     * @return the creation date
+     */
     public Date getCreationDate() {
-        return this.creationDate;
+        return new Date(this.creationMillis);
     }
 
+    /**
+     * Returns the creation time without allocating.
+     * @return the creation time, in milliseconds since 1970
+     */
+    public long getCreationMillis() {
+        return this.creationMillis;
+    }
+
+    /**
+     * Returns a consistent snapshot of the vote counts. Changing the returned array does not change the post.
+     * @return [upvotes, downvotes]
+     */
     public int[] getVotes() {
-        return this.votes;
+        return unpack(this.votes.get());
+    }
+
+    public int getUpvotes() {
+        return upvotesOf(this.votes.get());
     }
 
+    public int getDownvotes() {
+        return downvotesOf(this.votes.get());
+    }
+
+    /**
+     * Returns the content of this post. Lazily stored content is decoded on every call and not kept.
+     * @return the content
+     */
     public String getContent() {
+        if (this.contentStore != null) {
+            return this.contentStore.contentAt(this.contentPosition);
+        }
         return this.content;
     }
 
+    public void setContent(String content) {
+        this.content = content;
+        this.contentStore = null;
+        this.contentVersion++;
+    }
+
+    /**
+     * Returns how many times the content of this post has been replaced since it was created or loaded.
+     * Moving the content to a store does not count, since the content stays the same.
+     * @return the content version
+     */
+    public int getContentVersion() {
+        return this.contentVersion;
+    }
+
+    /**
+     * Backs the content of this post by a store instead of keeping it on the heap.
+     * @param store the store holding the content
+     * @param position where the store holds this post's content
+     */
+    public void setLazyContent(PostContentStore store, int position) {
+        this.content = null;
+        this.contentStore = store;
+        this.contentPosition = position;
+    }
+
     public String getCreatorUsername() {
         return this.creatorUsername;
     }
@@ -72,13 +158,77 @@ public abstract class Post {
     }
 
     public void setUpvotes(int upvotes) {
-        this.votes[0] = upvotes;
+        this.votes.updateAndGet(packed -> pack(upvotes, downvotesOf(packed)));
     }
 
     public void setDownvotes(int downvotes) {
-        this.votes[1] = downvotes;
+        this.votes.updateAndGet(packed -> pack(upvotesOf(packed), downvotes));
+    }
+
+    /**
+     * Replaces both vote counts at once.
+     * @param upvotes the number of upvotes
+     * @param downvotes the number of downvotes
+     */
+    public void setVotes(int upvotes, int downvotes) {
+        this.votes.set(pack(upvotes, downvotes));
+    }
+
+    /**
+     * Atomically adds one upvote.
+     * @return the vote counts right after this upvote, as [upvotes, downvotes]
+     */
+    public int[] upvote() {
+        return unpack(this.votes.addAndGet(ONE_UPVOTE));
+    }
+
+    /**
+     * Atomically adds one downvote, unless the post has no more upvotes than downvotes.
+     * @return the vote counts right after this downvote, as [upvotes, downvotes]
+     */
+    public int[] downvote() {
+        return unpack(this.votes.updateAndGet(packed -> {
+            if (upvotesOf(packed) - downvotesOf(packed) >= 1) {
+                return packed + 1;
+            }
+            return packed;
+        }));
+    }
+
+    /**
+     * Raises the vote counts to at least the given totals. Votes are never withdrawn, so a total that was
+     * computed before some newer votes and arrives after them leaves those newer votes in place.
+     * @param upvotes the known number of upvotes
+     * @param downvotes the known number of downvotes
+     * @return the vote counts afterwards, as [upvotes, downvotes]
+     */
+    public int[] advanceVotes(int upvotes, int downvotes) {
+        return unpack(this.votes.updateAndGet(packed -> pack(
+                Math.max(upvotesOf(packed), upvotes), Math.max(downvotesOf(packed), downvotes))));
+    }
+
+    private static long pack(int upvotes, int downvotes) {
+        return (long) upvotes << DOWNVOTE_BITS | downvotes & DOWNVOTE_MASK;
+    }
+
+    private static int upvotesOf(long packed) {
+        return (int) (packed >>> DOWNVOTE_BITS);
     }
 
+    private static int downvotesOf(long packed) {
+        return (int) packed;
+    }
+
+    private static int[] unpack(long packed) {
+        return new int[] {upvotesOf(packed), downvotesOf(packed)};
+    }
+
+    /**
+     * Returns the direct replies to this post.
+     * @return the replies, in the order they were added
+     */
+    public abstract List<ReplyPost> getReplies();
+
     public Post getReferencedPost() {
         return this.referencedPost;
     }
@@ -95,4 +245,20 @@ public abstract class Post {
         return this.referencedPost != null;
     }
 
+    /**
+     * Default allocator that counts up from 1 and forgets its position when the program exits.
+     */
+    private static final class InMemoryIdAllocator implements IdAllocator {
+        private final AtomicLong nextId = new AtomicLong(1);
+
+        @Override
+        public long nextId() {
+            return nextId.getAndIncrement();
+        }
+
+        @Override
+        public void reserve(long id) {
+            nextId.accumulateAndGet(id + 1, Math::max);
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package entities;
+
+/**
+ * Holds post contents outside the heap, e.g. in a memory-mapped snapshot file,
+ * and decodes one when a post's content is actually read.
+ */
+public interface PostContentStore {
+    /**
+     * Decodes the content stored at the given position.
+     * @param position where the content is stored
+     * @return the content
+     */
+    String contentAt(int position);
+}
@@ -0,0 +1,102 @@
+package entities;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Walks reply trees with an explicit stack instead of recursion, so a chain of replies of any depth is walked
+ * in constant call-stack space. Nodes are visited in reading order: each node before its replies, siblings in
+ * list order. Every visit is told the node's parent and depth, and can stop the walk.
+ */
+public final class PostTraversal {
+
+    private PostTraversal() {
+    }
+
+    /**
+     * Receives the nodes of a walk.
+     * @param <T> the type of the nodes
+     */
+    public interface Visitor<T> {
+        /**
+         * Visits one node. The node's children are looked up only after this returns, so the visitor may
+         * reorder them.
+         * @param node the node
+         * @param parent the node's parent, or the parent given for the top-level nodes
+         * @param depth 0 for the top-level nodes, one more for each level below
+         * @return true to go on, false to stop the walk
+         */
+        boolean visit(T node, T parent, int depth);
+    }
+
+    /**
+     * Walks whole threads: each original post, then its replies.
+     * @param threads the original posts
+     * @param visitor receives each post; original posts have no parent
+     * @return false if the visitor stopped the walk, true otherwise
+     */
+    public static boolean walkThreads(List<? extends Post> threads, Visitor<Post> visitor) {
+        return walk(threads, null, Post::getReplies, visitor);
+    }
+
+    /**
+     * Walks the replies below a post, not including the post itself.
+     * @param post the original post or reply whose replies to walk
+     * @param visitor receives each reply; the post's direct replies have the post as parent
+     * @return false if the visitor stopped the walk, true otherwise
+     */
+    public static boolean walkReplies(Post post, Visitor<Post> visitor) {
+        return walk(post.getReplies(), post, Post::getReplies, visitor);
+    }
+
+    /**
+     * Walks any forest in reading order.
+     * @param roots the top-level nodes
+     * @param parent the parent to report for the top-level nodes, may be null
+     * @param children looks up the children of a node
+     * @param visitor receives each node
+     * @param <T> the type of the nodes
+     * @return false if the visitor stopped the walk, true otherwise
+     */
+    public static <T> boolean walk(List<? extends T> roots, T parent,
+                                   Function<? super T, ? extends List<? extends T>> children,
+                                   Visitor<? super T> visitor) {
+        final Deque<Frame<T>> stack = new ArrayDeque<>();
+        stack.push(new Frame<>(roots, parent, 0));
+        while (!stack.isEmpty()) {
+            final Frame<T> frame = stack.peek();
+            if (frame.next == frame.nodes.size()) {
+                stack.pop();
+                continue;
+            }
+            final T node = frame.nodes.get(frame.next++);
+            if (!visitor.visit(node, frame.parent, frame.depth)) {
+                return false;
+            }
+            final List<? extends T> nested = children.apply(node);
+            if (!nested.isEmpty()) {
+                stack.push(new Frame<>(nested, node, frame.depth + 1));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One list of siblings being walked, and how far.
+     * @param <T> the type of the nodes
+     */
+    private static final class Frame<T> {
+        private final List<? extends T> nodes;
+        private final T parent;
+        private final int depth;
+        private int next;
+
+        Frame(List<? extends T> nodes, T parent, int depth) {
+            this.nodes = nodes;
+            this.parent = parent;
+            this.depth = depth;
+        }
+    }
+}
@@ -11,10 +11,24 @@ public class ReplyPost extends Post {
         super(id, username, content, creation_date, upvotes, downvotes);
     }
 
+    /**
+     * Constructor for loading replies whose creation time is kept as epoch milliseconds.
+     * @param id the unique identifier of the reply
+     * @param username the username of the reply creator
+     * @param content the content of the reply
+     * @param creationMillis the creation time, in milliseconds since 1970
+     * @param upvotes the number of upvotes
+     * @param downvotes the number of downvotes
+     */
+    public ReplyPost(long id, String username, String content, long creationMillis, int upvotes, int downvotes) {
+        super(id, username, content, creationMillis, upvotes, downvotes);
+    }
+
     public ReplyPost(String username, String content) {
         super(username, content);
     }
 
+    @Override
     public List<ReplyPost> getReplies() {
         return this.replies;
     }
@@ -1,6 +1,8 @@
 package interface_adapter.browse_posts;
 
 import use_case.browse_posts.BrowsePostsInputBoundary;
+import use_case.browse_posts.BrowsePostsInputData;
+import use_case.browse_posts.SortMode;
 
 /**
  * Controller for the Browse Posts use case.
@@ -25,6 +27,27 @@ public class BrowsePostsController {
         browsePostsInteractor.execute();
     }
 
+    /**
+     * Loads the first page of posts in the given order.
+     *
+     * @param sortMode the order of the feed
+     */
+    public void execute(SortMode sortMode) {
+        browsePostsInteractor.execute(new BrowsePostsInputData(null, BrowsePostsInputData.DEFAULT_PAGE_SIZE,
+                sortMode));
+    }
+
+    /**
+     * Loads the page of posts that follows the ones already shown.
+     *
+     * @param cursor the cursor returned with the previous page
+     * @param sortMode the order the previous page was loaded in
+     */
+    public void loadNextPage(String cursor, SortMode sortMode) {
+        browsePostsInteractor.execute(new BrowsePostsInputData(cursor, BrowsePostsInputData.DEFAULT_PAGE_SIZE,
+                sortMode));
+    }
+
     /**
      * Switches to the create post view.
      */
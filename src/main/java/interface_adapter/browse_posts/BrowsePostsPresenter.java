@@ -1,5 +1,10 @@
 package interface_adapter.browse_posts;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import interface_adapter.ViewManagerModel;
 import interface_adapter.create_post.CreatePostState;
 import interface_adapter.create_post.CreatePostViewModel;
@@ -37,7 +42,26 @@ public class BrowsePostsPresenter implements BrowsePostsOutputBoundary {
     @Override
     public void prepareSuccessView(BrowsePostsOutputData outputData) {
         final BrowsePostsState state = viewModel.getState();
-        state.setPosts(outputData.getPosts());
+        if (outputData.isFirstPage()) {
+            state.setPosts(new ArrayList<>(outputData.getPosts()));
+            state.setPageStart(0);
+        }
+        else {
+            // A post whose score changed since the earlier pages may come round again
+            final List<BrowsePostsOutputData.PostData> posts = new ArrayList<>(state.getPosts());
+            final Set<Long> shownIds = new HashSet<>();
+            for (BrowsePostsOutputData.PostData post : posts) {
+                shownIds.add(post.getId());
+            }
+            state.setPageStart(posts.size());
+            for (BrowsePostsOutputData.PostData post : outputData.getPosts()) {
+                if (shownIds.add(post.getId())) {
+                    posts.add(post);
+                }
+            }
+            state.setPosts(posts);
+        }
+        state.setNextCursor(outputData.getNextCursor());
         state.setErrorMessage(null);
         viewModel.setState(state);
         viewModel.firePropertyChange();
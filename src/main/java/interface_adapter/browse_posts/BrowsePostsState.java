@@ -12,6 +12,8 @@ public class BrowsePostsState {
 
     private List<BrowsePostsOutputData.PostData> posts = new ArrayList<>();
     private String errorMessage;
+    private String nextCursor;
+    private int pageStart;
 
     /**
      * Gets the list of posts.
@@ -48,4 +50,40 @@ public class BrowsePostsState {
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
+
+    /**
+     * Gets the cursor of the next page of the feed.
+     *
+     * @return the cursor, or null if every post has been loaded
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the cursor of the next page of the feed.
+     *
+     * @param nextCursor the cursor, or null if every post has been loaded
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets where the most recently loaded page starts in the list of posts.
+     *
+     * @return the index of the page's first post, 0 after the first page
+     */
+    public int getPageStart() {
+        return pageStart;
+    }
+
+    /**
+     * Sets where the most recently loaded page starts in the list of posts.
+     *
+     * @param pageStart the index of the page's first post
+     */
+    public void setPageStart(int pageStart) {
+        this.pageStart = pageStart;
+    }
 }
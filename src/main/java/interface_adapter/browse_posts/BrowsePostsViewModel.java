@@ -9,6 +9,8 @@ public class BrowsePostsViewModel extends ViewModel<BrowsePostsState> {
 
     public static final String TITLE_LABEL = "Browse Posts";
     public static final String REFRESH_BUTTON_LABEL = "Refresh";
+    public static final String SORT_TOP_LABEL = "Sort: Top";
+    public static final String SORT_HOT_LABEL = "Sort: Hot";
 
     /**
      * Constructs a BrowsePostsViewModel.
@@ -2,22 +2,20 @@ package interface_adapter.edit_post;
 
 import use_case.edit_post.EditPostInputBoundary;
 import use_case.edit_post.EditPostInputData;
-import use_case.edit_post.EditPostInteractor;
 
 public class EditPostController {
 
-    private EditPostInputBoundary editPostInputBoundary;
-    private EditPostInputData editPostInputData;
+    private final EditPostInputBoundary editPostInputBoundary;
 
-    public EditPostController(EditPostInputData editPostInputData) {
-        this.editPostInputData = editPostInputData;
+    public EditPostController(EditPostInputBoundary editPostInputBoundary) {
+        this.editPostInputBoundary = editPostInputBoundary;
     }
 
     /**
      * Executes the Edit Post Use Case.
+     * @param editPostInputData the edit to make
      */
-    public void editPost() {
-        editPostInputBoundary = new EditPostInteractor();
+    public void editPost(EditPostInputData editPostInputData) {
         editPostInputBoundary.editPost(editPostInputData.getContentArea(), editPostInputData.getID(),
                 editPostInputData.getUsername(), editPostInputData.getPostToEdit(),
                 editPostInputData.getNewContent(), editPostInputData.getDialog());
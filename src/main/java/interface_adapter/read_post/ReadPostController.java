@@ -28,4 +28,14 @@ public class ReadPostController {
         final ReadPostInputData inputData = new ReadPostInputData(postId);
         interactor.execute(inputData);
     }
+
+    /**
+     * Loads the next page of replies to one post of a thread.
+     *
+     * @param postId the unique identifier of the thread's original post
+     * @param parentId the unique identifier of the post to load more replies to
+     */
+    public void loadMoreReplies(long postId, long parentId) {
+        interactor.loadMoreReplies(new ReadPostInputData(postId, parentId));
+    }
 }
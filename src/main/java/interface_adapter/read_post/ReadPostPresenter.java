@@ -1,13 +1,20 @@
 package interface_adapter.read_post;
 
+import entities.PostTraversal;
 import use_case.read_post.ReadPostOutputBoundary;
 import use_case.read_post.ReadPostOutputData;
+import use_case.read_post.ReplyPageOutputData;
 
 /**
  * Presenter for the Read Post use case.
  */
 public class ReadPostPresenter implements ReadPostOutputBoundary {
 
+    /**
+     * The property fired when more replies were added to the shown thread.
+     */
+    public static final String REPLIES_LOADED = "repliesLoaded";
+
     private final ReadPostViewModel viewModel;
 
     /**
@@ -29,6 +36,7 @@ public class ReadPostPresenter implements ReadPostOutputBoundary {
         state.setUpvotes(outputData.getUpvotes());
         state.setDownvotes(outputData.getDownvotes());
         state.setReplies(outputData.getReplies());
+        state.setReplyCount(outputData.getReplyCount());
         state.setReferencedPost(outputData.getReferencedPost());
         state.setReferencingPosts(outputData.getReferencingPosts());
         state.setErrorMessage(null);
@@ -37,6 +45,43 @@ public class ReadPostPresenter implements ReadPostOutputBoundary {
         viewModel.firePropertyChanged();
     }
 
+    @Override
+    public void prepareMoreRepliesView(ReplyPageOutputData outputData) {
+        final ReadPostState state = viewModel.getState();
+        if (outputData.getParentId() == state.getId()) {
+            state.setReplyCount(outputData.getReplyCount());
+            state.getReplies().addAll(outputData.getReplies());
+        }
+        else {
+            final ReadPostOutputData.ReplyData parent = findReply(state, outputData.getParentId());
+            if (parent != null) {
+                parent.getNestedReplies().addAll(outputData.getReplies());
+                parent.setReplyCount(outputData.getReplyCount());
+            }
+        }
+        viewModel.firePropertyChange(REPLIES_LOADED);
+    }
+
+    /**
+     * Finds a reply anywhere in the shown thread.
+     *
+     * @param state the state of the shown thread
+     * @param replyId the id of the reply
+     * @return the reply, or null if it is not shown
+     */
+    private static ReadPostOutputData.ReplyData findReply(ReadPostState state, long replyId) {
+        final ReadPostOutputData.ReplyData[] found = new ReadPostOutputData.ReplyData[1];
+        PostTraversal.walk(state.getReplies(), null, ReadPostOutputData.ReplyData::getNestedReplies,
+                (reply, parent, depth) -> {
+                    if (reply.getId() == replyId) {
+                        found[0] = reply;
+                        return false;
+                    }
+                    return true;
+                });
+        return found[0];
+    }
+
     @Override
     public void prepareFailView(String errorMessage) {
         final ReadPostState state = new ReadPostState();
@@ -16,6 +16,7 @@ public class ReadPostState {
     private int upvotes;
     private int downvotes;
     private List<ReadPostOutputData.ReplyData> replies = new ArrayList<>();
+    private int replyCount;
     private ReadPostOutputData.ReferencedPostData referencedPost;
     private List<ReadPostOutputData.ReferencingPostData> referencingPosts = new ArrayList<>();
     private String errorMessage;
@@ -164,6 +165,24 @@ public class ReadPostState {
         this.errorMessage = errorMessage;
     }
 
+    /**
+     * Gets the number of replies to the post, including those not loaded yet.
+     *
+     * @return the reply count
+     */
+    public int getReplyCount() {
+        return replyCount;
+    }
+
+    /**
+     * Sets the number of replies to the post.
+     *
+     * @param replyCount the reply count to set
+     */
+    public void setReplyCount(int replyCount) {
+        this.replyCount = replyCount;
+    }
+
     /**
      * Gets the referenced post data.
      *
@@ -1,6 +1,12 @@
 package interface_adapter.reply_post;
 
+import java.util.List;
+
+import entities.PostTraversal;
+import interface_adapter.read_post.ReadPostState;
 import interface_adapter.read_post.ReadPostViewModel;
+import use_case.read_post.ReadPostOutputData;
+import use_case.read_post.ThreadDelta;
 import use_case.reply_post.ReplyPostOutputBoundary;
 import use_case.reply_post.ReplyPostOutputData;
 
@@ -15,10 +21,51 @@ public class ReplyPostPresenter implements ReplyPostOutputBoundary {
 
     @Override
     public void prepareSuccessView(ReplyPostOutputData replyPostOutputData) {
-        readPostViewModel.getState().setErrorMessage(null);
+        final ReadPostState state = readPostViewModel.getState();
+        final ThreadDelta delta = replyPostOutputData.getDelta();
+        if (delta != null) {
+            addReply(state, delta);
+        }
+        state.setErrorMessage(null);
         readPostViewModel.firePropertyChange(REPLY_SUCCESS);
     }
 
+    /**
+     * Adds a new reply under its parent in the shown thread, unless the parent is not shown or already shows
+     * the reply.
+     * @param state the state of the shown thread
+     * @param delta the new reply and its parent
+     */
+    private void addReply(ReadPostState state, ThreadDelta delta) {
+        if (delta.getParentId() == state.getId()) {
+            if (!shows(state.getReplies(), delta.getReply().getId())) {
+                state.getReplies().add(delta.getReply());
+                state.setReplyCount(state.getReplyCount() + 1);
+            }
+            return;
+        }
+        PostTraversal.walk(state.getReplies(), null, ReadPostOutputData.ReplyData::getNestedReplies,
+                (reply, parent, depth) -> {
+                    if (reply.getId() == delta.getParentId()) {
+                        if (!shows(reply.getNestedReplies(), delta.getReply().getId())) {
+                            reply.getNestedReplies().add(delta.getReply());
+                            reply.setReplyCount(reply.getReplyCount() + 1);
+                        }
+                        return false;
+                    }
+                    return true;
+                });
+    }
+
+    private static boolean shows(List<ReadPostOutputData.ReplyData> replies, long replyId) {
+        for (ReadPostOutputData.ReplyData reply : replies) {
+            if (reply.getId() == replyId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void prepareFailureView(String errorMessage) {
         readPostViewModel.getState().setErrorMessage(errorMessage);
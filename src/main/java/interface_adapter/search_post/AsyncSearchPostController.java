@@ -0,0 +1,120 @@
+package interface_adapter.search_post;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import use_case.browse_posts.BrowsePostsOutputData;
+import use_case.search_post.PostTitleIndex;
+import use_case.search_post.SearchPostInputBoundary;
+import use_case.search_post.SearchPostInputData;
+import use_case.search_post.SearchPostInteractor;
+
+/**
+ * Runs the Search Post use case as the user types, without blocking the event dispatch thread.
+ * A search starts only once typing pauses, runs on a background thread against a title index that is built
+ * once per post list, and is abandoned as soon as a newer keystroke arrives. Only the results of the latest
+ * search are handed to the presenter.
+ */
+public class AsyncSearchPostController {
+    private static final int DEFAULT_DEBOUNCE_MILLIS = 200;
+
+    private final SearchPostInputBoundary searchPostInputBoundary;
+    private final Timer debounceTimer;
+    private final ExecutorService searcher;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicInteger presentedCount = new AtomicInteger();
+
+    // Only touched on the event dispatch thread
+    private SearchPostInputData pendingSearch;
+    private Future<?> runningSearch;
+
+    // Only touched on the search thread
+    private PostTitleIndex titleIndex;
+
+    /**
+     * Creates a controller with the default debounce delay.
+     */
+    public AsyncSearchPostController() {
+        this(new SearchPostInteractor(), DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Creates a controller.
+     * @param searchPostInputBoundary the use case to run
+     * @param debounceMillis how long typing must pause before a search starts
+     */
+    public AsyncSearchPostController(SearchPostInputBoundary searchPostInputBoundary, int debounceMillis) {
+        this.searchPostInputBoundary = searchPostInputBoundary;
+        this.debounceTimer = new Timer(debounceMillis, evt -> startSearch());
+        this.debounceTimer.setRepeats(false);
+        this.searcher = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "post-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Requests a search for the current contents of the search field. Must be called on the event dispatch thread.
+     * @param searchPostInputData the panel to show results in, the browsed posts and the keyword
+     */
+    public void searchPosts(SearchPostInputData searchPostInputData) {
+        pendingSearch = searchPostInputData;
+        // Any search still running is now out of date
+        generation.incrementAndGet();
+        debounceTimer.restart();
+    }
+
+    /**
+     * Builds the title index of a newly browsed post list in the background, ahead of the first search.
+     * @param posts the browsed posts
+     */
+    public void indexPosts(List<BrowsePostsOutputData.PostData> posts) {
+        searcher.execute(() -> titleIndexFor(posts));
+    }
+
+    /**
+     * Returns how many result sets have been handed to the presenter.
+     * @return the number of presented searches
+     */
+    public int getPresentedCount() {
+        return presentedCount.get();
+    }
+
+    private void startSearch() {
+        final SearchPostInputData search = pendingSearch;
+        final long searchGeneration = generation.get();
+        if (runningSearch != null) {
+            runningSearch.cancel(true);
+        }
+        runningSearch = searcher.submit(() -> {
+            final BooleanSupplier cancelled = () -> generation.get() != searchGeneration;
+            final List<BrowsePostsOutputData.PostData> matches = searchPostInputBoundary.findMatches(
+                    titleIndexFor(search.getState().getPosts()), search.getKeyword(), cancelled);
+            if (matches == null || cancelled.getAsBoolean()) {
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (!cancelled.getAsBoolean()) {
+                    searchPostInputBoundary.presentMatches(search.getPanel(), matches);
+                    presentedCount.incrementAndGet();
+                }
+            });
+        });
+    }
+
+    private PostTitleIndex titleIndexFor(List<BrowsePostsOutputData.PostData> posts) {
+        if (titleIndex == null || !titleIndex.isFor(posts)) {
+            titleIndex = new PostTitleIndex(posts);
+        }
+        return titleIndex;
+    }
+}
@@ -1,10 +1,16 @@
 package interface_adapter.upvote_downvote;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import entities.PostTraversal;
 import interface_adapter.read_post.ReadPostState;
 import interface_adapter.read_post.ReadPostViewModel;
 import use_case.read_post.ReadPostOutputData;
+import use_case.read_post.ThreadDelta;
+import use_case.read_post.ThreadProjection;
 import use_case.upvote_downvote.VoteOutputBoundary;
 import use_case.upvote_downvote.VoteOutputData;
 
@@ -25,8 +31,15 @@ public class VotePresenter implements VoteOutputBoundary {
         }
 
         else {
-            updateReplyVote(state.getReplies(), outputData);
-            sortRepliesRecursive(state.getReplies());
+            final ThreadDelta delta = outputData.getDelta();
+            if (delta != null) {
+                // The cached thread has ordered the voted reply's siblings already; only they can move
+                applyVotes(state, delta);
+            }
+            else {
+                updateReplyVote(state.getReplies(), outputData);
+                sortAllReplies(state.getReplies());
+            }
         }
 
         readPostViewModel.setState(state);
@@ -34,22 +47,76 @@ public class VotePresenter implements VoteOutputBoundary {
     }
 
     /**
-     * Recursively sorts replies by (Upvotes - Downvotes) in Descending order.
+     * Sorts replies at every level by (Upvotes - Downvotes) in Descending order.
      * @param replies The replies of the post
      */
-    private void sortRepliesRecursive(List<ReadPostOutputData.ReplyData> replies) {
+    private void sortAllReplies(List<ReadPostOutputData.ReplyData> replies) {
 
-        replies.sort((one, two) -> {
-            final int score1 = one.getUpvotes() - one.getDownvotes();
-            final int score2 = two.getUpvotes() - two.getDownvotes();
-            return score2 - score1;
-        });
+        sortByScore(replies);
 
-        for (ReadPostOutputData.ReplyData reply : replies) {
-            if (!reply.getNestedReplies().isEmpty()) {
-                sortRepliesRecursive(reply.getNestedReplies());
+        // Each reply's nested replies are sorted before the walk descends into them
+        PostTraversal.walk(replies, null, ReadPostOutputData.ReplyData::getNestedReplies,
+                (reply, parent, depth) -> {
+                    sortByScore(reply.getNestedReplies());
+                    return true;
+                });
+    }
+
+    /**
+     * Sorts one list of replies by (Upvotes - Downvotes) in Descending order.
+     * @param replies The replies to sort
+     */
+    private void sortByScore(List<ReadPostOutputData.ReplyData> replies) {
+        replies.sort(ThreadProjection.BY_SCORE);
+    }
+
+    /**
+     * Shows a reply's new votes and puts its siblings in the order the cached thread gave them.
+     * @param state the state of the shown thread
+     * @param delta the voted reply and the order of its siblings
+     */
+    private void applyVotes(ReadPostState state, ThreadDelta delta) {
+        final List<ReadPostOutputData.ReplyData> siblings = siblingsOf(state, delta.getParentId());
+        if (siblings == null) {
+            return;
+        }
+        final Map<Long, Integer> positions = new HashMap<>();
+        final List<Long> order = delta.getSiblingOrder();
+        for (int i = 0; i < order.size(); i++) {
+            positions.put(order.get(i), i);
+        }
+        for (ReadPostOutputData.ReplyData sibling : siblings) {
+            if (sibling.getId() == delta.getReply().getId()) {
+                sibling.setUpvotes(delta.getReply().getUpvotes());
+                sibling.setDownvotes(delta.getReply().getDownvotes());
             }
         }
+        siblings.sort(Comparator.comparingInt(sibling -> positions.getOrDefault(sibling.getId(), order.size())));
+    }
+
+    /**
+     * Finds the shown replies to a post.
+     * @param state the state of the shown thread
+     * @param parentId the id of the original post or of a reply
+     * @return the replies, or null if the post is not shown
+     */
+    private static List<ReadPostOutputData.ReplyData> siblingsOf(ReadPostState state, long parentId) {
+        if (parentId == state.getId()) {
+            return state.getReplies();
+        }
+        final ReadPostOutputData.ReplyData[] found = new ReadPostOutputData.ReplyData[1];
+        PostTraversal.walk(state.getReplies(), null, ReadPostOutputData.ReplyData::getNestedReplies,
+                (reply, parent, depth) -> {
+                    if (reply.getId() == parentId) {
+                        found[0] = reply;
+                        return false;
+                    }
+                    return true;
+                });
+        if (found[0] == null) {
+            return null;
+        }
+        return found[0].getNestedReplies();
     }
 
     @Override
@@ -60,28 +127,21 @@ public class VotePresenter implements VoteOutputBoundary {
     }
 
     /**
-     * Recursive helper to find and update the specific reply in the view state.
+     * Finds and updates the specific reply in the view state.
      * @param replies The replies of the post
      * @param outputData The voting output data
      * @return true if the reply was found and updated, false otherwise.
      */
     private boolean updateReplyVote(List<ReadPostOutputData.ReplyData> replies, VoteOutputData outputData) {
-        for (ReadPostOutputData.ReplyData reply : replies) {
-
-            if (reply.getId() == outputData.getId()) {
-
-                reply.setUpvotes(outputData.getNewUpvotes());
-                reply.setDownvotes(outputData.getNewDownvotes());
-                return true;
-            }
-
-            if (!reply.getNestedReplies().isEmpty()) {
-                final boolean foundInNested = updateReplyVote(reply.getNestedReplies(), outputData);
-                if (foundInNested) {
+        final boolean searchedAll = PostTraversal.walk(replies, null, ReadPostOutputData.ReplyData::getNestedReplies,
+                (reply, parent, depth) -> {
+                    if (reply.getId() == outputData.getId()) {
+                        reply.setUpvotes(outputData.getNewUpvotes());
+                        reply.setDownvotes(outputData.getNewDownvotes());
+                        return false;
+                    }
                     return true;
-                }
-            }
-        }
-        return false;
+                });
+        return !searchedAll;
     }
 }
@@ -14,4 +14,58 @@ public interface BrowsePostsDataAccessInterface {
      * @return a list of all posts
      */
     List<OriginalPost> getAllPosts();
+
+    /**
+     * Gets one page of the browse feed: the highest-scoring posts after a position.
+     * @param after the position to continue after, or null for the first page
+     * @param limit the largest number of posts to return
+     * @return the posts in feed order
+     */
+    default List<OriginalPost> getTopPosts(FeedCursor after, int limit) {
+        return FeedCursor.topAfter(getAllPosts(), after, limit);
+    }
+
+    /**
+     * Gets one page of the hot feed: the posts with the most recent activity after a position.
+     * @param after the position to continue after, or null for the first page
+     * @param limit the largest number of posts to return
+     * @return the posts, hottest first
+     */
+    default List<OriginalPost> getHotPosts(FeedCursor after, int limit) {
+        return FeedCursor.topAfter(getAllPosts(), after, limit, HotScore::position);
+    }
+
+    /**
+     * Gets the position of a post in the hot feed, to continue the feed after it.
+     * @param post an original post
+     * @return the position
+     */
+    default FeedCursor getHotPosition(OriginalPost post) {
+        return HotScore.position(post);
+    }
+
+    /**
+     * Gets the position of a post in the browse feed.
+     * @param postId the id of an original post
+     * @return how many posts come before it, or -1 if there is no such post
+     */
+    default int getRank(long postId) {
+        final List<OriginalPost> posts = getAllPosts();
+        FeedCursor target = null;
+        for (OriginalPost post : posts) {
+            if (post.getId() == postId) {
+                target = FeedCursor.of(post);
+            }
+        }
+        if (target == null) {
+            return -1;
+        }
+        int rank = 0;
+        for (OriginalPost post : posts) {
+            if (FeedCursor.of(post).compareTo(target) < 0) {
+                rank++;
+            }
+        }
+        return rank;
+    }
 }
@@ -6,10 +6,16 @@ package use_case.browse_posts;
 public interface BrowsePostsInputBoundary {
 
     /**
-     * Executes the browse posts use case.
+     * Executes the browse posts use case, loading the first page of the feed.
      */
     void execute();
 
+    /**
+     * Loads one page of the feed.
+     * @param inputData the cursor and size of the page
+     */
+    void execute(BrowsePostsInputData inputData);
+
     /**
      * Switches to the create post view.
      */
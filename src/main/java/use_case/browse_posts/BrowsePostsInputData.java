@@ -0,0 +1,75 @@
+package use_case.browse_posts;
+
+/**
+ * Input Data for the Browse Posts use case: which page of the feed to load.
+ */
+public class BrowsePostsInputData {
+
+    /**
+     * How many posts a page holds unless asked otherwise.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final String cursor;
+    private final int pageSize;
+    private final SortMode sortMode;
+
+    /**
+     * Constructs a BrowsePostsInputData for a page of the top feed of the default size.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     */
+    public BrowsePostsInputData(String cursor) {
+        this(cursor, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Constructs a BrowsePostsInputData for a page of the top feed.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param pageSize the largest number of posts to load
+     */
+    public BrowsePostsInputData(String cursor, int pageSize) {
+        this(cursor, pageSize, SortMode.TOP);
+    }
+
+    /**
+     * Constructs a BrowsePostsInputData.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param pageSize the largest number of posts to load
+     * @param sortMode the order of the feed; cursors only continue the order they came from
+     */
+    public BrowsePostsInputData(String cursor, int pageSize, SortMode sortMode) {
+        this.cursor = cursor;
+        this.pageSize = pageSize;
+        this.sortMode = sortMode;
+    }
+
+    /**
+     * Gets the cursor of the page to load.
+     *
+     * @return the cursor, or null for the first page
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Gets the page size.
+     *
+     * @return the largest number of posts to load
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the order of the feed.
+     *
+     * @return the sort mode
+     */
+    public SortMode getSortMode() {
+        return sortMode;
+    }
+}
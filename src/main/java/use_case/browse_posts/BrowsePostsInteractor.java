@@ -11,10 +11,9 @@ import entities.Post;
  */
 public class BrowsePostsInteractor implements BrowsePostsInputBoundary {
 
-    private static final int CONTENT_PREVIEW_LENGTH = 50;
-
     private final BrowsePostsDataAccessInterface postDataAccess;
     private final BrowsePostsOutputBoundary outputBoundary;
+    private final PostPreviewCache previewCache;
 
     /**
      * Constructs a BrowsePostsInteractor.
@@ -25,21 +24,60 @@ public class BrowsePostsInteractor implements BrowsePostsInputBoundary {
     public BrowsePostsInteractor(
             BrowsePostsDataAccessInterface postDataAccess,
             BrowsePostsOutputBoundary outputBoundary) {
+        this(postDataAccess, outputBoundary, new PostPreviewCache());
+    }
+
+    /**
+     * Constructs a BrowsePostsInteractor that keeps post previews in the given cache.
+     *
+     * @param postDataAccess the data access object for posts
+     * @param outputBoundary the output boundary for presenting results
+     * @param previewCache the cache of post previews
+     */
+    public BrowsePostsInteractor(
+            BrowsePostsDataAccessInterface postDataAccess,
+            BrowsePostsOutputBoundary outputBoundary,
+            PostPreviewCache previewCache) {
         this.postDataAccess = postDataAccess;
         this.outputBoundary = outputBoundary;
+        this.previewCache = previewCache;
     }
 
     @Override
     public void execute() {
+        execute(new BrowsePostsInputData(null));
+    }
+
+    @Override
+    public void execute(BrowsePostsInputData inputData) {
         try {
-            final List<OriginalPost> posts = postDataAccess.getAllPosts();
-            posts.sort((firstPost, secondPost) -> {
-                final int scoreOne = firstPost.getVotes()[0] - firstPost.getVotes()[1];
-                final int scoreTwo = secondPost.getVotes()[0] - secondPost.getVotes()[1];
-                return scoreTwo - scoreOne;
-            });
+            FeedCursor after = null;
+            if (inputData.getCursor() != null) {
+                after = FeedCursor.decode(inputData.getCursor());
+            }
+            final boolean hot = inputData.getSortMode() == SortMode.HOT;
+            // One post more than the page tells whether another page follows
+            List<OriginalPost> posts;
+            if (hot) {
+                posts = postDataAccess.getHotPosts(after, inputData.getPageSize() + 1);
+            }
+            else {
+                posts = postDataAccess.getTopPosts(after, inputData.getPageSize() + 1);
+            }
+            String nextCursor = null;
+            if (posts.size() > inputData.getPageSize()) {
+                posts = posts.subList(0, inputData.getPageSize());
+                final OriginalPost last = posts.get(posts.size() - 1);
+                if (hot) {
+                    nextCursor = postDataAccess.getHotPosition(last).encode();
+                }
+                else {
+                    nextCursor = FeedCursor.of(last).encode();
+                }
+            }
             final List<BrowsePostsOutputData.PostData> postDataList = getPostData(posts);
-            final BrowsePostsOutputData outputData = new BrowsePostsOutputData(postDataList);
+            final BrowsePostsOutputData outputData = new BrowsePostsOutputData(postDataList, nextCursor,
+                    after == null);
             outputBoundary.prepareSuccessView(outputData);
         }
         catch (RuntimeException ex) {
@@ -47,38 +85,27 @@ public class BrowsePostsInteractor implements BrowsePostsInputBoundary {
         }
     }
 
-    private static List<BrowsePostsOutputData.PostData> getPostData(List<OriginalPost> posts) {
-        final List<BrowsePostsOutputData.PostData> postDataList = new ArrayList<>();
+    private List<BrowsePostsOutputData.PostData> getPostData(List<OriginalPost> posts) {
+        final List<BrowsePostsOutputData.PostData> postDataList = new ArrayList<>(posts.size());
         for (OriginalPost post : posts) {
             final int[] votes = post.getVotes();
-
-            final boolean hasReference = post.hasReference();
-            String referencedPostTitle = null;
+            final PostPreviewCache.Preview preview = previewCache.previewOf(post);
+            final Post referencedPost = post.getReferencedPost();
             Long referencedPostId = null;
-            if (hasReference && post.getReferencedPost() != null) {
-                final Post referencedPost = post.getReferencedPost();
+            if (referencedPost != null) {
                 referencedPostId = referencedPost.getId();
-                if (referencedPost instanceof OriginalPost) {
-                    referencedPostTitle = ((OriginalPost) referencedPost).getTitle();
-                }
-                else {
-                    final String content = referencedPost.getContent();
-                    referencedPostTitle = content.length() > CONTENT_PREVIEW_LENGTH
-                            ? content.substring(0, CONTENT_PREVIEW_LENGTH) + "..."
-                            : content;
-                }
             }
 
             final BrowsePostsOutputData.PostData postData = new BrowsePostsOutputData.PostData(
                     post.getId(),
                     post.getTitle(),
-                    post.getContent(),
+                    preview.getContentPreview(),
                     post.getCreatorUsername(),
                     post.getCreationDate(),
                     votes[0],
                     votes[1],
-                    hasReference,
-                    referencedPostTitle,
+                    post.hasReference(),
+                    preview.getReferencedPostTitle(),
                     referencedPostId
             );
             postDataList.add(postData);
@@ -9,14 +9,47 @@ import java.util.List;
 public class BrowsePostsOutputData {
 
     private final List<PostData> posts;
+    private final String nextCursor;
+    private final boolean firstPage;
 
     /**
-     * Constructs the output data with the given list of posts.
+     * Constructs the output data with the given list of posts, as the only page of the feed.
      *
      * @param posts the list of post data
      */
     public BrowsePostsOutputData(List<PostData> posts) {
+        this(posts, null, true);
+    }
+
+    /**
+     * Constructs the output data for one page of the feed.
+     *
+     * @param posts the list of post data
+     * @param nextCursor the cursor of the following page, or null if this is the last page
+     * @param firstPage whether this is the first page, replacing what was shown before
+     */
+    public BrowsePostsOutputData(List<PostData> posts, String nextCursor, boolean firstPage) {
         this.posts = posts;
+        this.nextCursor = nextCursor;
+        this.firstPage = firstPage;
+    }
+
+    /**
+     * Gets the cursor of the following page.
+     *
+     * @return the cursor, or null if no more posts follow
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks whether this is the first page of the feed.
+     *
+     * @return true if the posts replace the shown ones, false if they follow them
+     */
+    public boolean isFirstPage() {
+        return firstPage;
     }
 
     /**
@@ -107,9 +140,9 @@ public class BrowsePostsOutputData {
         }
 
         /**
-         * Gets the post content.
+         * Gets the start of the post content, cut to {@link PostPreviewCache#CONTENT_PREVIEW_LENGTH} characters.
          *
-         * @return the post content
+         * @return the content preview
          */
         public String getContent() {
             return content;
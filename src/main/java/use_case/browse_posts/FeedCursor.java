@@ -0,0 +1,176 @@
+package use_case.browse_posts;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import entities.OriginalPost;
+import entities.Post;
+
+/**
+ * A position in the browse feed, which lists posts by score (upvotes minus downvotes), highest first, and
+ * posts with equal scores by id. Pages pass it on as an opaque token, so a page only needs the posts
+ * after the last one already shown, and nothing before it has to be sorted or copied again.
+ */
+public final class FeedCursor implements Comparable<FeedCursor> {
+    private static final int RADIX = 36;
+    private static final char SEPARATOR = '.';
+
+    private final long score;
+    private final long postId;
+
+    /**
+     * Creates a cursor.
+     * @param score the score of the post at this position
+     * @param postId the id of the post at this position
+     */
+    public FeedCursor(long score, long postId) {
+        this.score = score;
+        this.postId = postId;
+    }
+
+    /**
+     * Gets the score at this position.
+     * @return the upvotes minus the downvotes of the post at this position
+     */
+    public long getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the id of the post at this position.
+     * @return the post id
+     */
+    public long getPostId() {
+        return postId;
+    }
+
+    /**
+     * Returns the position of a post in the feed, given its current votes.
+     * @param post the post
+     * @return the cursor pointing at the post
+     */
+    public static FeedCursor of(Post post) {
+        final int[] votes = post.getVotes();
+        return new FeedCursor((long) votes[0] - votes[1], post.getId());
+    }
+
+    /**
+     * Orders cursors the way the feed lists posts: higher scores first, then lower ids.
+     * @param other another cursor
+     * @return a negative number if this position comes first in the feed
+     */
+    @Override
+    public int compareTo(FeedCursor other) {
+        final int byScore = Long.compare(other.score, score);
+        if (byScore != 0) {
+            return byScore;
+        }
+        return Long.compare(postId, other.postId);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof FeedCursor && compareTo((FeedCursor) other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(score, postId);
+    }
+
+    /**
+     * Encodes the cursor as a token for the next page request.
+     * @return the token
+     */
+    public String encode() {
+        return Long.toString(score, RADIX) + SEPARATOR + Long.toString(postId, RADIX);
+    }
+
+    /**
+     * Decodes a token made by {@link #encode()}.
+     * @param token the token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is not a cursor
+     */
+    public static FeedCursor decode(String token) {
+        final int separator = token.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid feed cursor: " + token);
+        }
+        try {
+            return new FeedCursor(Long.parseLong(token.substring(0, separator), RADIX),
+                    Long.parseLong(token.substring(separator + 1), RADIX));
+        }
+        catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid feed cursor: " + token, ex);
+        }
+    }
+
+    /**
+     * Selects the first posts of the feed after a cursor without sorting all of them: a heap holds the best
+     * {@code limit} posts seen so far, so the cost is O(n log limit).
+     * Scores are read once per post, so votes cast meanwhile cannot break the ordering.
+     * @param posts the posts to choose from, in any order
+     * @param after the position to continue after, or null to start at the top
+     * @param limit the largest number of posts to return
+     * @return the selected posts in feed order
+     */
+    public static List<OriginalPost> topAfter(Iterable<OriginalPost> posts, FeedCursor after, int limit) {
+        return topAfter(posts, after, limit, FeedCursor::of);
+    }
+
+    /**
+     * Selects the first posts of a feed ordered by some other key, as {@link #topAfter(Iterable, FeedCursor, int)}
+     * does for the score.
+     * @param posts the posts to choose from, in any order
+     * @param after the position to continue after, or null to start at the top
+     * @param limit the largest number of posts to return
+     * @param positions gives the position of a post in the feed
+     * @return the selected posts in feed order
+     */
+    public static List<OriginalPost> topAfter(Iterable<OriginalPost> posts, FeedCursor after, int limit,
+                                              Function<OriginalPost, FeedCursor> positions) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        // The head is the worst of the posts kept so far, the first one to go when a better post turns up
+        final PriorityQueue<Entry> best = new PriorityQueue<>(limit,
+                (first, second) -> second.position.compareTo(first.position));
+        for (OriginalPost post : posts) {
+            final FeedCursor position = positions.apply(post);
+            if (after != null && position.compareTo(after) <= 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Entry(position, post));
+            }
+            else if (position.compareTo(best.peek().position) < 0) {
+                best.poll();
+                best.add(new Entry(position, post));
+            }
+        }
+        final List<OriginalPost> top = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            top.add(best.poll().post);
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    /**
+     * A post with the position it had when it was selected.
+     */
+    private static final class Entry {
+        private final FeedCursor position;
+        private final OriginalPost post;
+
+        Entry(FeedCursor position, OriginalPost post) {
+            this.position = position;
+            this.post = post;
+        }
+    }
+}
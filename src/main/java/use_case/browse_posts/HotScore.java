@@ -0,0 +1,122 @@
+package use_case.browse_posts;
+
+import entities.OriginalPost;
+import entities.PostTraversal;
+
+/**
+ * The "hot" ranking of the browse feed. A post's activity is the sum of its events, the post itself,
+ * each vote and each reply, every one of them halving in weight each {@link #HALF_LIFE_MILLIS}. Because all
+ * posts decay at the same rate, ranking by decayed activity now is the same as ranking by
+ * log2(sum of weight * 2^(event time / half-life)), which never changes as time passes: a post's hot score
+ * only moves when a vote or reply arrives, by one {@link #add} step, and nothing is ever recomputed across
+ * all posts. Time is counted in half-lives since {@link #EPOCH_MILLIS} so the numbers stay small.
+ */
+public final class HotScore {
+    /**
+     * The start of the time scale, 2025-01-01T00:00:00Z.
+     */
+    public static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+    /**
+     * How long it takes an event to lose half its weight.
+     */
+    public static final long HALF_LIFE_MILLIS = 12L * 60 * 60 * 1000;
+
+    /**
+     * The weight of a vote; a downvote takes this weight away.
+     */
+    public static final double VOTE_WEIGHT = 1.0;
+
+    /**
+     * The weight of a reply anywhere in the thread.
+     */
+    public static final double REPLY_WEIGHT = 2.0;
+
+    private static final double POST_WEIGHT = 1.0;
+    // Downvotes can take a post's activity down to this share of a fresh post's, never below
+    private static final double MIN_ACTIVITY = 0.25;
+    private static final double KEY_SCALE = 1e9;
+
+    private HotScore() {
+    }
+
+    /**
+     * Converts a time to half-lives since the epoch.
+     * @param atMillis the time in milliseconds since 1970
+     * @return the time in half-lives since {@link #EPOCH_MILLIS}
+     */
+    public static double halfLives(long atMillis) {
+        return (atMillis - EPOCH_MILLIS) / (double) HALF_LIFE_MILLIS;
+    }
+
+    /**
+     * Computes the hot score of a post from scratch. Votes carry no time, so they count as cast when the
+     * post was created; replies count from their own creation dates.
+     * @param post the post
+     * @return the hot score
+     */
+    public static double of(OriginalPost post) {
+        final double created = halfLives(post.getCreationMillis());
+        final int[] votes = post.getVotes();
+        final double[] hot = {add(created + log2(POST_WEIGHT), created, VOTE_WEIGHT * (votes[0] - votes[1]), created)};
+        PostTraversal.walkReplies(post, (reply, parent, depth) -> {
+            hot[0] = add(hot[0], created, REPLY_WEIGHT, halfLives(reply.getCreationMillis()));
+            return true;
+        });
+        return hot[0];
+    }
+
+    /**
+     * Adds one event to a hot score.
+     * @param hot the current hot score
+     * @param created the post's creation time, in half-lives
+     * @param weight the weight of the event, negative to take activity away
+     * @param at the time of the event, in half-lives
+     * @return the new hot score
+     */
+    public static double add(double hot, double created, double weight, double at) {
+        // log2(2^hot + weight * 2^at), computed without leaving the logarithmic scale so nothing overflows
+        final double floor = created + log2(MIN_ACTIVITY * POST_WEIGHT);
+        final double next;
+        if (weight > 0) {
+            final double event = at + log2(weight);
+            final double high = Math.max(hot, event);
+            next = high + log2(1 + Math.pow(2, Math.min(hot, event) - high));
+        }
+        else if (weight < 0) {
+            final double event = at + log2(-weight);
+            if (event >= hot) {
+                next = floor;
+            }
+            else {
+                next = hot + log2(1 - Math.pow(2, event - hot));
+            }
+        }
+        else {
+            next = hot;
+        }
+        return Math.max(next, floor);
+    }
+
+    /**
+     * Returns the position of a post in the hot feed, computing its score from scratch.
+     * @param post the post
+     * @return the position
+     */
+    public static FeedCursor position(OriginalPost post) {
+        return new FeedCursor(toKey(of(post)), post.getId());
+    }
+
+    /**
+     * Turns a hot score into the integer key the feed is ordered by.
+     * @param hot the hot score
+     * @return the key, ordered like the scores
+     */
+    public static long toKey(double hot) {
+        return Math.round(hot * KEY_SCALE);
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
@@ -0,0 +1,166 @@
+package use_case.browse_posts;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import entities.OriginalPost;
+import entities.Post;
+
+/**
+ * The short form of posts the browse feed shows: the start of the content and a one-line summary of the
+ * referenced post. Previews are cut once per post and kept, so scrolling back over a page or reloading it
+ * copies no content, and a feed page holds a few hundred characters per post however long the posts are.
+ * A preview is recut when its post or the referenced post is edited or replaced; the least recently shown
+ * previews are dropped once the cache is full.
+ */
+public class PostPreviewCache {
+
+    /**
+     * How many characters of a post's content its preview keeps.
+     */
+    public static final int CONTENT_PREVIEW_LENGTH = 200;
+
+    /**
+     * How many characters of a referenced reply's content the reference summary keeps.
+     */
+    public static final int REFERENCE_PREVIEW_LENGTH = 50;
+
+    /**
+     * How many previews the cache keeps unless asked otherwise.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private static final String ELLIPSIS = "...";
+
+    private final Map<Long, Preview> previewsById;
+
+    /**
+     * Constructs a PostPreviewCache of the default capacity.
+     */
+    public PostPreviewCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a PostPreviewCache.
+     *
+     * @param capacity the largest number of previews to keep
+     */
+    public PostPreviewCache(int capacity) {
+        this.previewsById = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Preview> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the preview of a post, cutting it only if the post is not cached or has changed since.
+     *
+     * @param post the post
+     * @return the preview
+     */
+    public synchronized Preview previewOf(OriginalPost post) {
+        final Preview cached = previewsById.get(post.getId());
+        if (cached != null && cached.isCurrentFor(post)) {
+            return cached;
+        }
+        final Preview preview = new Preview(post);
+        previewsById.put(post.getId(), preview);
+        return preview;
+    }
+
+    /**
+     * Drops the preview of a post.
+     *
+     * @param postId the id of the post
+     */
+    public synchronized void invalidate(long postId) {
+        previewsById.remove(postId);
+    }
+
+    /**
+     * Gets the number of cached previews.
+     *
+     * @return the number of previews
+     */
+    public synchronized int size() {
+        return previewsById.size();
+    }
+
+    /**
+     * Cuts text to a length, adding an ellipsis if anything was cut. Never splits a surrogate pair.
+     *
+     * @param text the text
+     * @param length the largest number of characters to keep
+     * @return the text itself if it is short enough, otherwise its start followed by an ellipsis
+     */
+    public static String truncate(String text, int length) {
+        if (text.length() <= length) {
+            return text;
+        }
+        int end = length;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end) + ELLIPSIS;
+    }
+
+    /**
+     * The preview of one post, with the posts and content versions it was cut from.
+     */
+    public static final class Preview {
+        private final Post source;
+        private final int sourceVersion;
+        private final Post referenced;
+        private final int referencedVersion;
+        private final String contentPreview;
+        private final String referencedPostTitle;
+
+        Preview(OriginalPost post) {
+            this.source = post;
+            this.sourceVersion = post.getContentVersion();
+            this.contentPreview = truncate(post.getContent(), CONTENT_PREVIEW_LENGTH);
+            this.referenced = post.getReferencedPost();
+            if (referenced == null) {
+                this.referencedVersion = 0;
+                this.referencedPostTitle = null;
+            }
+            else {
+                this.referencedVersion = referenced.getContentVersion();
+                if (referenced instanceof OriginalPost) {
+                    this.referencedPostTitle = ((OriginalPost) referenced).getTitle();
+                }
+                else {
+                    this.referencedPostTitle = truncate(referenced.getContent(), REFERENCE_PREVIEW_LENGTH);
+                }
+            }
+        }
+
+        boolean isCurrentFor(OriginalPost post) {
+            // Reloaded posts are new objects whose versions start over, so identity is checked as well
+            return source == post && sourceVersion == post.getContentVersion()
+                    && referenced == post.getReferencedPost()
+                    && (referenced == null || referencedVersion == referenced.getContentVersion());
+        }
+
+        /**
+         * Gets the start of the post's content.
+         *
+         * @return the content preview
+         */
+        public String getContentPreview() {
+            return contentPreview;
+        }
+
+        /**
+         * Gets the summary of the referenced post: its title, or the start of its content for a reply.
+         *
+         * @return the summary, or null if the post references nothing
+         */
+        public String getReferencedPostTitle() {
+            return referencedPostTitle;
+        }
+    }
+}
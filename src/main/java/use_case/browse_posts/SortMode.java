@@ -0,0 +1,16 @@
+package use_case.browse_posts;
+
+/**
+ * The orders the browse feed can list posts in.
+ */
+public enum SortMode {
+    /**
+     * Highest score (upvotes minus downvotes) first.
+     */
+    TOP,
+
+    /**
+     * Most recent activity first: votes and replies count for less the older they are.
+     */
+    HOT
+}
@@ -0,0 +1,13 @@
+package use_case.edit_post;
+
+/**
+ * The DAO interface for the Edit Post use case.
+ */
+public interface EditPostDataAccessInterface {
+    /**
+     * Replaces the content of a post or reply.
+     * @param id the id of the post
+     * @param contentNew the new content
+     */
+    void editPostContent(long id, String contentNew);
+}
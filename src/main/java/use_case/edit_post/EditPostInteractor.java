@@ -2,23 +2,29 @@ package use_case.edit_post;
 
 import javax.swing.*;
 
-import data_access.FilePostDataAccessObject;
 import interface_adapter.edit_post.EditPostPresenter;
 import interface_adapter.read_post.ReadPostState;
 
 public class EditPostInteractor implements EditPostInputBoundary {
 
+    private final EditPostDataAccessInterface postDataAccess;
     private EditPostOutputBoundary editPostOutputBoundary;
 
+    /**
+     * Constructs an EditPostInteractor.
+     * @param postDataAccess the storage the edited content is saved to
+     */
+    public EditPostInteractor(EditPostDataAccessInterface postDataAccess) {
+        this.postDataAccess = postDataAccess;
+    }
+
     @Override
     public void editPost(JTextArea contentArea, long id, String username, ReadPostState postToEdit, String contentNew,
                          JDialog dialog) {
         if (postToEdit.getUsername().equals(username) && contentNew.length() > 0) {
             postToEdit.setContent(contentNew);
             contentArea.setText(contentNew);
-
-            final FilePostDataAccessObject dao = new FilePostDataAccessObject("posts.json");
-            dao.editPostContent(id, contentNew);
+            postDataAccess.editPostContent(id, contentNew);
         }
 
         final EditPostOutputData editPostOutputData = new EditPostOutputData(postToEdit);
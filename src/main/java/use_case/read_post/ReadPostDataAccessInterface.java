@@ -1,5 +1,6 @@
 package use_case.read_post;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import entities.OriginalPost;
@@ -22,4 +23,20 @@ public interface ReadPostDataAccessInterface {
      * @return list of all original posts
      */
     List<OriginalPost> getAllPosts();
+
+    /**
+     * Gets the posts that reference the post with the given ID.
+     * Storages that keep backlinks should override this instead of scanning every post.
+     * @param id the unique identifier of the referenced post
+     * @return the referencing posts, empty if there are none
+     */
+    default List<Post> getReferencingPosts(long id) {
+        final List<Post> referencingPosts = new ArrayList<>();
+        for (OriginalPost post : getAllPosts()) {
+            if (post.hasReference() && post.getReferencedPost().getId() == id) {
+                referencingPosts.add(post);
+            }
+        }
+        return referencingPosts;
+    }
 }
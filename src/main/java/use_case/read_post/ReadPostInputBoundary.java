@@ -10,4 +10,11 @@ public interface ReadPostInputBoundary {
      * @param inputData the input data containing the post identifier
      */
     void execute(ReadPostInputData inputData);
+
+    /**
+     * Loads the next page of replies to one post of a thread: more replies to the original post, more replies
+     * to a reply, or the continuation of a thread below the depth loaded so far.
+     * @param inputData the input data containing the thread's post identifier and the parent's identifier
+     */
+    void loadMoreReplies(ReadPostInputData inputData);
 }
@@ -6,6 +6,7 @@ package use_case.read_post;
 public class ReadPostInputData {
 
     private final long postId;
+    private final long parentId;
 
     /**
      * Constructs a ReadPostInputData.
@@ -13,7 +14,18 @@ public class ReadPostInputData {
      * @param postId the ID of the post to read
      */
     public ReadPostInputData(long postId) {
+        this(postId, postId);
+    }
+
+    /**
+     * Constructs a ReadPostInputData for loading more replies to one post of a thread.
+     *
+     * @param postId the ID of the thread's original post
+     * @param parentId the ID of the post to load more replies to, the original post or one of its replies
+     */
+    public ReadPostInputData(long postId, long parentId) {
         this.postId = postId;
+        this.parentId = parentId;
     }
 
     /**
@@ -24,4 +36,13 @@ public class ReadPostInputData {
     public long getPostId() {
         return postId;
     }
+
+    /**
+     * Gets the ID of the post to load more replies to.
+     *
+     * @return the parent ID, the post ID unless given otherwise
+     */
+    public long getParentId() {
+        return parentId;
+    }
 }
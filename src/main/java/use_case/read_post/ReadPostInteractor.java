@@ -5,7 +5,6 @@ import java.util.List;
 
 import entities.OriginalPost;
 import entities.Post;
-import entities.ReplyPost;
 
 /**
  * Interactor for the Read Post use case.
@@ -14,6 +13,7 @@ public class ReadPostInteractor implements ReadPostInputBoundary {
 
     private final ReadPostDataAccessInterface postDataAccess;
     private final ReadPostOutputBoundary outputBoundary;
+    private final ThreadProjectionCache threadProjections;
 
     /**
      * Constructs a ReadPostInteractor.
@@ -23,8 +23,22 @@ public class ReadPostInteractor implements ReadPostInputBoundary {
      */
     public ReadPostInteractor(ReadPostDataAccessInterface postDataAccess,
                              ReadPostOutputBoundary outputBoundary) {
+        this(postDataAccess, outputBoundary, new ThreadProjectionCache());
+    }
+
+    /**
+     * Constructs a ReadPostInteractor that shows threads from the given projections.
+     *
+     * @param postDataAccess the data access object for posts
+     * @param outputBoundary the output boundary for presenting results
+     * @param threadProjections the projections of open threads, shared with the use cases that change them
+     */
+    public ReadPostInteractor(ReadPostDataAccessInterface postDataAccess,
+                             ReadPostOutputBoundary outputBoundary,
+                             ThreadProjectionCache threadProjections) {
         this.postDataAccess = postDataAccess;
         this.outputBoundary = outputBoundary;
+        this.threadProjections = threadProjections;
     }
 
     @Override
@@ -39,7 +53,7 @@ public class ReadPostInteractor implements ReadPostInputBoundary {
 
             final OriginalPost originalPost = (OriginalPost) post;
             final int[] votes = post.getVotes();
-            final List<ReadPostOutputData.ReplyData> replyDataList = convertReplies(originalPost.getReplies());
+            final ThreadProjection projection = threadProjections.projectionOf(originalPost);
 
             final ReadPostOutputData.ReferencedPostData referencedPostData = getReferencedPostData(originalPost);
             final List<ReadPostOutputData.ReferencingPostData> referencingPosts = findReferencingPosts(originalPost);
@@ -51,9 +65,10 @@ public class ReadPostInteractor implements ReadPostInputBoundary {
                     originalPost.getCreatorUsername(),
                     votes[0],
                     votes[1],
-                    replyDataList,
+                    projection.getReplies(),
                     referencedPostData,
-                    referencingPosts
+                    referencingPosts,
+                    projection.getReplyCount()
             );
 
             outputBoundary.prepareSuccessView(outputData);
@@ -63,6 +78,27 @@ public class ReadPostInteractor implements ReadPostInputBoundary {
         }
     }
 
+    @Override
+    public void loadMoreReplies(ReadPostInputData inputData) {
+        try {
+            final Post post = postDataAccess.getPostById(inputData.getPostId());
+            if (!(post instanceof OriginalPost)) {
+                outputBoundary.prepareFailView("Post not found with ID: " + inputData.getPostId());
+                return;
+            }
+            final ReplyPageOutputData page = threadProjections.loadMore((OriginalPost) post,
+                    inputData.getParentId());
+            if (page == null) {
+                outputBoundary.prepareFailView("Reply not found with ID: " + inputData.getParentId());
+                return;
+            }
+            outputBoundary.prepareMoreRepliesView(page);
+        }
+        catch (RuntimeException ex) {
+            outputBoundary.prepareFailView("Failed to load replies: " + ex.getMessage());
+        }
+    }
+
     private ReadPostOutputData.ReferencedPostData getReferencedPostData(OriginalPost originalPost) {
         ReadPostOutputData.ReferencedPostData referencedPostData = null;
         if (originalPost.hasReference()) {
@@ -84,18 +120,16 @@ public class ReadPostInteractor implements ReadPostInputBoundary {
     private List<ReadPostOutputData.ReferencingPostData> findReferencingPosts(OriginalPost originalPost) {
         final List<ReadPostOutputData.ReferencingPostData> referencingPosts = new ArrayList<>();
         try {
-            final List<OriginalPost> allPosts = postDataAccess.getAllPosts();
-            for (OriginalPost otherPost : allPosts) {
-                if (otherPost.hasReference() && otherPost.getReferencedPost() != null) {
-                    final Post referencedPost = otherPost.getReferencedPost();
-                    if (referencedPost.getId() == originalPost.getId()) {
-                        referencingPosts.add(new ReadPostOutputData.ReferencingPostData(
-                                otherPost.getId(),
-                                otherPost.getTitle(),
-                                otherPost.getContent(),
-                                otherPost.getCreatorUsername()
-                        ));
-                    }
+            for (Post otherPost : postDataAccess.getReferencingPosts(originalPost.getId())) {
+                // Only original posts can be opened from the read-post screen
+                if (otherPost instanceof OriginalPost) {
+                    final OriginalPost referencingPost = (OriginalPost) otherPost;
+                    referencingPosts.add(new ReadPostOutputData.ReferencingPostData(
+                            referencingPost.getId(),
+                            referencingPost.getTitle(),
+                            referencingPost.getContent(),
+                            referencingPost.getCreatorUsername()
+                    ));
                 }
             }
         }
@@ -104,32 +138,4 @@ public class ReadPostInteractor implements ReadPostInputBoundary {
         }
         return referencingPosts;
     }
-
-    /**
-     * Recursively converts ReplyPost entities to ReplyData objects.
-     *
-     * @param replies the list of reply posts
-     * @return the converted list of reply data
-     */
-    private List<ReadPostOutputData.ReplyData> convertReplies(List<ReplyPost> replies) {
-        final List<ReadPostOutputData.ReplyData> replyDataList = new ArrayList<>();
-
-        for (ReplyPost reply : replies) {
-            final int[] votes = reply.getVotes();
-            final List<ReadPostOutputData.ReplyData> nestedReplies = convertReplies(reply.getReplies());
-
-            final ReadPostOutputData.ReplyData replyData = new ReadPostOutputData.ReplyData(
-                    reply.getId(),
-                    reply.getCreatorUsername(),
-                    reply.getContent(),
-                    votes[0],
-                    votes[1],
-                    nestedReplies
-            );
-
-            replyDataList.add(replyData);
-        }
-
-        return replyDataList;
-    }
 }
@@ -11,6 +11,12 @@ public interface ReadPostOutputBoundary {
      */
     void prepareSuccessView(ReadPostOutputData outputData);
 
+    /**
+     * Prepares the view for a further page of replies to one post of the shown thread.
+     * @param outputData the output data containing the new replies
+     */
+    void prepareMoreRepliesView(ReplyPageOutputData outputData);
+
     /**
      * Prepares the fail view with an error message.
      * @param errorMessage the error message to display
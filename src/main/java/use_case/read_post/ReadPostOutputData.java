@@ -16,6 +16,7 @@ public class ReadPostOutputData {
     private final List<ReplyData> replies;
     private final ReferencedPostData referencedPost;
     private final List<ReferencingPostData> referencingPosts;
+    private final int replyCount;
 
     /**
      * Constructs output data without reference information.
@@ -67,6 +68,28 @@ public class ReadPostOutputData {
     public ReadPostOutputData(long id, String title, String content, String username,
                               int upvotes, int downvotes, List<ReplyData> replies,
                               ReferencedPostData referencedPost, List<ReferencingPostData> referencingPosts) {
+        this(id, title, content, username, upvotes, downvotes, replies, referencedPost, referencingPosts,
+                replies.size());
+    }
+
+    /**
+     * Constructs output data for a post whose replies are only partly loaded.
+     *
+     * @param id the post ID
+     * @param title the post title
+     * @param content the post content
+     * @param username the author's username
+     * @param upvotes the number of upvotes
+     * @param downvotes the number of downvotes
+     * @param replies the loaded replies
+     * @param referencedPost the referenced post data
+     * @param referencingPosts the list of posts that reference this post
+     * @param replyCount the number of replies to the post, loaded or not
+     */
+    public ReadPostOutputData(long id, String title, String content, String username,
+                              int upvotes, int downvotes, List<ReplyData> replies,
+                              ReferencedPostData referencedPost, List<ReferencingPostData> referencingPosts,
+                              int replyCount) {
         this.id = id;
         this.title = title;
         this.content = content;
@@ -76,6 +99,7 @@ public class ReadPostOutputData {
         this.replies = replies;
         this.referencedPost = referencedPost;
         this.referencingPosts = referencingPosts;
+        this.replyCount = replyCount;
     }
 
     /**
@@ -141,6 +165,15 @@ public class ReadPostOutputData {
         return replies;
     }
 
+    /**
+     * Gets the number of replies to the post, including those not loaded yet.
+     *
+     * @return the reply count
+     */
+    public int getReplyCount() {
+        return replyCount;
+    }
+
     /**
      * Gets the referenced post data.
      *
@@ -169,6 +202,7 @@ public class ReadPostOutputData {
         private int upvotes;
         private int downvotes;
         private final List<ReplyData> nestedReplies;
+        private int replyCount;
 
         /**
          * Constructs a ReplyData.
@@ -182,12 +216,29 @@ public class ReadPostOutputData {
          */
         public ReplyData(long id, String username, String content, int upvotes, int downvotes,
                         List<ReplyData> nestedReplies) {
+            this(id, username, content, upvotes, downvotes, nestedReplies, nestedReplies.size());
+        }
+
+        /**
+         * Constructs a ReplyData whose nested replies are only partly loaded.
+         *
+         * @param id the reply ID
+         * @param username the author's username
+         * @param content the reply content
+         * @param upvotes the number of upvotes
+         * @param downvotes the number of downvotes
+         * @param nestedReplies the loaded nested replies
+         * @param replyCount the number of replies to this reply, loaded or not
+         */
+        public ReplyData(long id, String username, String content, int upvotes, int downvotes,
+                        List<ReplyData> nestedReplies, int replyCount) {
             this.id = id;
             this.username = username;
             this.content = content;
             this.upvotes = upvotes;
             this.downvotes = downvotes;
             this.nestedReplies = nestedReplies;
+            this.replyCount = replyCount;
         }
 
         /**
@@ -244,6 +295,24 @@ public class ReadPostOutputData {
             return nestedReplies;
         }
 
+        /**
+         * Gets the number of replies to this reply, including those not loaded yet.
+         *
+         * @return the reply count
+         */
+        public int getReplyCount() {
+            return replyCount;
+        }
+
+        /**
+         * Sets the number of replies to this reply.
+         *
+         * @param replyCount the new reply count
+         */
+        public void setReplyCount(int replyCount) {
+            this.replyCount = replyCount;
+        }
+
         /**
          * Sets the number of upvotes.
          *
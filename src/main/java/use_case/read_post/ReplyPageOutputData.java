@@ -0,0 +1,52 @@
+package use_case.read_post;
+
+import java.util.List;
+
+/**
+ * Output Data for loading more replies to one post of a thread.
+ */
+public class ReplyPageOutputData {
+    private final long parentId;
+    private final List<ReadPostOutputData.ReplyData> replies;
+    private final int replyCount;
+
+    /**
+     * Constructs a ReplyPageOutputData.
+     *
+     * @param parentId the id of the post the replies answer
+     * @param replies the newly loaded replies, each with its own first page of nested replies
+     * @param replyCount the number of replies to the parent, loaded or not
+     */
+    public ReplyPageOutputData(long parentId, List<ReadPostOutputData.ReplyData> replies, int replyCount) {
+        this.parentId = parentId;
+        this.replies = replies;
+        this.replyCount = replyCount;
+    }
+
+    /**
+     * Gets the id of the post the replies answer.
+     *
+     * @return the parent id
+     */
+    public long getParentId() {
+        return parentId;
+    }
+
+    /**
+     * Gets the newly loaded replies.
+     *
+     * @return the replies
+     */
+    public List<ReadPostOutputData.ReplyData> getReplies() {
+        return replies;
+    }
+
+    /**
+     * Gets the number of replies to the parent, including those still not loaded.
+     *
+     * @return the reply count
+     */
+    public int getReplyCount() {
+        return replyCount;
+    }
+}
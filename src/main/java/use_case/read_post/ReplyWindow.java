@@ -0,0 +1,79 @@
+package use_case.read_post;
+
+/**
+ * How much of a thread the read-post screen loads at a time: a page of replies to the post, a smaller page of
+ * replies to each reply, and only so many levels down. The rest is loaded on demand, a page of replies to one
+ * post at a time, so a thread of any size opens in bounded time and memory.
+ */
+public class ReplyWindow {
+
+    /**
+     * How many replies to the original post a page holds unless asked otherwise.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * How many replies to a reply a page holds unless asked otherwise.
+     */
+    public static final int DEFAULT_NESTED_PAGE_SIZE = 5;
+
+    /**
+     * How many levels of replies a page reaches unless asked otherwise.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 4;
+
+    private final int pageSize;
+    private final int nestedPageSize;
+    private final int maxDepth;
+
+    /**
+     * Constructs a ReplyWindow with the default sizes.
+     */
+    public ReplyWindow() {
+        this(DEFAULT_PAGE_SIZE, DEFAULT_NESTED_PAGE_SIZE, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Constructs a ReplyWindow.
+     *
+     * @param pageSize the largest number of replies to the original post to load at a time
+     * @param nestedPageSize the largest number of replies to a reply to load at a time
+     * @param maxDepth how many levels of replies to load below the post a page is loaded for
+     * @throws IllegalArgumentException if a size is not positive
+     */
+    public ReplyWindow(int pageSize, int nestedPageSize, int maxDepth) {
+        if (pageSize < 1 || nestedPageSize < 1 || maxDepth < 1) {
+            throw new IllegalArgumentException("Reply window sizes must be positive");
+        }
+        this.pageSize = pageSize;
+        this.nestedPageSize = nestedPageSize;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Gets the page size for replies to the original post.
+     *
+     * @return the page size
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the page size for replies to a reply.
+     *
+     * @return the nested page size
+     */
+    public int getNestedPageSize() {
+        return nestedPageSize;
+    }
+
+    /**
+     * Gets how many levels of replies a page reaches.
+     *
+     * @return the depth limit
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+}
@@ -0,0 +1,56 @@
+package use_case.read_post;
+
+import java.util.List;
+
+/**
+ * One change to a thread on the read-post screen: a reply that was added or whose votes changed. Presenters
+ * apply it to the thread they are showing instead of being handed the whole thread again. A delta shares
+ * nothing with the cached thread, so applying it never changes the cache.
+ */
+public class ThreadDelta {
+    private final long parentId;
+    private final ReadPostOutputData.ReplyData reply;
+    private final List<Long> siblingOrder;
+
+    /**
+     * Constructs a ThreadDelta.
+     *
+     * @param parentId the id of the post the reply answers, the original post for a top-level reply
+     * @param reply the reply as it should now be shown, without its nested replies
+     * @param siblingOrder the ids of the replies to the same parent in the order the cached thread shows them,
+     *                     or null if the thread is not cached
+     */
+    public ThreadDelta(long parentId, ReadPostOutputData.ReplyData reply, List<Long> siblingOrder) {
+        this.parentId = parentId;
+        this.reply = reply;
+        this.siblingOrder = siblingOrder;
+    }
+
+    /**
+     * Gets the id of the post the reply answers.
+     *
+     * @return the parent id
+     */
+    public long getParentId() {
+        return parentId;
+    }
+
+    /**
+     * Gets the changed reply.
+     *
+     * @return the reply
+     */
+    public ReadPostOutputData.ReplyData getReply() {
+        return reply;
+    }
+
+    /**
+     * Gets the ids of the replies to the same parent, the reply included, in the order the cached thread
+     * shows them.
+     *
+     * @return the ids, or null if the thread is not cached
+     */
+    public List<Long> getSiblingOrder() {
+        return siblingOrder;
+    }
+}
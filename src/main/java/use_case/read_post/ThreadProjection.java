@@ -0,0 +1,324 @@
+package use_case.read_post;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.PostTraversal;
+import entities.ReplyPost;
+
+/**
+ * The replies of one thread as the read-post screen shows them. The projection is built when the thread is
+ * first opened and then patched one reply at a time as replies are written and votes cast, so reopening the
+ * thread or reacting to a vote never rebuilds it. Only a {@link ReplyWindow} of the thread is projected at
+ * first; further pages of replies to any post are projected when asked for.
+ *
+ * <p>The projection owns its replies: readers are handed copies and deltas, and a vote reorders the voted
+ * reply's siblings here, so whatever a presenter does to what it was given never reaches the cache.</p>
+ */
+public class ThreadProjection {
+
+    /**
+     * Orders replies by score, upvotes minus downvotes, highest first.
+     */
+    public static final Comparator<ReadPostOutputData.ReplyData> BY_SCORE =
+            Comparator.<ReadPostOutputData.ReplyData>comparingLong(
+                    reply -> (long) reply.getUpvotes() - reply.getDownvotes()).reversed();
+
+    private final OriginalPost root;
+    private final ReplyWindow window;
+    private final List<ReadPostOutputData.ReplyData> replies = new ArrayList<>();
+    private final Node rootNode;
+    private final Map<Long, Node> nodesById = new HashMap<>();
+
+    /**
+     * Builds the projection of the first window of a thread, with the default window sizes.
+     *
+     * @param root the original post of the thread
+     */
+    public ThreadProjection(OriginalPost root) {
+        this(root, new ReplyWindow());
+    }
+
+    /**
+     * Builds the projection of the first window of a thread.
+     *
+     * @param root the original post of the thread
+     * @param window how much of the thread to project at a time
+     */
+    public ThreadProjection(OriginalPost root, ReplyWindow window) {
+        this.root = root;
+        this.window = window;
+        this.rootNode = new Node(root, null, root.getId(), null, replies);
+        nodesById.put(root.getId(), rootNode);
+        expand(rootNode);
+    }
+
+    /**
+     * Projects a single reply, leaving its nested replies list empty for the caller to fill.
+     *
+     * @param reply the reply
+     * @return the projected reply
+     */
+    public static ReadPostOutputData.ReplyData replyData(ReplyPost reply) {
+        return new ReadPostOutputData.ReplyData(
+                reply.getId(),
+                reply.getCreatorUsername(),
+                reply.getContent(),
+                reply.getUpvotes(),
+                reply.getDownvotes(),
+                new ArrayList<>(),
+                reply.getReplies().size()
+        );
+    }
+
+    private Node addNode(ReplyPost reply, Node parent) {
+        final ReadPostOutputData.ReplyData data = replyData(reply);
+        parent.children.add(data);
+        final Node node = new Node(reply, data, parent.post.getId(), parent.children, data.getNestedReplies());
+        nodesById.put(reply.getId(), node);
+        return node;
+    }
+
+    /**
+     * Projects the next page of replies to a post, each with its own first pages of nested replies down to the
+     * window's depth. Breadth first, so each list receives its replies in order without recursing down deep
+     * chains.
+     *
+     * @param parent the post to project more replies to
+     * @return the newly projected replies to the parent
+     */
+    private List<ReadPostOutputData.ReplyData> expand(Node parent) {
+        final List<ReadPostOutputData.ReplyData> added = new ArrayList<>();
+        final Queue<Expansion> pending = new ArrayDeque<>();
+        int pageSize = window.getNestedPageSize();
+        if (parent == rootNode) {
+            pageSize = window.getPageSize();
+        }
+        pending.add(new Expansion(parent, pageSize, window.getMaxDepth()));
+        while (!pending.isEmpty()) {
+            final Expansion next = pending.remove();
+            final List<ReplyPost> children = next.parent.post.getReplies();
+            int taken = 0;
+            while (next.parent.scanned < children.size() && taken < next.count) {
+                final ReplyPost reply = children.get(next.parent.scanned++);
+                // Replies written while the thread was open are projected already
+                if (nodesById.containsKey(reply.getId())) {
+                    continue;
+                }
+                final Node node = addNode(reply, next.parent);
+                taken++;
+                if (next.parent == parent) {
+                    added.add(node.data);
+                }
+                if (next.depth > 1) {
+                    pending.add(new Expansion(node, window.getNestedPageSize(), next.depth - 1));
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Gets the original post this projection shows.
+     *
+     * @return the original post
+     */
+    public OriginalPost getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets a copy of the projected top-level replies, each holding copies of its projected nested replies.
+     *
+     * @return the replies, for the caller to keep and change
+     */
+    public List<ReadPostOutputData.ReplyData> getReplies() {
+        return copyOf(replies);
+    }
+
+    /**
+     * Gets the number of replies to the original post, projected or not.
+     *
+     * @return the reply count
+     */
+    public int getReplyCount() {
+        return rootNode.known;
+    }
+
+    /**
+     * Tells whether a post is the original post or one of the projected replies of this thread.
+     *
+     * @param postId the id of the post
+     * @return true if the post is projected in this thread
+     */
+    public boolean contains(long postId) {
+        return nodesById.containsKey(postId);
+    }
+
+    /**
+     * Brings the vote counts up to date and checks that no reply was added or edited behind the projection's
+     * back, e.g. by another data access object.
+     *
+     * @return true if the projection still matches the thread, false if it has to be rebuilt
+     */
+    public boolean refresh() {
+        for (Node node : nodesById.values()) {
+            if (node.post.getContentVersion() != node.contentVersion
+                    || node.post.getReplies().size() != node.known) {
+                return false;
+            }
+            if (node.data != null) {
+                node.data.setUpvotes(node.post.getUpvotes());
+                node.data.setDownvotes(node.post.getDownvotes());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Projects the next page of replies to a post of this thread.
+     *
+     * @param parentId the id of the original post or of a projected reply
+     * @return the page, or null if the post is not projected in this thread
+     */
+    public ReplyPageOutputData loadMore(long parentId) {
+        final Node parent = nodesById.get(parentId);
+        if (parent == null) {
+            return null;
+        }
+        return new ReplyPageOutputData(parentId, copyOf(expand(parent)), parent.known);
+    }
+
+    /**
+     * Adds a new reply to the projection.
+     *
+     * @param parentId the id of the post the reply answers
+     * @param reply the new reply
+     * @return the change, or null if the parent is not projected in this thread
+     */
+    public ThreadDelta replyAdded(long parentId, ReplyPost reply) {
+        final Node existing = nodesById.get(reply.getId());
+        if (existing != null) {
+            return new ThreadDelta(existing.parentId, detached(existing.data), idsOf(existing.siblings));
+        }
+        final Node parent = nodesById.get(parentId);
+        if (parent == null) {
+            return null;
+        }
+        parent.known++;
+        if (parent.data != null) {
+            parent.data.setReplyCount(parent.known);
+        }
+        final Node node = addNode(reply, parent);
+        return new ThreadDelta(parentId, detached(node.data), idsOf(parent.children));
+    }
+
+    /**
+     * Records new vote counts of a reply and moves it among its siblings to keep them in {@link #BY_SCORE}
+     * order.
+     *
+     * @param postId the id of the reply
+     * @param upvotes the number of upvotes
+     * @param downvotes the number of downvotes
+     * @return the change, or null if the reply is not projected in this thread
+     */
+    public ThreadDelta votesChanged(long postId, int upvotes, int downvotes) {
+        final Node node = nodesById.get(postId);
+        if (node == null || node.data == null) {
+            return null;
+        }
+        node.data.setUpvotes(upvotes);
+        node.data.setDownvotes(downvotes);
+        node.siblings.sort(BY_SCORE);
+        return new ThreadDelta(node.parentId, detached(node.data), idsOf(node.siblings));
+    }
+
+    /**
+     * Copies projected replies and all their projected nested replies, walking with an explicit stack so deep
+     * chains copy in constant call-stack space.
+     */
+    private static List<ReadPostOutputData.ReplyData> copyOf(List<ReadPostOutputData.ReplyData> originals) {
+        final List<ReadPostOutputData.ReplyData> copies = new ArrayList<>(originals.size());
+        final Map<ReadPostOutputData.ReplyData, ReadPostOutputData.ReplyData> copiesByOriginal =
+                new IdentityHashMap<>();
+        PostTraversal.walk(originals, null, ReadPostOutputData.ReplyData::getNestedReplies,
+                (original, parent, depth) -> {
+                    final ReadPostOutputData.ReplyData copy = detached(original);
+                    copiesByOriginal.put(original, copy);
+                    if (parent == null) {
+                        copies.add(copy);
+                    }
+                    else {
+                        copiesByOriginal.get(parent).getNestedReplies().add(copy);
+                    }
+                    return true;
+                });
+        return copies;
+    }
+
+    /**
+     * Copies one projected reply without its nested replies.
+     */
+    private static ReadPostOutputData.ReplyData detached(ReadPostOutputData.ReplyData data) {
+        return new ReadPostOutputData.ReplyData(data.getId(), data.getUsername(), data.getContent(),
+                data.getUpvotes(), data.getDownvotes(), new ArrayList<>(), data.getReplyCount());
+    }
+
+    private static List<Long> idsOf(List<ReadPostOutputData.ReplyData> siblings) {
+        final List<Long> ids = new ArrayList<>(siblings.size());
+        for (ReadPostOutputData.ReplyData sibling : siblings) {
+            ids.add(sibling.getId());
+        }
+        return Collections.unmodifiableList(ids);
+    }
+
+    /**
+     * A projected post: where its projection sits, how far its replies have been looked at, and the content
+     * version and reply count it was projected with.
+     */
+    private static final class Node {
+        private final Post post;
+        private final ReadPostOutputData.ReplyData data;
+        private final long parentId;
+        private final List<ReadPostOutputData.ReplyData> siblings;
+        private final List<ReadPostOutputData.ReplyData> children;
+        private final int contentVersion;
+        private int known;
+        private int scanned;
+
+        Node(Post post, ReadPostOutputData.ReplyData data, long parentId,
+             List<ReadPostOutputData.ReplyData> siblings, List<ReadPostOutputData.ReplyData> children) {
+            this.post = post;
+            this.data = data;
+            this.parentId = parentId;
+            this.siblings = siblings;
+            this.children = children;
+            this.contentVersion = post.getContentVersion();
+            this.known = post.getReplies().size();
+        }
+    }
+
+    /**
+     * A page of replies waiting to be projected under a post.
+     */
+    private static final class Expansion {
+        private final Node parent;
+        private final int count;
+        private final int depth;
+
+        Expansion(Node parent, int count, int depth) {
+            this.parent = parent;
+            this.count = count;
+            this.depth = depth;
+        }
+    }
+}
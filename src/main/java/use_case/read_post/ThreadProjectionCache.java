@@ -0,0 +1,109 @@
+package use_case.read_post;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import entities.OriginalPost;
+import entities.ReplyPost;
+
+/**
+ * The {@link ThreadProjection}s of the most recently opened threads, shared by the use cases that show or
+ * change a thread so that each change patches the projection in place. The least recently opened threads
+ * are dropped once the cache is full.
+ */
+public class ThreadProjectionCache {
+
+    /**
+     * How many threads the cache keeps unless asked otherwise.
+     */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private final Map<Long, ThreadProjection> projectionsByRootId;
+    private final ReplyWindow window;
+
+    /**
+     * Constructs a ThreadProjectionCache of the default capacity and reply window.
+     */
+    public ThreadProjectionCache() {
+        this(DEFAULT_CAPACITY, new ReplyWindow());
+    }
+
+    /**
+     * Constructs a ThreadProjectionCache.
+     *
+     * @param capacity the largest number of threads to keep
+     * @param window how much of a thread to project at a time
+     */
+    public ThreadProjectionCache(int capacity, ReplyWindow window) {
+        this.window = window;
+        this.projectionsByRootId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ThreadProjection> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the projection of a thread, building it only if the thread is not cached or has changed in a
+     * way the cache was not told about.
+     *
+     * @param root the original post of the thread
+     * @return the projection
+     */
+    public synchronized ThreadProjection projectionOf(OriginalPost root) {
+        final ThreadProjection cached = projectionsByRootId.get(root.getId());
+        // Reloaded posts are new objects, so the root is compared by identity
+        if (cached != null && cached.getRoot() == root && cached.refresh()) {
+            return cached;
+        }
+        final ThreadProjection projection = new ThreadProjection(root, window);
+        projectionsByRootId.put(root.getId(), projection);
+        return projection;
+    }
+
+    /**
+     * Projects the next page of replies to a post of a thread.
+     *
+     * @param root the original post of the thread
+     * @param parentId the id of the original post or of a projected reply
+     * @return the page, or null if the post is not projected in the thread
+     */
+    public synchronized ReplyPageOutputData loadMore(OriginalPost root, long parentId) {
+        return projectionOf(root).loadMore(parentId);
+    }
+
+    /**
+     * Adds a new reply to the cached thread it belongs to.
+     *
+     * @param parentId the id of the post the reply answers
+     * @param reply the new reply
+     * @return the change; if no cached thread holds the parent, the change carries the reply alone
+     */
+    public synchronized ThreadDelta replyAdded(long parentId, ReplyPost reply) {
+        for (ThreadProjection projection : projectionsByRootId.values()) {
+            if (projection.contains(parentId)) {
+                return projection.replyAdded(parentId, reply);
+            }
+        }
+        return new ThreadDelta(parentId, ThreadProjection.replyData(reply), null);
+    }
+
+    /**
+     * Records new vote counts of a reply in the cached thread it belongs to.
+     *
+     * @param postId the id of the reply
+     * @param upvotes the number of upvotes
+     * @param downvotes the number of downvotes
+     * @return the change, or null if no cached thread holds the reply
+     */
+    public synchronized ThreadDelta votesChanged(long postId, int upvotes, int downvotes) {
+        for (ThreadProjection projection : projectionsByRootId.values()) {
+            final ThreadDelta delta = projection.votesChanged(postId, upvotes, downvotes);
+            if (delta != null) {
+                return delta;
+            }
+        }
+        return null;
+    }
+}
@@ -16,6 +16,16 @@ public interface ReferencePostDataAccessInterface {
      */
     List<Post> searchPostsByKeyword(String keyword);
 
+    /**
+     * Searches for posts by keyword like {@link #searchPostsByKeyword}, with the best matches first.
+     * Storages without a ranking index return the keyword matches in their own order.
+     * @param keyword the keyword to search for
+     * @return the posts matching the keyword, best first
+     */
+    default List<Post> searchPostsBestMatch(String keyword) {
+        return searchPostsByKeyword(keyword);
+    }
+
     /**
      * Gets a post by its ID.
      * @param postId the ID of the post
@@ -1,6 +1,8 @@
 package use_case.reference_post;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,6 +14,10 @@ import use_case.reference_post.ReferencePostOutputData.PostSearchResult;
  * The Reference Post Interactor.
  */
 public class ReferencePostInteractor implements ReferencePostInputBoundary {
+    // Immutable, so one formatter serves every search instead of a new SimpleDateFormat per call
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
     private final ReferencePostDataAccessInterface dataAccess;
     private final ReferencePostOutputBoundary presenter;
 
@@ -32,7 +38,7 @@ public class ReferencePostInteractor implements ReferencePostInputBoundary {
         }
 
         // Search for posts
-        final List<Post> matchingPosts = dataAccess.searchPostsByKeyword(keyword.trim());
+        final List<Post> matchingPosts = dataAccess.searchPostsBestMatch(keyword.trim());
 
         // Check if any posts were found
         if (matchingPosts == null || matchingPosts.isEmpty()) {
@@ -42,7 +48,6 @@ public class ReferencePostInteractor implements ReferencePostInputBoundary {
 
         // Convert posts to search results
         final List<PostSearchResult> searchResults = new ArrayList<>();
-        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
         for (Post post : matchingPosts) {
             String title = "";
@@ -56,7 +61,7 @@ public class ReferencePostInteractor implements ReferencePostInputBoundary {
                     title,
                     post.getContent(),
                     post.getCreatorUsername(),
-                    dateFormat.format(post.getCreationDate())
+                    formatDate(post)
             );
             searchResults.add(result);
         }
@@ -102,7 +107,6 @@ public class ReferencePostInteractor implements ReferencePostInputBoundary {
         dataAccess.savePost(currentPost);
 
         // Create output data
-        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         String title = "";
         if (referencedPost instanceof OriginalPost) {
             title = ((OriginalPost) referencedPost).getTitle();
@@ -113,7 +117,7 @@ public class ReferencePostInteractor implements ReferencePostInputBoundary {
                 title,
                 referencedPost.getContent(),
                 referencedPost.getCreatorUsername(),
-                dateFormat.format(referencedPost.getCreationDate())
+                formatDate(referencedPost)
         );
 
         final ReferencePostOutputData outputData = new ReferencePostOutputData(
@@ -129,4 +133,8 @@ public class ReferencePostInteractor implements ReferencePostInputBoundary {
     public void cancelReferencePost() {
         presenter.cancelReferencePost();
     }
+
+    private static String formatDate(Post post) {
+        return DATE_FORMAT.format(Instant.ofEpochMilli(post.getCreationMillis()));
+    }
 }
@@ -4,19 +4,37 @@ import entities.OriginalPost;
 import entities.Post;
 import entities.ReplyPost;
 import entities.User;
+import use_case.read_post.ThreadDelta;
+import use_case.read_post.ThreadProjectionCache;
 import use_case.session.SessionRepository;
 
 public class ReplyPostInteractor implements ReplyPostInputBoundary {
     private final ReplyPostDataAccessInterface replyPostDataAccessObject;
     private final ReplyPostOutputBoundary replyPostPresenter;
     private final SessionRepository sessionRepository;
+    private final ThreadProjectionCache threadProjections;
 
     public ReplyPostInteractor(ReplyPostDataAccessInterface replyPostDataAccessObject,
                                ReplyPostOutputBoundary replyPostPresenter,
                                SessionRepository sessionRepository) {
+        this(replyPostDataAccessObject, replyPostPresenter, sessionRepository, new ThreadProjectionCache());
+    }
+
+    /**
+     * Constructs a ReplyPostInteractor that adds new replies to the projections of open threads.
+     * @param replyPostDataAccessObject the data access object for posts
+     * @param replyPostPresenter the output boundary for presenting results
+     * @param sessionRepository the session of the current user
+     * @param threadProjections the projections of open threads, shared with the read-post use case
+     */
+    public ReplyPostInteractor(ReplyPostDataAccessInterface replyPostDataAccessObject,
+                               ReplyPostOutputBoundary replyPostPresenter,
+                               SessionRepository sessionRepository,
+                               ThreadProjectionCache threadProjections) {
         this.replyPostDataAccessObject = replyPostDataAccessObject;
         this.replyPostPresenter = replyPostPresenter;
         this.sessionRepository = sessionRepository;
+        this.threadProjections = threadProjections;
     }
 
     @Override
@@ -53,7 +71,8 @@ public class ReplyPostInteractor implements ReplyPostInputBoundary {
                 return;
             }
 
-            final ReplyPostOutputData replyPostOutputData = new ReplyPostOutputData(replyPost);
+            final ThreadDelta delta = threadProjections.replyAdded(parentId, replyPost);
+            final ReplyPostOutputData replyPostOutputData = new ReplyPostOutputData(replyPost, delta);
             replyPostPresenter.prepareSuccessView(replyPostOutputData);
         }
     }
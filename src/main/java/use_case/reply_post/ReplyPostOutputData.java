@@ -1,15 +1,35 @@
 package use_case.reply_post;
 
 import entities.ReplyPost;
+import use_case.read_post.ThreadDelta;
 
 public class ReplyPostOutputData {
     private final ReplyPost replyPost;
+    private final ThreadDelta delta;
 
     public ReplyPostOutputData(ReplyPost replyPost) {
+        this(replyPost, null);
+    }
+
+    /**
+     * Constructs output data with the change the reply makes to its thread.
+     * @param replyPost the new reply
+     * @param delta the new reply as placed in its thread
+     */
+    public ReplyPostOutputData(ReplyPost replyPost, ThreadDelta delta) {
         this.replyPost = replyPost;
+        this.delta = delta;
     }
 
     public ReplyPost getReplyPost() {
         return this.replyPost;
     }
+
+    /**
+     * Gets the change the reply makes to its thread.
+     * @return the change, or null if it is not known
+     */
+    public ThreadDelta getDelta() {
+        return this.delta;
+    }
 }
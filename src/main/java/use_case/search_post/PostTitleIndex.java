@@ -0,0 +1,46 @@
+package use_case.search_post;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import use_case.browse_posts.BrowsePostsOutputData;
+
+/**
+ * A trigram index over the titles of a list of browsed posts, built once per list so that a keystroke only
+ * checks the titles that share every trigram of the keyword instead of lower-casing and scanning every title.
+ */
+public class PostTitleIndex {
+    private final List<BrowsePostsOutputData.PostData> posts;
+    private final TrigramIndex<BrowsePostsOutputData.PostData> titles =
+            new TrigramIndex<>(BrowsePostsOutputData.PostData::getTitle);
+
+    /**
+     * Builds the index.
+     * @param posts the posts to search, in display order
+     */
+    public PostTitleIndex(List<BrowsePostsOutputData.PostData> posts) {
+        this.posts = posts;
+        for (int i = 0; i < posts.size(); i++) {
+            titles.add(i, posts.get(i));
+        }
+    }
+
+    /**
+     * Returns whether this index was built from the given list of posts.
+     * @param otherPosts a list of posts
+     * @return true if the index covers exactly that list
+     */
+    public boolean isFor(List<BrowsePostsOutputData.PostData> otherPosts) {
+        return posts == otherPosts && titles.size() == otherPosts.size();
+    }
+
+    /**
+     * Finds the posts whose title contains the keyword, ignoring case.
+     * @param keyword the text to look for
+     * @param cancelled tells whether the search is no longer needed
+     * @return the matching posts in display order, or null if the search was cancelled
+     */
+    public List<BrowsePostsOutputData.PostData> search(String keyword, BooleanSupplier cancelled) {
+        return titles.search(keyword, cancelled);
+    }
+}
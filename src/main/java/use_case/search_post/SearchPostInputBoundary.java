@@ -1,8 +1,12 @@
 package use_case.search_post;
 
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
 import javax.swing.JPanel;
 
 import interface_adapter.browse_posts.BrowsePostsState;
+import use_case.browse_posts.BrowsePostsOutputData;
 
 /**
  * Input Boundary for Search Post use case.
@@ -15,4 +19,21 @@ public interface SearchPostInputBoundary {
      * @param keyword the search bar keyword inputted
      */
     void searchPosts(JPanel postsPanel, BrowsePostsState state, String keyword);
+
+    /**
+     * Finds the posts matching a keyword without presenting them. Safe to call off the event dispatch thread.
+     * @param titleIndex the index of the post list to search
+     * @param keyword the search bar keyword inputted
+     * @param cancelled tells whether the search has been superseded
+     * @return the matching posts, or null if the search was cancelled
+     */
+    List<BrowsePostsOutputData.PostData> findMatches(PostTitleIndex titleIndex, String keyword,
+                                                     BooleanSupplier cancelled);
+
+    /**
+     * Presents search results. Must be called on the event dispatch thread.
+     * @param postsPanel the viewed post panel
+     * @param matches the posts to show
+     */
+    void presentMatches(JPanel postsPanel, List<BrowsePostsOutputData.PostData> matches);
 }
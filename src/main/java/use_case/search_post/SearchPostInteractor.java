@@ -1,7 +1,7 @@
 package use_case.search_post;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 import javax.swing.JPanel;
 
@@ -13,20 +13,23 @@ public class SearchPostInteractor implements SearchPostInputBoundary {
 
     @Override
     public void searchPosts(JPanel postsPanel, BrowsePostsState state, String keyword) {
-        final SearchPostOutputBoundary searchPostOutputBoundary;
-        final List<BrowsePostsOutputData.PostData> searchList = new ArrayList<>();
-        for (int i = 0; i < state.getPosts().size(); i++) {
-            if (state.getPosts().get(i).getTitle().toLowerCase().contains(keyword.toLowerCase())) {
-                searchList.add(state.getPosts().get(i));
-            }
-        }
+        presentMatches(postsPanel, findMatches(new PostTitleIndex(state.getPosts()), keyword, () -> false));
+    }
+
+    @Override
+    public List<BrowsePostsOutputData.PostData> findMatches(PostTitleIndex titleIndex, String keyword,
+                                                            BooleanSupplier cancelled) {
+        return titleIndex.search(keyword, cancelled);
+    }
 
+    @Override
+    public void presentMatches(JPanel postsPanel, List<BrowsePostsOutputData.PostData> matches) {
         final BrowsePostsState searchState = new BrowsePostsState();
-        searchState.setPosts(searchList);
+        searchState.setPosts(matches);
 
         final SearchPostOutputData searchPostOutputData = new SearchPostOutputData(searchState);
-        
-        searchPostOutputBoundary = new SearchPostPresenter(searchPostOutputData);
+
+        final SearchPostOutputBoundary searchPostOutputBoundary = new SearchPostPresenter(searchPostOutputData);
         searchPostOutputBoundary.prepareSuccessView(postsPanel);
     }
 
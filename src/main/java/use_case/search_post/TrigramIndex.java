@@ -0,0 +1,316 @@
+package use_case.search_post;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive substring search over a collection of items, with the exact semantics of
+ * {@code text.toLowerCase().contains(keyword.toLowerCase())}.
+ * Every run of three characters (trigram) of an item's lower-cased text points back to the item, so a query
+ * only has to check the items that contain all of its trigrams instead of every item. Two-character queries
+ * starting with a character from U+0800 upwards (CJK and most other scripts written without spaces) use
+ * character pairs, which are indexed for those characters too; other queries shorter than three characters
+ * check every item. Posting lists are delta-encoded variable-length integers, a byte per entry for
+ * common trigrams. Items are found in the order they were added.
+ * @param <T> the type of the indexed items
+ */
+public class TrigramIndex<T> {
+    private static final int GRAM_LENGTH = 3;
+    private static final char FIRST_WIDE_CHAR = '\u0800';
+    private static final long PAIR_MARKER = 1L << 48;
+    private static final int CHAR_BITS = 16;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7f;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int MIN_POSTINGS_CAPACITY = 4;
+    private static final int MIN_REBUILD_TOMBSTONES = 1024;
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+    // Rough per-object costs on a 64-bit JVM with compressed references, for the memory estimate
+    private static final int HASH_ENTRY_BYTES = 48;
+    private static final int POSTINGS_OBJECT_BYTES = 48;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final Function<T, String> searchableText;
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private final Map<Long, Integer> docByKey = new HashMap<>();
+    private final List<T> docs = new ArrayList<>();
+    private int tombstones;
+
+    /**
+     * Creates an empty index.
+     * @param searchableText gives the text an item is searched by; separate fields should be joined with
+     *                       a character that never occurs in queries, such as '\u0000'
+     */
+    public TrigramIndex(Function<T, String> searchableText) {
+        this.searchableText = searchableText;
+    }
+
+    /**
+     * Adds an item, replacing the item previously added under the same key.
+     * @param key identifies the item, e.g. its post id
+     * @param item the item
+     */
+    public synchronized void add(long key, T item) {
+        removeDoc(key);
+        final int doc = docs.size();
+        docs.add(item);
+        docByKey.put(key, doc);
+        final String text = lowerCase(searchableText.apply(item));
+        for (int i = 0; i + 1 < text.length(); i++) {
+            if (text.charAt(i) >= FIRST_WIDE_CHAR) {
+                postingsFor(pairKey(text, i)).add(doc);
+            }
+            if (i + GRAM_LENGTH <= text.length()) {
+                postingsFor(trigramKey(text, i)).add(doc);
+            }
+        }
+    }
+
+    private Postings postingsFor(long gram) {
+        return postingsByGram.computeIfAbsent(gram, key -> new Postings());
+    }
+
+    /**
+     * Removes the item added under the given key.
+     * @param key identifies the item
+     */
+    public synchronized void remove(long key) {
+        removeDoc(key);
+    }
+
+    private void removeDoc(long key) {
+        final Integer doc = docByKey.remove(key);
+        if (doc == null) {
+            return;
+        }
+        // Posting lists are append-only; removed items are skipped until the next rebuild
+        docs.set(doc, null);
+        tombstones++;
+        if (tombstones > MIN_REBUILD_TOMBSTONES && tombstones > docByKey.size()) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        final Map<Integer, Long> keyByDoc = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : docByKey.entrySet()) {
+            keyByDoc.put(entry.getValue(), entry.getKey());
+        }
+        final List<T> live = new ArrayList<>(docs);
+        postingsByGram.clear();
+        docByKey.clear();
+        docs.clear();
+        tombstones = 0;
+        for (int doc = 0; doc < live.size(); doc++) {
+            if (live.get(doc) != null) {
+                add(keyByDoc.get(doc), live.get(doc));
+            }
+        }
+    }
+
+    /**
+     * Returns how many items are indexed.
+     * @return the number of items
+     */
+    public synchronized int size() {
+        return docByKey.size();
+    }
+
+    /**
+     * Finds the items whose text contains the keyword, ignoring case.
+     * @param keyword the text to look for; an empty keyword matches every item
+     * @return the matching items, in the order they were added
+     */
+    public List<T> search(String keyword) {
+        return search(keyword, () -> false);
+    }
+
+    /**
+     * Finds the items whose text contains the keyword, ignoring case.
+     * @param keyword the text to look for; an empty keyword matches every item
+     * @param cancelled tells whether the search is no longer needed
+     * @return the matching items in the order they were added, or null if the search was cancelled
+     */
+    public synchronized List<T> search(String keyword, BooleanSupplier cancelled) {
+        final String lowerKeyword = lowerCase(keyword);
+        final int[] candidates = candidates(lowerKeyword);
+        // A keyword that is a single indexed gram is contained in exactly the items listing it
+        final boolean verify = candidates == null || lowerKeyword.length() > GRAM_LENGTH;
+        final List<T> matches = new ArrayList<>();
+        final int candidateCount;
+        if (candidates == null) {
+            candidateCount = docs.size();
+        }
+        else {
+            candidateCount = candidates.length;
+        }
+        for (int i = 0; i < candidateCount; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            final int doc;
+            if (candidates == null) {
+                doc = i;
+            }
+            else {
+                doc = candidates[i];
+            }
+            final T item = docs.get(doc);
+            // Having all trigrams of a longer keyword does not mean having them in order, so those are checked
+            if (item != null && (!verify || lowerCase(searchableText.apply(item)).contains(lowerKeyword))) {
+                matches.add(item);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the items that contain every indexed gram of the keyword.
+     * @return the candidate items in ascending order, or null if every item is a candidate
+     */
+    private int[] candidates(String lowerKeyword) {
+        final Set<Long> grams = new LinkedHashSet<>();
+        if (lowerKeyword.length() >= GRAM_LENGTH) {
+            for (int i = 0; i + GRAM_LENGTH <= lowerKeyword.length(); i++) {
+                grams.add(trigramKey(lowerKeyword, i));
+            }
+        }
+        else if (lowerKeyword.length() == 2 && lowerKeyword.charAt(0) >= FIRST_WIDE_CHAR) {
+            grams.add(pairKey(lowerKeyword, 0));
+        }
+        if (grams.isEmpty()) {
+            return null;
+        }
+        final List<Postings> lists = new ArrayList<>();
+        for (Long gram : grams) {
+            final Postings postings = postingsByGram.get(gram);
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+        // Start from the rarest gram so the candidate set only shrinks from there
+        lists.sort((first, second) -> Integer.compare(first.count, second.count));
+        int[] candidates = lists.get(0).decode();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i).decode());
+        }
+        return candidates;
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        final int[] result = new int[Math.min(first.length, second.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            }
+            else if (first[i] > second[j]) {
+                j++;
+            }
+            else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Estimates the heap taken by the index itself, not counting the indexed items.
+     * @return the estimated size in bytes
+     */
+    public synchronized long estimateMemoryBytes() {
+        long bytes = (long) docByKey.size() * HASH_ENTRY_BYTES + (long) docs.size() * REFERENCE_BYTES;
+        for (Postings postings : postingsByGram.values()) {
+            bytes += HASH_ENTRY_BYTES + POSTINGS_OBJECT_BYTES + postings.bytes.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns how many posting entries the index holds, one per distinct gram of each item.
+     * @return the number of postings
+     */
+    public synchronized long getPostingCount() {
+        long count = 0;
+        for (Postings postings : postingsByGram.values()) {
+            count += postings.count;
+        }
+        return count;
+    }
+
+    private static String lowerCase(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigramKey(String text, int start) {
+        return (long) text.charAt(start) << (2 * CHAR_BITS) | (long) text.charAt(start + 1) << CHAR_BITS
+                | text.charAt(start + 2);
+    }
+
+    private static long pairKey(String text, int start) {
+        return PAIR_MARKER | (long) text.charAt(start) << CHAR_BITS | text.charAt(start + 1);
+    }
+
+    /**
+     * Ascending item numbers containing one gram, stored as variable-length deltas.
+     */
+    private static final class Postings {
+        private byte[] bytes = new byte[MIN_POSTINGS_CAPACITY];
+        private int length;
+        private int lastDoc = -1;
+        private int count;
+
+        void add(int doc) {
+            if (doc == lastDoc) {
+                return;
+            }
+            int delta = doc - lastDoc;
+            while (delta >= VARINT_CONTINUATION) {
+                write((byte) (delta & VARINT_PAYLOAD_MASK | VARINT_CONTINUATION));
+                delta >>>= VARINT_PAYLOAD_BITS;
+            }
+            write((byte) delta);
+            lastDoc = doc;
+            count++;
+        }
+
+        private void write(byte value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length * 2);
+            }
+            bytes[length++] = value;
+        }
+
+        int[] decode() {
+            final int[] docs = new int[count];
+            int doc = -1;
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte value;
+                do {
+                    value = bytes[position++];
+                    delta |= (value & VARINT_PAYLOAD_MASK) << shift;
+                    shift += VARINT_PAYLOAD_BITS;
+                } while ((value & VARINT_CONTINUATION) != 0);
+                doc += delta;
+                docs[i] = doc;
+            }
+            return docs;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package use_case.upvote_downvote;
 
+import java.util.Map;
+
 import entities.Post;
 
 public interface VoteDataAccessInterface {
@@ -18,4 +20,23 @@ public interface VoteDataAccessInterface {
      * @param newDownvotes The calculated new downvote total.
      */
     void saveVote(long contentId, int newUpvotes, int newDownvotes);
+
+    /**
+     * Persists the new vote counts of several posts at once.
+     * Storages that can write several changes for the price of one should override this.
+     * @param votes the new [upvotes, downvotes] totals, by content ID
+     */
+    default void saveVotes(Map<Long, int[]> votes) {
+        for (Map.Entry<Long, int[]> vote : votes.entrySet()) {
+            saveVote(vote.getKey(), vote.getValue()[0], vote.getValue()[1]);
+        }
+    }
+
+    /**
+     * Tells the storage that a post's votes changed in memory before they are saved, so that anything
+     * ordered by votes can follow right away. Storages without such orderings can ignore it.
+     * @param post the voted post or reply
+     */
+    default void votesChanged(Post post) {
+    }
 }
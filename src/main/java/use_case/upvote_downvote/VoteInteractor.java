@@ -1,15 +1,31 @@
 package use_case.upvote_downvote;
 
 import entities.Post;
+import use_case.read_post.ThreadDelta;
+import use_case.read_post.ThreadProjectionCache;
 
 public class VoteInteractor implements VoteInputBoundary {
     private final VoteDataAccessInterface voteDataAccessObject;
     private final VoteOutputBoundary votePresenter;
+    private final ThreadProjectionCache threadProjections;
 
     public VoteInteractor(VoteDataAccessInterface voteDataAccessObject,
                           VoteOutputBoundary votePresenter) {
+        this(voteDataAccessObject, votePresenter, new ThreadProjectionCache());
+    }
+
+    /**
+     * Constructs a VoteInteractor that updates the projections of open threads.
+     * @param voteDataAccessObject the data access object for votes
+     * @param votePresenter the output boundary for presenting results
+     * @param threadProjections the projections of open threads, shared with the read-post use case
+     */
+    public VoteInteractor(VoteDataAccessInterface voteDataAccessObject,
+                          VoteOutputBoundary votePresenter,
+                          ThreadProjectionCache threadProjections) {
         this.voteDataAccessObject = voteDataAccessObject;
         this.votePresenter = votePresenter;
+        this.threadProjections = threadProjections;
     }
 
     @Override
@@ -25,28 +41,23 @@ public class VoteInteractor implements VoteInputBoundary {
             return;
         }
 
-        // 2. Calculate new vote counts
-        int newUpvotes = post.getVotes()[0];
-        int newDownvotes = post.getVotes()[1];
-
+        // 2. Update the Entity in memory atomically, so concurrent votes are never lost
+        final int[] votes;
         if (isUpvote) {
-            newUpvotes++;
+            votes = post.upvote();
         }
         else {
-            if (newUpvotes - newDownvotes >= 1) {
-                newDownvotes++;
-            }
+            votes = post.downvote();
         }
+        final int newUpvotes = votes[0];
+        final int newDownvotes = votes[1];
 
         // 3. Save to DB/File
         voteDataAccessObject.saveVote(id, newUpvotes, newDownvotes);
 
-        // 4. Update the Entity in memory (for immediate UI consistency)
-        post.setUpvotes(newUpvotes);
-        post.setDownvotes(newDownvotes);
-
-        // 5. Output
-        final VoteOutputData outputData = new VoteOutputData(id, newUpvotes, newDownvotes, false);
+        // 4. Output, patching the reply in its open thread rather than re-presenting the thread
+        final ThreadDelta delta = threadProjections.votesChanged(id, newUpvotes, newDownvotes);
+        final VoteOutputData outputData = new VoteOutputData(id, newUpvotes, newDownvotes, false, delta);
         votePresenter.prepareSuccessView(outputData);
     }
 }
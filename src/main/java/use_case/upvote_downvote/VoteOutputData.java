@@ -1,16 +1,32 @@
 package use_case.upvote_downvote;
 
+import use_case.read_post.ThreadDelta;
+
 public class VoteOutputData {
     private final long id;
     private final int newUpvotes;
     private final int newDownvotes;
     private final boolean useCaseFailed;
+    private final ThreadDelta delta;
 
     public VoteOutputData(long id, int newUpvotes, int newDownvotes, boolean useCaseFailed) {
+        this(id, newUpvotes, newDownvotes, useCaseFailed, null);
+    }
+
+    /**
+     * Constructs output data with the change the vote makes to the reply's thread.
+     * @param id the id of the voted post
+     * @param newUpvotes the number of upvotes after the vote
+     * @param newDownvotes the number of downvotes after the vote
+     * @param useCaseFailed whether the vote failed
+     * @param delta the voted reply as placed in its thread, or null if the thread is not cached
+     */
+    public VoteOutputData(long id, int newUpvotes, int newDownvotes, boolean useCaseFailed, ThreadDelta delta) {
         this.id = id;
         this.newUpvotes = newUpvotes;
         this.newDownvotes = newDownvotes;
         this.useCaseFailed = useCaseFailed;
+        this.delta = delta;
     }
 
     public long getId() {
@@ -28,4 +44,12 @@ public class VoteOutputData {
     public boolean isUseCaseFailed() {
         return useCaseFailed;
     }
+
+    /**
+     * Gets the change the vote makes to the reply's thread.
+     * @return the change, or null if the voted post is no cached reply
+     */
+    public ThreadDelta getDelta() {
+        return delta;
+    }
 }
@@ -12,6 +12,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.text.SimpleDateFormat;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -20,10 +21,12 @@ import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.DocumentEvent;
@@ -34,8 +37,9 @@ import interface_adapter.browse_posts.BrowsePostsState;
 import interface_adapter.browse_posts.BrowsePostsViewModel;
 import interface_adapter.create_post.CreatePostViewModel;
 import interface_adapter.logout.LogoutPresenter;
-import interface_adapter.search_post.SearchPostController;
+import interface_adapter.search_post.AsyncSearchPostController;
 import use_case.browse_posts.BrowsePostsOutputData;
+import use_case.browse_posts.SortMode;
 import use_case.search_post.SearchPostInputData;
 
 /**
@@ -71,6 +75,8 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
     private static final int CONTENT_PREVIEW_ROWS = 2;
     private static final int BORDER_WIDTH_TWO = 2;
     private static final int BUTTON_PADDING_VERT = 8;
+    // How close to the bottom the scroll position may come before the next page is loaded
+    private static final int NEXT_PAGE_MARGIN = 2 * POST_PANEL_HEIGHT;
 
     // Font size constants
     private static final int FONT_SMALL = 12;
@@ -95,6 +101,7 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
     private static JTextField searchField;
 
     private final BrowsePostsViewModel viewModel;
+    private final AsyncSearchPostController searchPostController = new AsyncSearchPostController();
     private BrowsePostsController controller;
     private Runnable onLogoutAction;
     private Runnable onEditProfileClick;
@@ -104,6 +111,10 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
     private final JPanel postsPanel;
     private final JLabel profilePictureLabel;
     private final JPanel titlePanel;
+    private final JScrollPane scrollPane;
+    private int displayedCount;
+    private String requestedCursor;
+    private SortMode sortMode = SortMode.TOP;
 
     /**
      * Creates a new BrowsePostsView.
@@ -122,7 +133,7 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
         postsPanel = createPostsPanel();
         profilePictureLabel = createProfilePictureLabel();
 
-        final JScrollPane scrollPane = createScrollPane();
+        scrollPane = createScrollPane();
         final JPanel buttonPanel = createButtonPanel();
 
         setupTitlePanel();
@@ -162,17 +173,21 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.setBorder(null);
         scrollPane.getVerticalScrollBar().setUnitIncrement(SCROLL_INCREMENT);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(evt -> loadNextPageIfNeeded());
         return scrollPane;
     }
 
     private JPanel createButtonPanel() {
         final JButton refreshButton = createRefreshButton();
+        final JButton sortButton = createSortButton();
         final JButton createPostButton = createCreatePostButton();
 
         final JPanel buttonPanel = new JPanel();
         buttonPanel.setBackground(BACKGROUND_COLOR);
         buttonPanel.add(refreshButton);
         buttonPanel.add(Box.createHorizontalStrut(PADDING_MEDIUM));
+        buttonPanel.add(sortButton);
+        buttonPanel.add(Box.createHorizontalStrut(PADDING_MEDIUM));
         buttonPanel.add(createPostButton);
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(PADDING_MEDIUM, 0, PADDING_LARGE, 0));
         return buttonPanel;
@@ -190,12 +205,38 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
         refreshButton.setOpaque(true);
         refreshButton.addActionListener(evt -> {
             if (controller != null) {
-                controller.execute();
+                controller.execute(sortMode);
             }
         });
         return refreshButton;
     }
 
+    private JButton createSortButton() {
+        final JButton sortButton = new JButton(BrowsePostsViewModel.SORT_TOP_LABEL);
+        sortButton.setFont(new Font(FONT_ARIAL, Font.PLAIN, FONT_REGULAR));
+        sortButton.setFocusPainted(false);
+        sortButton.setBackground(HEADER_COLOR);
+        sortButton.setForeground(WHITE_COLOR);
+        sortButton.setBorder(BorderFactory.createEmptyBorder(PADDING_MEDIUM, PADDING_XLARGE, PADDING_MEDIUM,
+                PADDING_XLARGE));
+        sortButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        sortButton.setOpaque(true);
+        sortButton.addActionListener(evt -> {
+            if (sortMode == SortMode.TOP) {
+                sortMode = SortMode.HOT;
+                sortButton.setText(BrowsePostsViewModel.SORT_HOT_LABEL);
+            }
+            else {
+                sortMode = SortMode.TOP;
+                sortButton.setText(BrowsePostsViewModel.SORT_TOP_LABEL);
+            }
+            if (controller != null) {
+                controller.execute(sortMode);
+            }
+        });
+        return sortButton;
+    }
+
     private JButton createCreatePostButton() {
         final JButton createPostButton = new JButton(CreatePostViewModel.CREATE_BUTTON_LABEL);
         createPostButton.setFont(new Font(FONT_ARIAL, Font.PLAIN, FONT_REGULAR));
@@ -333,10 +374,7 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
 
             private void searchPosts() {
                 final String keyword = searchField.getText();
-                final SearchPostController searchPostController =
-                        new SearchPostController(new SearchPostInputData(postsPanel,
-                                viewModel.getState(), keyword));
-                searchPostController.searchPosts();
+                searchPostController.searchPosts(new SearchPostInputData(postsPanel, viewModel.getState(), keyword));
             }
         });
     }
@@ -345,6 +383,7 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
     public void propertyChange(PropertyChangeEvent evt) {
         if ("state".equals(evt.getPropertyName())) {
             final BrowsePostsState state = (BrowsePostsState) evt.getNewValue();
+            searchPostController.indexPosts(state.getPosts());
             updateView(state);
         }
     }
@@ -355,20 +394,51 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
      * @param state the current browse posts state
      */
     private void updateView(BrowsePostsState state) {
-        postsPanel.removeAll();
+        if (state.getErrorMessage() == null && state.getPageStart() > 0 && state.getPageStart() == displayedCount) {
+            // A further page only adds its posts below the ones already shown
+            displayPosts(state.getPosts().subList(state.getPageStart(), state.getPosts().size()));
+        }
+        else {
+            postsPanel.removeAll();
+            requestedCursor = null;
 
-        if (state.getErrorMessage() != null) {
-            showCenteredMessage(state.getErrorMessage(), ERROR_COLOR);
+            if (state.getErrorMessage() != null) {
+                showCenteredMessage(state.getErrorMessage(), ERROR_COLOR);
+            }
+            else if (state.getPosts().isEmpty()) {
+                showCenteredMessage("No posts available", TEXT_GRAY);
+            }
+            else {
+                displayPosts(state.getPosts());
+            }
         }
-        else if (state.getPosts().isEmpty()) {
-            showCenteredMessage("No posts available", TEXT_GRAY);
+        if (state.getErrorMessage() == null) {
+            displayedCount = state.getPosts().size();
         }
         else {
-            displayPosts(state);
+            displayedCount = 0;
         }
 
         postsPanel.revalidate();
         postsPanel.repaint();
+        // A page that does not fill the window cannot be scrolled, so check once it has been laid out
+        SwingUtilities.invokeLater(this::loadNextPageIfNeeded);
+    }
+
+    /**
+     * Asks for the next page of posts once the user has scrolled close to the bottom of the loaded ones.
+     */
+    private void loadNextPageIfNeeded() {
+        final String cursor = viewModel.getState().getNextCursor();
+        final JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+        final boolean nearBottom = scrollBar.getValue() + scrollBar.getVisibleAmount()
+                >= scrollBar.getMaximum() - NEXT_PAGE_MARGIN;
+        // Search results cover only the loaded posts, so paging waits until the search is cleared
+        if (controller != null && cursor != null && !cursor.equals(requestedCursor) && nearBottom
+                && searchField.getText().isEmpty()) {
+            requestedCursor = cursor;
+            controller.loadNextPage(cursor, sortMode);
+        }
     }
 
     private void showCenteredMessage(String message, Color color) {
@@ -381,8 +451,8 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
         postsPanel.add(Box.createVerticalGlue());
     }
 
-    private void displayPosts(BrowsePostsState state) {
-        for (BrowsePostsOutputData.PostData post : state.getPosts()) {
+    private void displayPosts(List<BrowsePostsOutputData.PostData> posts) {
+        for (BrowsePostsOutputData.PostData post : posts) {
             final JPanel postPanel = createPostPanel(post);
             postsPanel.add(postPanel);
             postsPanel.add(Box.createVerticalStrut(PADDING_LARGE));
@@ -586,7 +656,7 @@ public class BrowsePostsView extends JPanel implements PropertyChangeListener {
         System.out.println("VIEW DEBUG: loadPosts called. Checking controller...");
         if (controller != null) {
             System.out.println("VIEW DEBUG: Controller found. Executing...");
-            controller.execute();
+            controller.execute(sortMode);
         }
         else {
             System.err.println("VIEW ERROR: Controller is NULL! The use case was not initialized correctly.");
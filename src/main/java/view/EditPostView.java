@@ -11,7 +11,8 @@ import use_case.edit_post.EditPostInputData;
 
 public class EditPostView {
 
-    public EditPostView(JTextArea contentArea, ReadPostState state, User cur_user) {
+    public EditPostView(JTextArea contentArea, ReadPostState state, User cur_user,
+                        EditPostController editPostController) {
         final JDialog dialog = new JDialog((Frame) null, "Edit Post", true);
         dialog.setSize(550, 450);
         dialog.setLayout(new BorderLayout(10, 10));
@@ -49,10 +50,8 @@ public class EditPostView {
             final String updatedText = bodyArea.getText();
 
             if (!updatedText.isEmpty()) {
-                final EditPostController editPostController =
-                        new EditPostController(new EditPostInputData(contentArea, state.getId(),
-                                cur_user.getUsername(), state, updatedText, dialog));
-                editPostController.editPost();
+                editPostController.editPost(new EditPostInputData(contentArea, state.getId(),
+                        cur_user.getUsername(), state, updatedText, dialog));
             }
             else {
                 JOptionPane.showMessageDialog(dialog, "Fill in the content.",
@@ -10,11 +10,12 @@ import java.awt.Font;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,8 +37,12 @@ import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import data_access.AtomicSnapshotWriter;
+import entities.PostTraversal;
 import entities.User;
+import interface_adapter.edit_post.EditPostController;
 import interface_adapter.read_post.ReadPostController;
+import interface_adapter.read_post.ReadPostPresenter;
 import interface_adapter.read_post.ReadPostState;
 import interface_adapter.read_post.ReadPostViewModel;
 import interface_adapter.reply_post.ReplyPostController;
@@ -110,6 +115,8 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
     private static final String LOADING_TRANSLATION = "Loading translation...";
     private static final String TRANSLATING = "Translating...";
     private static final String REF_LINK_TEXT = "[Link] This post references:";
+    private static final String LOAD_MORE_REPLIES_TEXT = "Load more replies (%d more)";
+    private static final String CONTINUE_THREAD_TEXT = "Continue this thread (%d replies)";
 
     // Supported languages for the dropdown
     private static final String DEFAULT_LANGUAGE = "es";
@@ -136,6 +143,7 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
     private ReplyPostController replyController;
     private VoteController voteController;
     private TranslationController translationController;
+    private EditPostController editPostController;
     private Runnable onBackAction;
     private long currentPostId = 1;
     private String textContent = "";
@@ -191,7 +199,7 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
         final String fileName = "votesRecording.json";
         String jsonString = null;
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName, StandardCharsets.UTF_8))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 jsonString = line;
@@ -772,9 +780,14 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
             SwingUtilities.invokeLater(() -> handleTranslationChange(state));
         }
 
+        if (ReadPostPresenter.REPLIES_LOADED.equals(evt.getPropertyName())) {
+            updateRepliesPanel(viewModel.getState());
+        }
+
         if (ReplyPostPresenter.REPLY_SUCCESS.equals(evt.getPropertyName())) {
             commentField.setText("");
-            loadPost(viewModel.getState().getId());
+            // The presenter has already placed the new reply in the state, so the post is not reloaded
+            updateRepliesPanel(viewModel.getState());
         }
     }
 
@@ -993,7 +1006,7 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
             for (java.awt.event.ActionListener listener : editButton.getActionListeners()) {
                 editButton.removeActionListener(listener);
             }
-            editButton.addActionListener(evt -> new EditPostView(contentArea, state, curUser));
+            editButton.addActionListener(evt -> new EditPostView(contentArea, state, curUser, editPostController));
         }
         else {
             editButton.setVisible(false);
@@ -1005,18 +1018,30 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
 
     private void updateRepliesPanel(ReadPostState state) {
         repliesPanel.removeAll();
-        if (!state.getReplies().isEmpty()) {
-            for (ReadPostOutputData.ReplyData reply : state.getReplies()) {
-                final JPanel replyPanel = createReplyPanel(reply, 0);
-
-                final JPanel fullWidthWrapper = new JPanel(new BorderLayout());
-                fullWidthWrapper.setBackground(BACKGROUND_COLOR);
-                fullWidthWrapper.add(replyPanel, BorderLayout.CENTER);
-                fullWidthWrapper.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
-
-                repliesPanel.add(fullWidthWrapper);
-                repliesPanel.add(Box.createVerticalStrut(PADDING_SMALL));
-            }
+        // Each reply's panel keeps an area that its nested replies are added to as the walk reaches them
+        final Map<ReadPostOutputData.ReplyData, JPanel> nestedAreas = new IdentityHashMap<>();
+        PostTraversal.walk(state.getReplies(), null, ReadPostOutputData.ReplyData::getNestedReplies,
+                (reply, parent, depth) -> {
+                    final JPanel replyPanel = createReplyPanel(reply, depth, nestedAreas);
+                    if (parent == null) {
+                        final JPanel fullWidthWrapper = new JPanel(new BorderLayout());
+                        fullWidthWrapper.setBackground(BACKGROUND_COLOR);
+                        fullWidthWrapper.add(replyPanel, BorderLayout.CENTER);
+                        fullWidthWrapper.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+                        repliesPanel.add(fullWidthWrapper);
+                        repliesPanel.add(Box.createVerticalStrut(PADDING_SMALL));
+                    }
+                    else {
+                        final JPanel nestedArea = nestedAreas.get(parent);
+                        nestedArea.add(replyPanel);
+                        nestedArea.add(Box.createVerticalStrut(FONT_MEDIUM - ROWS_FOUR));
+                    }
+                    return true;
+                });
+        final int unloaded = state.getReplyCount() - state.getReplies().size();
+        if (unloaded > 0) {
+            repliesPanel.add(createLoadMoreButton(state.getId(), String.format(LOAD_MORE_REPLIES_TEXT, unloaded)));
         }
 
         repliesPanel.revalidate();
@@ -1028,9 +1053,11 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
      *
      * @param reply the reply data
      * @param indentLevel the indentation level for nested replies
-     * @return the created reply panel
+     * @param nestedAreas where to record the area the reply's nested replies go into
+     * @return the created reply panel, without its nested replies
      */
-    private JPanel createReplyPanel(ReadPostOutputData.ReplyData reply, int indentLevel) {
+    private JPanel createReplyPanel(ReadPostOutputData.ReplyData reply, int indentLevel,
+                                    Map<ReadPostOutputData.ReplyData, JPanel> nestedAreas) {
         final JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setBackground(WHITE_COLOR);
@@ -1049,7 +1076,7 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
         addReplyContent(panel, reply);
         addCommentTranslationPanel(panel, reply, commentKey);
         addReplyActions(panel, reply);
-        addNestedReplies(panel, reply, indentLevel);
+        addNestedRepliesArea(panel, reply, nestedAreas);
 
         return panel;
     }
@@ -1358,17 +1385,46 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
         replyTextField.setText("");
     }
 
-    private void addNestedReplies(JPanel panel, ReadPostOutputData.ReplyData reply, int indentLevel) {
+    private void addNestedRepliesArea(JPanel panel, ReadPostOutputData.ReplyData reply,
+                                      Map<ReadPostOutputData.ReplyData, JPanel> nestedAreas) {
         if (!reply.getNestedReplies().isEmpty()) {
             panel.add(Box.createVerticalStrut(FONT_MEDIUM));
-            for (ReadPostOutputData.ReplyData nestedReply : reply.getNestedReplies()) {
-                final JPanel nestedPanel = createReplyPanel(nestedReply, indentLevel + 1);
-                panel.add(nestedPanel);
-                panel.add(Box.createVerticalStrut(FONT_MEDIUM - ROWS_FOUR));
+            final JPanel nestedArea = new JPanel();
+            nestedArea.setLayout(new BoxLayout(nestedArea, BoxLayout.Y_AXIS));
+            nestedArea.setOpaque(false);
+            nestedArea.setAlignmentX(Component.LEFT_ALIGNMENT);
+            panel.add(nestedArea);
+            nestedAreas.put(reply, nestedArea);
+        }
+        final int unloaded = reply.getReplyCount() - reply.getNestedReplies().size();
+        if (unloaded > 0) {
+            String text = String.format(LOAD_MORE_REPLIES_TEXT, unloaded);
+            if (reply.getNestedReplies().isEmpty()) {
+                text = String.format(CONTINUE_THREAD_TEXT, unloaded);
             }
+            panel.add(createLoadMoreButton(reply.getId(), text));
         }
     }
 
+    private JButton createLoadMoreButton(long parentId, String text) {
+        final JButton button = new JButton(text);
+        button.setFont(new Font(FONT_ARIAL, Font.PLAIN, FONT_SMALL));
+        button.setForeground(HEADER_COLOR);
+        button.setBorder(BorderFactory.createEmptyBorder(PADDING_SMALL, 0, PADDING_SMALL, 0));
+        button.setFocusPainted(false);
+        button.setContentAreaFilled(false);
+        button.setAlignmentX(Component.LEFT_ALIGNMENT);
+        button.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        button.addActionListener(evt -> {
+            button.setEnabled(false);
+            if (controller != null) {
+                controller.loadMoreReplies(currentPostId, parentId);
+            }
+        });
+        addHoverEffect(button);
+        return button;
+    }
+
     /**
      * Loads a post by its ID.
      *
@@ -1436,6 +1492,15 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
         this.voteController = voteCtrl;
     }
 
+    /**
+     * Sets the edit post controller.
+     *
+     * @param editCtrl the edit post controller
+     */
+    public void setEditPostController(EditPostController editCtrl) {
+        this.editPostController = editCtrl;
+    }
+
     /**
      * Sets the reply controller.
      *
@@ -1535,9 +1600,9 @@ public class PostReadingView extends JPanel implements PropertyChangeListener {
 
             final String fileName = "votesRecording.json";
 
-            try (FileWriter fileWriter = new FileWriter(fileName);
-                BufferedWriter bufferedWriter = new BufferedWriter(fileWriter)) {
-                bufferedWriter.write(jsonString);
+            try {
+                AtomicSnapshotWriter.shared().submit(new File(fileName),
+                    output -> output.write(jsonString.getBytes(StandardCharsets.UTF_8)));
             }
             catch (IOException error) {
                 error.printStackTrace();
@@ -0,0 +1,72 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AtomicSnapshotWriterTest {
+
+    private static final int BURST = 50;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeReplacesTargetAndLeavesNoTempFiles() throws IOException {
+        final File target = tempDir.resolve("users.csv").toFile();
+        Files.write(target.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+
+        new AtomicSnapshotWriter().write(target, output -> output.write("new".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("new", read(target));
+        assertEquals(1, tempDir.toFile().list().length);
+    }
+
+    @Test
+    void failedWriteLeavesTargetUntouched() throws IOException {
+        final File target = tempDir.resolve("posts.json").toFile();
+        Files.write(target.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> new AtomicSnapshotWriter().write(target, output -> {
+            output.write("half".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("crash");
+        }));
+
+        assertEquals("old", read(target));
+        assertEquals(1, tempDir.toFile().list().length);
+    }
+
+    @Test
+    void burstOfSavesKeepsLastContentsAndGroupsSyncs() throws IOException {
+        final AtomicSnapshotWriter writer = new AtomicSnapshotWriter();
+        final File votes = tempDir.resolve("votesRecording.json").toFile();
+        final File users = tempDir.resolve("users.csv").toFile();
+
+        for (int i = 0; i < BURST; i++) {
+            final byte[] contents = Integer.toString(i).getBytes(StandardCharsets.UTF_8);
+            writer.submit(votes, output -> output.write(contents));
+            writer.submit(users, output -> output.write(contents));
+        }
+        writer.flushAll();
+
+        final String last = Integer.toString(BURST - 1);
+        assertEquals(last, read(votes));
+        assertEquals(last, read(users));
+        assertEquals(2, tempDir.toFile().list().length);
+        // Without grouping every save would cost a file sync plus a directory sync
+        assertTrue(writer.getFsyncCount() < 2L * 2 * BURST);
+    }
+
+    private String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
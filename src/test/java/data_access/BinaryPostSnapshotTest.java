@@ -0,0 +1,139 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+class BinaryPostSnapshotTest {
+
+    private static final int DEEP_THREAD_DEPTH = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void jsonSurvivesRoundTripThroughBinary() throws IOException {
+        final List<OriginalPost> posts = SyntheticPosts.generate(50, 20, 7L);
+        final OriginalPost unicode = new OriginalPost(1_000, "日本語のタイトル", "絵文字 😀 and é", "ユーザー",
+                new Date(), 3, 4);
+        unicode.addReply(new ReplyPost(1_001, "bob", "", new Date(), 0, 0));
+        unicode.setReferencedPost(posts.get(3).getReplies().get(0));
+        posts.add(unicode);
+        final File json = tempDir.resolve("posts.json").toFile();
+        try (OutputStream output = Files.newOutputStream(json.toPath())) {
+            new PostJsonWriter(true).write(posts, output);
+        }
+        final File binary = tempDir.resolve("posts.bin").toFile();
+        final File roundTripped = tempDir.resolve("roundtrip.json").toFile();
+
+        BinaryPostSnapshot.convertJsonToBinary(json, binary);
+        BinaryPostSnapshot.convertBinaryToJson(binary, roundTripped);
+
+        assertEquals(read(json), read(roundTripped));
+    }
+
+    @Test
+    void readsDeepThreadsAndReferences() throws IOException {
+        final OriginalPost root = new OriginalPost(1, "Deep", "root", "u", new Date(), 0, 0);
+        ReplyPost parent = new ReplyPost(2, "u", "c", new Date(), 0, 0);
+        root.addReply(parent);
+        for (int i = 1; i < DEEP_THREAD_DEPTH; i++) {
+            final ReplyPost reply = new ReplyPost(i + 2, "u", "c", new Date(), 0, 0);
+            parent.addReply(reply);
+            parent = reply;
+        }
+        root.setReferencedPost(parent);
+        final File binary = tempDir.resolve("posts.bin").toFile();
+        try (OutputStream output = Files.newOutputStream(binary.toPath())) {
+            BinaryPostSnapshot.write(List.of(root), output);
+        }
+
+        final Map<Long, Post> idMap = new HashMap<>();
+        final List<OriginalPost> posts = BinaryPostSnapshot.read(binary, idMap);
+
+        assertEquals(DEEP_THREAD_DEPTH + 1, idMap.size());
+        assertEquals(parent.getId(), posts.get(0).getReferencedPost().getId());
+        assertEquals(idMap.get(parent.getId()), posts.get(0).getReferencedPost());
+    }
+
+    @Test
+    void rejectsJsonFiles() throws IOException {
+        final File json = tempDir.resolve("posts.json").toFile();
+        Files.write(json.toPath(), "[ ]".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> BinaryPostSnapshot.read(json, new HashMap<>()));
+    }
+
+    @Test
+    void dataAccessObjectPersistsBinarySnapshots() {
+        final String path = tempDir.resolve("posts.bin").toString();
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(path, false, PostSnapshotFormat.BINARY);
+        final OriginalPost post = new OriginalPost("alice", "Title", "Body");
+        dao.save(post);
+        dao.save(new ReplyPost("bob", "Reply"), post);
+        dao.saveVote(post.getId(), 2, 1);
+
+        final FilePostDataAccessObject reloaded =
+                new FilePostDataAccessObject(path, false, PostSnapshotFormat.BINARY);
+        final List<OriginalPost> posts = reloaded.getAllPosts();
+
+        assertEquals(1, posts.size());
+        assertEquals("Title", posts.get(0).getTitle());
+        assertEquals(2, posts.get(0).getVotes()[0]);
+        assertEquals("Reply", posts.get(0).getReplies().get(0).getContent());
+    }
+
+    @Test
+    void lazyContentIsDecodedFromTheMapping() throws IOException {
+        final List<OriginalPost> posts = SyntheticPosts.generate(10, 5, 3L);
+        final File binary = tempDir.resolve("posts.bin").toFile();
+        try (OutputStream output = Files.newOutputStream(binary.toPath())) {
+            BinaryPostSnapshot.write(posts, output);
+        }
+
+        final Map<Long, Post> idMap = new HashMap<>();
+        final List<OriginalPost> lazy = BinaryPostSnapshot.read(binary, idMap, true);
+
+        assertEquals(posts.get(4).getContent(), lazy.get(4).getContent());
+        final ReplyPost reply = lazy.get(2).getReplies().get(0);
+        assertEquals(posts.get(2).getReplies().get(0).getContent(), reply.getContent());
+        reply.setContent("Edited");
+        assertEquals("Edited", idMap.get(reply.getId()).getContent());
+    }
+
+    @Test
+    void lazyContentOutlivesSnapshotReplacement() {
+        final String path = tempDir.resolve("posts.bin").toString();
+        final FilePostDataAccessObject writer = new FilePostDataAccessObject(path, false, PostSnapshotFormat.BINARY);
+        final OriginalPost first = new OriginalPost("alice", "First", "First body");
+        writer.save(first);
+
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(path, false, PostSnapshotFormat.BINARY);
+        dao.setLazyContent(true);
+        dao.save(new OriginalPost("bob", "Second", "Second body"));
+
+        assertEquals("First body", dao.getPostById(first.getId()).getContent());
+        assertEquals(2, dao.getAllPosts().size());
+    }
+
+    private String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
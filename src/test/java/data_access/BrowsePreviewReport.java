@@ -0,0 +1,95 @@
+package data_access;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import entities.OriginalPost;
+import use_case.browse_posts.BrowsePostsOutputData;
+import use_case.browse_posts.PostPreviewCache;
+
+/**
+ * Reports what the browse feed retains and allocates when every post of a lazily loaded snapshot is scrolled
+ * through: once projected with full contents, as the feed used to be, and once with cached previews, cold and
+ * warm. Run with {@code main}; the number of posts can be given as the first argument and defaults to 20,000.
+ */
+public final class BrowsePreviewReport {
+    private static final int DEFAULT_POSTS = 20_000;
+    // Long enough that a post's content is several times its preview
+    private static final int CONTENT_REPEATS = 8;
+    private static final int GC_ROUNDS = 5;
+    private static final long GC_PAUSE_MILLIS = 100;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private BrowsePreviewReport() {
+    }
+
+    /**
+     * Runs the report.
+     * @param args optionally, the number of posts to generate
+     * @throws IOException if the snapshot could not be written or read
+     * @throws InterruptedException if interrupted while waiting for garbage collection
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final int postCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSTS;
+        final File binary = File.createTempFile("posts", ".bin");
+        binary.deleteOnExit();
+        final List<OriginalPost> generated = SyntheticPosts.generate(postCount, 0, 1L);
+        for (OriginalPost post : generated) {
+            post.setContent(post.getContent().repeat(CONTENT_REPEATS));
+        }
+        try (OutputStream output = Files.newOutputStream(binary.toPath())) {
+            BinaryPostSnapshot.write(generated, output);
+        }
+        final List<OriginalPost> posts = BinaryPostSnapshot.read(binary, new HashMap<>(), true);
+        System.out.printf("%d posts of about %d characters, previews of %d%n", posts.size(),
+                posts.get(0).getContent().length(), PostPreviewCache.CONTENT_PREVIEW_LENGTH);
+
+        report("full content", posts, null);
+        final PostPreviewCache cache = new PostPreviewCache(postCount);
+        report("preview, cold", posts, cache);
+        report("preview, warm", posts, cache);
+    }
+
+    private static void report(String name, List<OriginalPost> posts, PostPreviewCache cache)
+            throws InterruptedException {
+        final long before = usedHeap();
+        final long allocatedBefore = allocatedBytes();
+        final List<BrowsePostsOutputData.PostData> feed = new ArrayList<>(posts.size());
+        for (OriginalPost post : posts) {
+            final String content;
+            if (cache == null) {
+                content = post.getContent();
+            }
+            else {
+                content = cache.previewOf(post).getContentPreview();
+            }
+            final int[] votes = post.getVotes();
+            feed.add(new BrowsePostsOutputData.PostData(post.getId(), post.getTitle(), content,
+                    post.getCreatorUsername(), post.getCreationDate(), votes[0], votes[1]));
+        }
+        final long allocated = allocatedBytes() - allocatedBefore;
+        final long after = usedHeap();
+        System.out.printf("%-14s %8.1f MB allocated, %8.1f MB retained by the feed for %d posts%n", name,
+                allocated / BYTES_PER_MEGABYTE, (after - before) / BYTES_PER_MEGABYTE, feed.size());
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MILLIS);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
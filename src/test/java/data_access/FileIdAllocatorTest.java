@@ -0,0 +1,88 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileIdAllocatorTest {
+
+    private static final int LEASE_SIZE = 100;
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void concurrentAllocationHandsOutEveryIdOnce() throws Exception {
+        final FileIdAllocator allocator = new FileIdAllocator(idFile(), LEASE_SIZE);
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    ids.add(allocator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        // The high-water mark is written once per block, not once per id
+        assertEquals(THREADS * IDS_PER_THREAD / LEASE_SIZE, allocator.getLeaseCount());
+    }
+
+    @Test
+    void restartContinuesAboveEveryHandedOutId() {
+        final File file = idFile();
+        final FileIdAllocator first = new FileIdAllocator(file, LEASE_SIZE);
+        long last = 0;
+        for (int i = 0; i < LEASE_SIZE + 5; i++) {
+            last = first.nextId();
+        }
+
+        final FileIdAllocator restarted = new FileIdAllocator(file, LEASE_SIZE);
+        assertTrue(restarted.nextId() > last);
+    }
+
+    @Test
+    void reservedIdsAreSkippedAndSurviveRestarts() {
+        final File file = idFile();
+        final FileIdAllocator allocator = new FileIdAllocator(file, LEASE_SIZE);
+        allocator.reserve(5_000);
+
+        assertEquals(5_001, allocator.nextId());
+        assertTrue(new FileIdAllocator(file, LEASE_SIZE).nextId() > 5_001);
+    }
+
+    @Test
+    void reservingIdsBelowTheLeaseDoesNotTouchTheFile() {
+        final FileIdAllocator allocator = new FileIdAllocator(idFile(), LEASE_SIZE);
+        allocator.nextId();
+        for (long id = 1; id < LEASE_SIZE / 2; id++) {
+            allocator.reserve(id);
+        }
+
+        assertEquals(1, allocator.getLeaseCount());
+    }
+
+    private File idFile() {
+        return tempDir.resolve("posts.json.ids").toFile();
+    }
+}
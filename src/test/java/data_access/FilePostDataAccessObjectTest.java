@@ -0,0 +1,410 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+import use_case.browse_posts.FeedCursor;
+
+class FilePostDataAccessObjectTest {
+
+    private static final String SNAPSHOT = "[ {\n"
+            + "  \"id\" : 1,\n"
+            + "  \"title\" : \"First\",\n"
+            + "  \"username\" : \"alice\",\n"
+            + "  \"date\" : \"11/17/2025\",\n"
+            + "  \"content\" : \"Hello\",\n"
+            + "  \"votes\" : [ 2, 1 ],\n"
+            + "  \"replies\" : [ {\n"
+            + "    \"id\" : 2,\n"
+            + "    \"username\" : \"bob\",\n"
+            + "    \"date\" : \"11/17/2025\",\n"
+            + "    \"content\" : \"Hi there\",\n"
+            + "    \"votes\" : [ 0, 0 ],\n"
+            + "    \"replies\" : [ ]\n"
+            + "  } ]\n"
+            + "} ]";
+
+    @TempDir
+    Path tempDir;
+
+    private File postsFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postsFile = tempDir.resolve("posts.json").toFile();
+        Files.write(postsFile.toPath(), SNAPSHOT.getBytes(StandardCharsets.UTF_8));
+        Files.deleteIfExists(tempDir.resolve("posts.json.journal"));
+    }
+
+    @Test
+    void journaledMutationsDoNotRewriteSnapshot() throws IOException {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        final OriginalPost post = (OriginalPost) dao.getPostById(1L);
+
+        dao.saveVote(1L, 3, 1);
+        dao.save(new ReplyPost("carol", "A reply"), post);
+        dao.save(new OriginalPost("dave", "Second", "More content"));
+        dao.editPostContent(2L, "Edited reply");
+
+        assertEquals(SNAPSHOT, new String(Files.readAllBytes(postsFile.toPath()), StandardCharsets.UTF_8));
+        assertTrue(new File(postsFile.getPath() + ".journal").length() > 0);
+    }
+
+    @Test
+    void journalIsReplayedOnLoad() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        final OriginalPost post = (OriginalPost) dao.getPostById(1L);
+        final ReplyPost reply = new ReplyPost("carol", "A reply");
+        final OriginalPost second = new OriginalPost("dave", "Second", "More content");
+        second.setReferencedPost(post);
+
+        dao.saveVote(1L, 3, 1);
+        dao.save(reply, post);
+        dao.save(second);
+        dao.editPostContent(2L, "Edited reply");
+
+        final FilePostDataAccessObject reloaded = new FilePostDataAccessObject(postsFile.getPath(), true);
+        final List<OriginalPost> posts = reloaded.getAllPosts();
+
+        assertEquals(2, posts.size());
+        assertEquals(3, posts.get(0).getVotes()[0]);
+        assertEquals(2, posts.get(0).getReplies().size());
+        assertEquals("Edited reply", posts.get(0).getReplies().get(0).getContent());
+        assertEquals("A reply", reloaded.getPostById(reply.getId()).getContent());
+        assertEquals("Second", posts.get(1).getTitle());
+        assertEquals(1L, posts.get(1).getReferencedPost().getId());
+    }
+
+    @Test
+    void compactionFoldsJournalIntoSnapshot() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        final Post reply = dao.getPostById(2L);
+        final ReplyPost nested = new ReplyPost("erin", "Nested");
+
+        dao.saveVote(2L, 5, 0);
+        dao.save(nested, (ReplyPost) reply);
+        dao.compactJournal();
+
+        assertFalse(new File(postsFile.getPath() + ".journal").exists());
+        assertFalse(new File(postsFile.getPath() + ".compacting").exists());
+
+        final FilePostDataAccessObject plain = new FilePostDataAccessObject(postsFile.getPath());
+        final Post reloadedReply = plain.getPostById(2L);
+        assertEquals(5, reloadedReply.getVotes()[0]);
+        assertNotNull(plain.getPostById(nested.getId()));
+    }
+
+    @Test
+    void residentPostsAreParsedOnlyOnce() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath());
+
+        dao.getAllPosts();
+        dao.getPostById(2L);
+        dao.getPostById(99L);
+        dao.searchPostsByKeyword("hello");
+        dao.saveVote(1L, 4, 1);
+        dao.getAllPosts();
+
+        assertEquals(1, dao.getParseCount());
+        assertEquals(4, dao.getPostById(1L).getVotes()[0]);
+    }
+
+    @Test
+    void keywordSearchMatchesSubstringsAndFollowsEdits() throws IOException {
+        for (boolean journaled : new boolean[] {false, true}) {
+            final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), journaled);
+
+            assertEquals(List.of(dao.getPostById(1L), dao.getPostById(2L)), dao.searchPostsByKeyword("I"));
+            assertEquals(List.of(dao.getPostById(2L)), dao.searchPostsByKeyword("I THER"));
+            assertEquals(List.of(dao.getPostById(1L)), dao.searchPostsByKeyword("lic"));
+
+            dao.editPostContent(2L, "検索できますか");
+            assertTrue(dao.searchPostsByKeyword("there").isEmpty());
+            assertEquals(List.of(dao.getPostById(2L)), dao.searchPostsByKeyword("検索"));
+            assertEquals(List.of(dao.getPostById(1L)), dao.searchPostsRanked("hello"));
+            setUp();
+        }
+    }
+
+    @Test
+    void bestMatchSearchRanksTheKeywordMatches() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        final OriginalPost mention =
+                new OriginalPost("carol", "Tools", "I built a search tool last week for the forum");
+        final OriginalPost research = new OriginalPost("dave", "Research", "Notes");
+        final OriginalPost topic = new OriginalPost("erin", "Search", "Search in search results");
+        dao.save(mention);
+        dao.save(research);
+        dao.save(topic);
+
+        final List<Post> matches = dao.searchPostsByKeyword("search");
+        final List<Post> best = dao.searchPostsBestMatch("search");
+        assertEquals(new HashSet<>(matches), new HashSet<>(best));
+        assertEquals(3, best.size());
+        assertSame(topic, best.get(0));
+        assertSame(mention, best.get(1));
+        // Contains the keyword without a word starting with it, so it ranks last
+        assertSame(research, best.get(2));
+
+        assertEquals(List.of(mention), dao.searchPostsBestMatch("search tool"));
+    }
+
+    @Test
+    void frontPageFollowsVotes() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        final OriginalPost second = new OriginalPost(5L, "Second", "Content", "carol", new Date(), 0, 0);
+        dao.save(second);
+
+        assertEquals(List.of(dao.getPostById(1L), second), dao.getTopPosts(null, 10));
+        assertEquals(1, dao.getRank(5L));
+
+        second.upvote();
+        second.upvote();
+        dao.votesChanged(second);
+        assertEquals(List.of(second, dao.getPostById(1L)), dao.getTopPosts(null, 10));
+        assertEquals(0, dao.getRank(5L));
+
+        dao.saveVote(1L, 9, 1);
+        assertEquals(0, dao.getRank(1L));
+        assertEquals(List.of(second), dao.getTopPosts(FeedCursor.of(dao.getPostById(1L)), 10));
+        assertEquals(-1, dao.getRank(2L));
+    }
+
+    @Test
+    void hotFeedFollowsRepliesAndVotes() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        final OriginalPost first = (OriginalPost) dao.getPostById(1L);
+        final OriginalPost second = new OriginalPost(5L, "Second", "Content", "carol", new Date(), 0, 0);
+        dao.save(second);
+        assertEquals(List.of(second, first), dao.getHotPosts(null, 10));
+
+        // The old thread comes back to the top once it gets new replies
+        for (long id = 6; id < 9; id++) {
+            dao.save(new ReplyPost(id, "dave", "Reply", new Date(), 0, 0), first);
+        }
+        assertEquals(List.of(first, second), dao.getHotPosts(null, 10));
+        assertEquals(List.of(second), dao.getHotPosts(dao.getHotPosition(first), 10));
+
+        dao.saveVote(5L, 20, 0);
+        assertEquals(List.of(second, first), dao.getHotPosts(null, 10));
+    }
+
+    @Test
+    void touchedButUnchangedSnapshotIsNotParsedAgain() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath());
+        dao.getAllPosts();
+
+        assertTrue(postsFile.setLastModified(postsFile.lastModified() - 60_000));
+        dao.getAllPosts();
+
+        assertEquals(1, dao.getParseCount());
+    }
+
+    @Test
+    void externalChangesAreReloaded() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath());
+        final FilePostDataAccessObject other = new FilePostDataAccessObject(postsFile.getPath());
+        dao.getAllPosts();
+
+        other.editPostContent(1L, "Changed elsewhere");
+
+        assertEquals("Changed elsewhere", dao.getPostById(1L).getContent());
+        assertEquals(2, dao.getParseCount());
+    }
+
+    @Test
+    void replyToAParentFromBeforeAReloadIsKept() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath());
+        final FilePostDataAccessObject other = new FilePostDataAccessObject(postsFile.getPath());
+        final OriginalPost stale = (OriginalPost) dao.getPostById(1L);
+        other.editPostContent(2L, "Changed elsewhere");
+
+        final ReplyPost reply = new ReplyPost("carol", "After the reload");
+        dao.save(reply, stale);
+
+        assertTrue(dao.getPostById(1L).getReplies().contains(reply));
+        final FilePostDataAccessObject reloaded = new FilePostDataAccessObject(postsFile.getPath());
+        assertNotNull(reloaded.getPostById(reply.getId()));
+        assertEquals("Changed elsewhere", reloaded.getPostById(2L).getContent());
+    }
+
+    @Test
+    void externalJournalAppendsAreReplayedWithoutReparsing() {
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        final FilePostDataAccessObject other = new FilePostDataAccessObject(postsFile.getPath(), true);
+        dao.saveVote(1L, 3, 1);
+
+        other.editPostContent(2L, "Edited elsewhere");
+
+        assertEquals("Edited elsewhere", dao.getPostById(2L).getContent());
+        assertEquals(3, dao.getPostById(1L).getVotes()[0]);
+        assertEquals(1, dao.getParseCount());
+    }
+
+    @Test
+    void burstsOfSavesShareSnapshotSyncs() {
+        final int saves = 50;
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath());
+        dao.getAllPosts();
+        final long fsyncsBefore = AtomicSnapshotWriter.shared().getFsyncCount();
+
+        for (int i = 1; i <= saves; i++) {
+            dao.saveVote(1L, 2 + i, 1);
+        }
+
+        // Reading through a fresh object waits for the queued saves, so it sees the last one
+        assertEquals(2 + saves, new FilePostDataAccessObject(postsFile.getPath()).getPostById(1L).getVotes()[0]);
+        assertTrue(AtomicSnapshotWriter.shared().getFsyncCount() - fsyncsBefore < 2L * saves);
+        assertEquals(1, dao.getParseCount());
+    }
+
+    @Test
+    void recordsAfterATornLineSurviveReloads() throws IOException {
+        final Path journalPath = tempDir.resolve("posts.json.journal");
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        dao.saveVote(1L, 3, 1);
+        // A crash mid-append leaves half a record without its newline
+        Files.write(journalPath, "{\"op\":\"vote\",\"id\":1,\"vo".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        final FilePostDataAccessObject restarted = new FilePostDataAccessObject(postsFile.getPath(), true);
+        assertEquals(3, restarted.getPostById(1L).getVotes()[0]);
+        restarted.editPostContent(2L, "Edited after the crash");
+        restarted.saveVote(1L, 7, 1);
+
+        final FilePostDataAccessObject reloaded = new FilePostDataAccessObject(postsFile.getPath(), true);
+        assertEquals("Edited after the crash", reloaded.getPostById(2L).getContent());
+        assertEquals(7, reloaded.getPostById(1L).getVotes()[0]);
+    }
+
+    @Test
+    void recordsOfTheWrongTypeAreSkipped() throws IOException {
+        final Path journalPath = tempDir.resolve("posts.json.journal");
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        dao.saveVote(1L, 3, 1);
+        final String records = "{\"op\":\"vote\",\"id\":\"one\",\"votes\":[9,9]}\n"
+                + "{\"op\":\"vote\",\"id\":1,\"votes\":{\"up\":9}}\n"
+                + "{\"op\":\"vote\",\"id\":1,\"votes\":\"9,9\"}\n"
+                + "{\"op\":\"edit\",\"id\":{\"value\":2},\"content\":\"Wrong\"}\n"
+                + "{\"op\":\"edit\",\"id\":2,\"content\":\"After the bad records\"}\n";
+        Files.write(journalPath, records.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        final FilePostDataAccessObject restarted = new FilePostDataAccessObject(postsFile.getPath(), true);
+        assertEquals(3, restarted.getPostById(1L).getVotes()[0]);
+        assertEquals("After the bad records", restarted.getPostById(2L).getContent());
+    }
+
+    @Test
+    void recordsBeingWrittenElsewhereAreReadOnceComplete() throws IOException {
+        final Path journalPath = tempDir.resolve("posts.json.journal");
+        final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), true);
+        dao.saveVote(1L, 3, 1);
+
+        final String record = "{\"op\":\"edit\",\"id\":2,\"content\":\"Written elsewhere\"}\n";
+        final int half = record.length() / 2;
+        Files.write(journalPath, record.substring(0, half).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        assertEquals("Hi there", dao.getPostById(2L).getContent());
+
+        Files.write(journalPath, record.substring(half).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        assertEquals("Written elsewhere", dao.getPostById(2L).getContent());
+        assertEquals(1, dao.getParseCount());
+    }
+
+    @Test
+    void indexFindsParentAndThreadOfNestedReplies() throws IOException {
+        for (boolean journaled : new boolean[] {false, true}) {
+            setUp();
+            final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), journaled);
+            final OriginalPost thread = (OriginalPost) dao.getPostById(1L);
+            final ReplyPost reply = (ReplyPost) dao.getPostById(2L);
+            final ReplyPost nested = new ReplyPost("carol", "Nested");
+            dao.save(nested, reply);
+
+            assertEquals(reply, dao.getParentPost(nested.getId()));
+            assertEquals(thread, dao.getRootPost(nested.getId()));
+            assertEquals(thread, dao.getRootPost(1L));
+            assertNull(dao.getParentPost(1L));
+
+            final FilePostDataAccessObject reloaded = new FilePostDataAccessObject(postsFile.getPath(), journaled);
+            assertEquals(2L, reloaded.getParentPost(nested.getId()).getId());
+            assertEquals(1L, reloaded.getRootPost(nested.getId()).getId());
+        }
+    }
+
+    @Test
+    void replyReferencesSurviveReload() throws IOException {
+        for (boolean journaled : new boolean[] {false, true}) {
+            setUp();
+            final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), journaled);
+            final Post reply = dao.getPostById(2L);
+            reply.setReferencedPost(dao.getPostById(1L));
+            dao.savePost(reply);
+
+            final ReplyPost newReply = new ReplyPost("carol", "See the first post");
+            newReply.setReferencedPost(dao.getPostById(1L));
+            dao.save(newReply, (OriginalPost) dao.getPostById(1L));
+
+            final FilePostDataAccessObject reloaded = new FilePostDataAccessObject(postsFile.getPath(), journaled);
+            assertEquals(1L, reloaded.getPostById(2L).getReferencedPost().getId());
+            assertEquals(1L, reloaded.getPostById(newReply.getId()).getReferencedPost().getId());
+            reloaded.compactJournal();
+            assertEquals(1L, new FilePostDataAccessObject(postsFile.getPath(), journaled)
+                    .getPostById(newReply.getId()).getReferencedPost().getId());
+        }
+    }
+
+    @Test
+    void backlinksFollowReferenceChangesAndReloads() throws IOException {
+        for (boolean journaled : new boolean[] {false, true}) {
+            setUp();
+            final FilePostDataAccessObject dao = new FilePostDataAccessObject(postsFile.getPath(), journaled);
+            final OriginalPost first = (OriginalPost) dao.getPostById(1L);
+            final Post reply = dao.getPostById(2L);
+            final OriginalPost second = new OriginalPost("dave", "Second", "See the first post");
+            second.setReferencedPost(first);
+            dao.save(second);
+            final OriginalPost third = new OriginalPost("erin", "Third", "Also see the first post");
+            third.setReferencedPost(first);
+            dao.save(third);
+
+            assertEquals(List.of(second, third), dao.getReferencingPosts(1L));
+
+            third.setReferencedPost(reply);
+            dao.savePost(third);
+            assertEquals(List.of(second), dao.getReferencingPosts(1L));
+            assertEquals(List.of(third), dao.getReferencingPosts(2L));
+
+            second.setReferencedPost(reply);
+            dao.savePost(second);
+            assertEquals(List.of(reply), dao.getMostReferencedPosts(1));
+
+            final FilePostDataAccessObject reloaded = new FilePostDataAccessObject(postsFile.getPath(), journaled);
+            assertTrue(reloaded.getReferencingPosts(1L).isEmpty());
+            assertEquals(2, reloaded.getReferencingPosts(2L).size());
+            assertEquals(2L, reloaded.getMostReferencedPosts(1).get(0).getId());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package data_access;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import entities.OriginalPost;
+import use_case.browse_posts.FeedCursor;
+
+/**
+ * Runs a vote-heavy workload with concurrent front-page reads, answering the reads once from the
+ * {@link ScoreIndex} kept up to date by every vote and once by selecting the top posts from all of them.
+ * Each front-page read fetches the first page and the rank of a random post.
+ * Run with {@code main}; the number of posts can be given as the first argument and defaults to 200,000.
+ */
+public final class FrontPageBenchmark {
+    private static final int DEFAULT_POSTS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int VOTERS = 2;
+    private static final int READERS = 2;
+    private static final long RUN_MILLIS = 5_000;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private FrontPageBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args optionally, the number of posts to generate
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        final int postCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSTS;
+        final List<OriginalPost> posts = SyntheticPosts.generate(postCount, 0, 1L);
+        System.out.printf("%,d posts, %d voters, %d readers%n", postCount, VOTERS, READERS);
+
+        final long buildStart = System.nanoTime();
+        final ScoreIndex index = new ScoreIndex();
+        for (OriginalPost post : posts) {
+            index.update(post.getId(), FeedCursor.of(post).getScore());
+        }
+        System.out.printf("  score index built in %.0f ms%n", (System.nanoTime() - buildStart) / NANOS_PER_MILLI);
+
+        run("score index", posts, index, () -> {
+            index.topIds(null, PAGE_SIZE);
+            index.rankOf(randomPost(posts).getId());
+        });
+        run("full scan", posts, null, () -> {
+            FeedCursor.topAfter(posts, null, PAGE_SIZE);
+            scanRank(posts, randomPost(posts));
+        });
+    }
+
+    private static void run(String name, List<OriginalPost> posts, ScoreIndex index, Runnable read)
+            throws InterruptedException {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong votes = new AtomicLong();
+        final AtomicLong reads = new AtomicLong();
+        final AtomicLong readNanos = new AtomicLong();
+        final Thread[] workers = new Thread[VOTERS + READERS];
+        for (int i = 0; i < VOTERS; i++) {
+            workers[i] = new Thread(() -> {
+                while (running.get()) {
+                    final OriginalPost post = randomPost(posts);
+                    if (ThreadLocalRandom.current().nextBoolean()) {
+                        post.upvote();
+                    }
+                    else {
+                        post.downvote();
+                    }
+                    if (index != null) {
+                        index.update(post.getId(), FeedCursor.of(post).getScore());
+                    }
+                    votes.incrementAndGet();
+                }
+            });
+        }
+        for (int i = VOTERS; i < workers.length; i++) {
+            workers[i] = new Thread(() -> {
+                while (running.get()) {
+                    final long start = System.nanoTime();
+                    read.run();
+                    readNanos.addAndGet(System.nanoTime() - start);
+                    reads.incrementAndGet();
+                }
+            });
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        final double seconds = RUN_MILLIS / MILLIS_PER_SECOND;
+        System.out.printf("  %-12s %,12.0f votes/s %,10.0f front pages/s, %10.3f ms per front page%n", name,
+                votes.get() / seconds, reads.get() / seconds,
+                readNanos.get() / NANOS_PER_MILLI / Math.max(1, reads.get()));
+    }
+
+    private static OriginalPost randomPost(List<OriginalPost> posts) {
+        return posts.get(ThreadLocalRandom.current().nextInt(posts.size()));
+    }
+
+    private static int scanRank(List<OriginalPost> posts, OriginalPost target) {
+        final FeedCursor position = FeedCursor.of(target);
+        int rank = 0;
+        for (OriginalPost post : posts) {
+            if (FeedCursor.of(post).compareTo(position) < 0) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+}
@@ -0,0 +1,74 @@
+package data_access;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import entities.OriginalPost;
+import entities.Post;
+
+/**
+ * Reports the resident heap of a loaded binary snapshot with contents decoded up front and with lazy contents.
+ * Run with {@code main} and a large heap (e.g. {@code -Xmx6g}); the number of posts can be given as the first
+ * argument and defaults to one million.
+ */
+public final class LazyContentHeapReport {
+    private static final int DEFAULT_POSTS = 1_000_000;
+    private static final int GC_ROUNDS = 5;
+    private static final long GC_PAUSE_MILLIS = 100;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private LazyContentHeapReport() {
+    }
+
+    /**
+     * Runs the report.
+     * @param args optionally, the number of posts to generate
+     * @throws IOException if the snapshot could not be written or read
+     * @throws InterruptedException if interrupted while waiting for garbage collection
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final int postCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSTS;
+        final File binary = File.createTempFile("posts", ".bin");
+        binary.deleteOnExit();
+        writeSnapshot(postCount, binary);
+        System.out.printf("%d posts, snapshot %.1f MB%n", postCount, binary.length() / BYTES_PER_MEGABYTE);
+
+        report("eager content", binary, false);
+        report("lazy content", binary, true);
+    }
+
+    private static void writeSnapshot(int postCount, File binary) throws IOException {
+        final List<OriginalPost> posts = SyntheticPosts.generate(postCount, 0, 1L);
+        try (OutputStream output = Files.newOutputStream(binary.toPath())) {
+            BinaryPostSnapshot.write(posts, output);
+        }
+    }
+
+    private static void report(String name, File binary, boolean lazyContent)
+            throws IOException, InterruptedException {
+        final long before = usedHeap();
+        final Map<Long, Post> idMap = new HashMap<>();
+        final List<OriginalPost> posts = BinaryPostSnapshot.read(binary, idMap, lazyContent);
+        final long after = usedHeap();
+        System.out.printf("%-14s %8.1f MB resident for %d posts%n", name,
+                (after - before) / BYTES_PER_MEGABYTE, posts.size());
+        // Keep the posts reachable until they have been measured
+        if (idMap.size() != posts.size()) {
+            System.out.println("Unexpected duplicate ids");
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MILLIS);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
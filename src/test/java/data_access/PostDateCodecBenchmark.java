@@ -0,0 +1,85 @@
+package data_access;
+
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Compares the throughput and allocation of formatting and parsing post dates with the shared
+ * {@code SimpleDateFormat("MM/dd/yyyy")} the JSON reader and writer used to hold, with
+ * {@link DateTimeFormatter#ISO_INSTANT}, and with {@link PostDateCodec}, both in its ISO form and reading
+ * legacy day stamps. Run with {@code main}.
+ */
+public final class PostDateCodecBenchmark {
+    private static final int SAMPLES = 1 << 16;
+    private static final int OPERATIONS = 2_000_000;
+    private static final int ROUNDS = 3;
+    private static final long RANGE_MILLIS = 365L * 24 * 60 * 60 * 1000;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double OPERATIONS_PER_MILLION = 1e6;
+
+    private PostDateCodecBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args unused
+     * @throws ParseException if the legacy format fails to parse its own output
+     */
+    public static void main(String[] args) throws ParseException {
+        final Random random = new Random(1L);
+        final long now = System.currentTimeMillis();
+        final long[] times = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            times[i] = now - (long) (random.nextDouble() * RANGE_MILLIS);
+        }
+        final SimpleDateFormat legacy = new SimpleDateFormat("MM/dd/yyyy");
+        final DateTimeFormatter iso = DateTimeFormatter.ISO_INSTANT;
+        final PostDateCodec codec = new PostDateCodec(ZoneId.systemDefault());
+        final String[] legacyTexts = new String[SAMPLES];
+        final String[] isoTexts = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            legacyTexts[i] = legacy.format(new Date(times[i]));
+            isoTexts[i] = codec.format(times[i]);
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            run("SimpleDateFormat format", index -> legacy.format(new Date(times[index])).length());
+            run("ISO_INSTANT format", index -> iso.format(Instant.ofEpochMilli(times[index])).length());
+            run("codec format", index -> codec.format(times[index]).length());
+            run("SimpleDateFormat parse", index -> legacy.parse(legacyTexts[index]).getTime());
+            run("Instant.parse", index -> Instant.parse(isoTexts[index]).toEpochMilli());
+            run("codec parse ISO", index -> codec.parse(isoTexts[index]));
+            run("codec parse legacy", index -> codec.parse(legacyTexts[index]));
+            System.out.println();
+        }
+    }
+
+    private static void run(String name, Operation operation) throws ParseException {
+        final long allocatedBefore = allocatedBytes();
+        final long begin = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            checksum += operation.apply(i & (SAMPLES - 1));
+        }
+        final long elapsed = System.nanoTime() - begin;
+        final long allocated = allocatedBytes() - allocatedBefore;
+        System.out.printf("%-24s %7.2f M ops/s %6.0f bytes/op (checksum %d)%n", name,
+                OPERATIONS * NANOS_PER_SECOND / elapsed / OPERATIONS_PER_MILLION,
+                (double) allocated / OPERATIONS, checksum);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private interface Operation {
+        long apply(int index) throws ParseException;
+    }
+}
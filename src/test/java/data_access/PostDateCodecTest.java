@@ -0,0 +1,69 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+class PostDateCodecTest {
+
+    private static final String ZONE = "America/Toronto";
+    private static final int SAMPLES = 10_000;
+    // 1900 to 2100
+    private static final long RANGE_MILLIS = 6_311_390_400_000L;
+    private static final long EARLIEST_MILLIS = -2_208_988_800_000L;
+
+    private final PostDateCodec codec = new PostDateCodec(ZoneId.of(ZONE));
+
+    @Test
+    void formatsUtcInstantsWithMilliseconds() {
+        final long millis = Instant.parse("2025-11-17T14:03:27.512Z").toEpochMilli();
+        assertEquals("2025-11-17T14:03:27.512Z", codec.format(millis));
+        assertEquals("1970-01-01T00:00:00.000Z", codec.format(0L));
+        assertEquals("1969-12-31T23:59:59.999Z", codec.format(-1L));
+    }
+
+    @Test
+    void formattedTimesParseBackExactly() {
+        final Random random = new Random(1L);
+        for (int i = 0; i < SAMPLES; i++) {
+            final long millis = EARLIEST_MILLIS + (long) (random.nextDouble() * RANGE_MILLIS);
+            final String text = codec.format(millis);
+            assertEquals(Instant.ofEpochMilli(millis), Instant.parse(text));
+            assertEquals(millis, codec.parse(text));
+        }
+    }
+
+    @Test
+    void legacyDaysParseAsMidnightInTheirZone() throws ParseException {
+        final SimpleDateFormat legacy = new SimpleDateFormat("MM/dd/yyyy");
+        legacy.setTimeZone(TimeZone.getTimeZone(ZONE));
+        for (String day : new String[] {"11/17/2025", "03/09/2025", "1/5/2024", "12/31/1999"}) {
+            assertEquals(legacy.parse(day).getTime(), codec.parse(day));
+            // Served from the cache the second time
+            assertEquals(legacy.parse(day).getTime(), codec.parse(day));
+        }
+    }
+
+    @Test
+    void otherIsoInstantsAreAccepted() {
+        assertEquals(Instant.parse("2025-11-17T14:03:27Z").toEpochMilli(), codec.parse("2025-11-17T14:03:27Z"));
+        assertEquals(Instant.parse("+12025-01-01T00:00:00Z").toEpochMilli(),
+                codec.parse(codec.format(Instant.parse("+12025-01-01T00:00:00Z").toEpochMilli())));
+    }
+
+    @Test
+    void rejectsAnythingElse() {
+        assertThrows(IllegalArgumentException.class, () -> codec.parse("yesterday"));
+        assertThrows(IllegalArgumentException.class, () -> codec.parse("13/01/2025"));
+        assertThrows(IllegalArgumentException.class, () -> codec.parse("2025-02-30T00:00:00.000Z"));
+        assertThrows(IllegalArgumentException.class, () -> codec.parse("11/17"));
+    }
+}
@@ -0,0 +1,98 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+class PostJsonReaderTest {
+
+    private static final int DEEP_THREAD_DEPTH = 20_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsPostsRepliesAndForwardReferences() throws IOException {
+        final File file = write("[ {\n"
+                + "  \"id\" : 1, \"title\" : \"First\", \"username\" : \"alice\", \"date\" : \"11/17/2025\",\n"
+                + "  \"content\" : \"Hello\", \"votes\" : [ 2, 1 ], \"extra\" : { \"ignored\" : [ 1, 2 ] },\n"
+                + "  \"replies\" : [ { \"id\" : 2, \"username\" : \"bob\", \"date\" : \"11/18/2025\",\n"
+                + "    \"content\" : \"Hi\", \"votes\" : [ 0, 3 ], \"replies\" : [ ] } ],\n"
+                + "  \"referencedPostId\" : 3\n"
+                + "}, {\n"
+                + "  \"replies\" : [ ], \"id\" : 3, \"title\" : \"Second\", \"username\" : \"carol\",\n"
+                + "  \"date\" : \"11/19/2025\", \"content\" : \"Later\", \"votes\" : [ 0, 0 ], \"referencedPostId\" : null\n"
+                + "} ]");
+        final Map<Long, Post> idMap = new HashMap<>();
+
+        final List<OriginalPost> posts = new PostJsonReader().read(file, idMap);
+
+        assertEquals(2, posts.size());
+        assertEquals(3, idMap.size());
+        final OriginalPost first = posts.get(0);
+        assertEquals("First", first.getTitle());
+        assertEquals(2, first.getVotes()[0]);
+        assertEquals(1, first.getVotes()[1]);
+        final ReplyPost reply = first.getReplies().get(0);
+        assertEquals("bob", reply.getCreatorUsername());
+        assertEquals(3, reply.getVotes()[1]);
+        assertSame(reply, idMap.get(2L));
+        assertSame(posts.get(1), first.getReferencedPost());
+        assertEquals(null, posts.get(1).getReferencedPost());
+    }
+
+    @Test
+    void readsEmptyFile() throws IOException {
+        final File file = write("");
+
+        assertTrue(new PostJsonReader().read(file, new HashMap<>()).isEmpty());
+    }
+
+    @Test
+    void readsVeryDeepReplyChains() throws IOException {
+        final StringBuilder json = new StringBuilder("[ { \"id\" : 1, \"title\" : \"Deep\", \"username\" : \"u\", "
+                + "\"date\" : \"11/17/2025\", \"content\" : \"root\", \"votes\" : [ 0, 0 ], \"replies\" : [ ");
+        for (int i = 0; i < DEEP_THREAD_DEPTH; i++) {
+            json.append("{ \"id\" : ").append(i + 2).append(", \"username\" : \"u\", \"date\" : \"11/17/2025\", ")
+                    .append("\"content\" : \"c\", \"votes\" : [ 0, 0 ], \"replies\" : [ ");
+        }
+        for (int i = 0; i < DEEP_THREAD_DEPTH; i++) {
+            json.append("] }");
+        }
+        json.append("] } ]");
+        final Map<Long, Post> idMap = new HashMap<>();
+
+        final List<OriginalPost> posts = new PostJsonReader().read(write(json.toString()), idMap);
+
+        assertEquals(DEEP_THREAD_DEPTH + 1, idMap.size());
+        List<ReplyPost> level = posts.get(0).getReplies();
+        int depth = 0;
+        while (!level.isEmpty()) {
+            depth++;
+            level = level.get(0).getReplies();
+        }
+        assertEquals(DEEP_THREAD_DEPTH, depth);
+    }
+
+    private File write(String json) throws IOException {
+        final File file = tempDir.resolve("posts.json").toFile();
+        Files.write(file.toPath(), json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,123 @@
+package data_access;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.List;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import entities.OriginalPost;
+import entities.ReplyPost;
+
+/**
+ * Compares the streaming {@link PostJsonWriter} with the Gson tree serializer it replaced.
+ * Run with {@code main}; prints latency and bytes allocated per save of a synthetic forum.
+ */
+public final class PostJsonWriterBenchmark {
+    private static final int POSTS = 20_000;
+    private static final int REPLIES_PER_POST = 10;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private PostJsonWriterBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args unused
+     * @throws IOException if serializing fails
+     */
+    public static void main(String[] args) throws IOException {
+        final List<OriginalPost> posts = SyntheticPosts.generate(POSTS, REPLIES_PER_POST, 1L);
+        System.out.println("Saving " + POSTS + " posts with " + REPLIES_PER_POST + " replies each");
+
+        measure("gson tree, pretty", () -> writeTree(posts));
+        measure("streaming, pretty", () -> new PostJsonWriter(true).write(posts, OutputStream.nullOutputStream()));
+        measure("streaming, compact", () -> new PostJsonWriter(false).write(posts, OutputStream.nullOutputStream()));
+    }
+
+    private static void measure(String name, Save save) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            save.run();
+        }
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            save.run();
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%-20s %8.1f ms/save %10.1f MB allocated/save%n", name,
+                elapsed / NANOS_PER_MILLI / MEASURED_ROUNDS, allocated / BYTES_PER_MEGABYTE / MEASURED_ROUNDS);
+    }
+
+    /**
+     * The tree-based serializer FilePostDataAccessObject used before the streaming writer.
+     */
+    private static void writeTree(List<OriginalPost> posts) throws IOException {
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy");
+        final Gson gsonSaving = new GsonBuilder().setPrettyPrinting().create();
+        final JsonArray jsonArray = new JsonArray();
+        for (OriginalPost post : posts) {
+            final JsonObject postObj = new JsonObject();
+            postObj.addProperty("id", post.getId());
+            postObj.addProperty("title", post.getTitle());
+            postObj.addProperty("username", post.getCreatorUsername());
+            postObj.addProperty("date", dateFormat.format(post.getCreationDate()));
+            postObj.addProperty("content", post.getContent());
+            final JsonArray votesArray = new JsonArray();
+            votesArray.add(post.getVotes()[0]);
+            votesArray.add(post.getVotes()[1]);
+            postObj.add("votes", votesArray);
+            final JsonArray repliesArray = new JsonArray();
+            for (ReplyPost reply : post.getReplies()) {
+                repliesArray.add(formatReply(reply, dateFormat));
+            }
+            postObj.add("replies", repliesArray);
+            jsonArray.add(postObj);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                OutputStream.nullOutputStream(), StandardCharsets.UTF_8))) {
+            gsonSaving.toJson(jsonArray, writer);
+        }
+    }
+
+    private static JsonObject formatReply(ReplyPost replyPost, SimpleDateFormat dateFormat) {
+        final JsonObject replyPostObj = new JsonObject();
+        replyPostObj.addProperty("id", replyPost.getId());
+        replyPostObj.addProperty("username", replyPost.getCreatorUsername());
+        replyPostObj.addProperty("date", dateFormat.format(replyPost.getCreationDate()));
+        replyPostObj.addProperty("content", replyPost.getContent());
+        final JsonArray votesArray = new JsonArray();
+        votesArray.add(replyPost.getVotes()[0]);
+        votesArray.add(replyPost.getVotes()[1]);
+        replyPostObj.add("votes", votesArray);
+        final JsonArray repliesArray = new JsonArray();
+        for (ReplyPost reply : replyPost.getReplies()) {
+            repliesArray.add(formatReply(reply, dateFormat));
+        }
+        replyPostObj.add("replies", repliesArray);
+        return replyPostObj;
+    }
+
+    /**
+     * One save of the whole forum.
+     */
+    @FunctionalInterface
+    private interface Save {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,130 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+class PostJsonWriterTest {
+
+    private static final int DEEP_THREAD_DEPTH = 20_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void prettyOutputMatchesSnapshotLayout() throws IOException {
+        final List<OriginalPost> posts = samplePosts();
+
+        final String json = write(posts, true);
+
+        assertTrue(json.startsWith("[ {\n  \"id\" : 10,\n  \"title\" : \"First\""));
+        assertTrue(json.contains("\"votes\" : [ 2, 1 ]"));
+        assertTrue(json.contains("\"referencedPostId\" : 20"));
+    }
+
+    @Test
+    void compactOutputHasNoWhitespace() throws IOException {
+        final String json = write(samplePosts(), false);
+
+        assertFalse(json.contains("\n"));
+        assertTrue(json.startsWith("[{\"id\":10,\"title\":\"First\""));
+    }
+
+    @Test
+    void writtenPostsReadBackUnchanged() throws IOException {
+        for (boolean pretty : new boolean[] {true, false}) {
+            final Map<Long, Post> idMap = new HashMap<>();
+            final List<OriginalPost> posts = new PostJsonReader().read(toFile(write(samplePosts(), pretty)), idMap);
+
+            assertEquals(2, posts.size());
+            assertEquals("Hello, \"world\"\n", posts.get(0).getContent());
+            assertEquals(1, posts.get(0).getVotes()[1]);
+            assertEquals("Nested", posts.get(0).getReplies().get(0).getReplies().get(0).getContent());
+            assertEquals(20L, posts.get(0).getReferencedPost().getId());
+            assertEquals(5, idMap.size());
+        }
+    }
+
+    @Test
+    void creationTimesKeepTheTimeOfDay() throws IOException {
+        final long created = 1_763_388_207_512L;
+        final OriginalPost post = new OriginalPost(1, "Timed", "Content", "alice", created, 0, 0);
+        post.addReply(new ReplyPost(2, "bob", "Reply", created + 1, 0, 0));
+        final List<OriginalPost> posts = new ArrayList<>();
+        posts.add(post);
+
+        final String json = write(posts, false);
+        assertTrue(json.contains("\"date\":\"2025-11-17T14:03:27.512Z\""));
+        final List<OriginalPost> read = new PostJsonReader().read(toFile(json), new HashMap<>());
+        assertEquals(created, read.get(0).getCreationMillis());
+        assertEquals(created + 1, read.get(0).getReplies().get(0).getCreationMillis());
+    }
+
+    @Test
+    void writesVeryDeepReplyChains() throws IOException {
+        final OriginalPost root = new OriginalPost(1, "Deep", "root", "u", new Date(), 0, 0);
+        ReplyPost parent = new ReplyPost(2, "u", "c", new Date(), 0, 0);
+        root.addReply(parent);
+        for (int i = 1; i < DEEP_THREAD_DEPTH; i++) {
+            final ReplyPost reply = new ReplyPost(i + 2, "u", "c", new Date(), 0, 0);
+            parent.addReply(reply);
+            parent = reply;
+        }
+        final List<OriginalPost> posts = new ArrayList<>();
+        posts.add(root);
+
+        final Map<Long, Post> idMap = new HashMap<>();
+        new PostJsonReader().read(toFile(write(posts, false)), idMap);
+
+        assertEquals(DEEP_THREAD_DEPTH + 1, idMap.size());
+    }
+
+    private List<OriginalPost> samplePosts() {
+        final OriginalPost first = new OriginalPost(10, "First", "Hello, \"world\"\n", "alice", new Date(), 2, 1);
+        final ReplyPost reply = new ReplyPost(11, "bob", "Reply", new Date(), 0, 0);
+        reply.addReply(new ReplyPost(12, "carol", "Nested", new Date(), 1, 0));
+        first.addReply(reply);
+        final OriginalPost second = new OriginalPost(20, "Second", "Other", "dave", new Date(), 0, 0);
+        second.addReply(new ReplyPost(21, "erin", "Another", new Date(), 0, 0));
+        first.setReferencedPost(second);
+
+        final List<OriginalPost> posts = new ArrayList<>();
+        posts.add(first);
+        posts.add(second);
+        return posts;
+    }
+
+    private String write(List<OriginalPost> posts, boolean pretty) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new PostJsonWriter(pretty).write(posts, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private File toFile(String json) throws IOException {
+        final File file = tempDir.resolve("posts.json").toFile();
+        try (OutputStream output = Files.newOutputStream(file.toPath())) {
+            output.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+}
@@ -0,0 +1,107 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+/**
+ * Compares query latency of the {@link PostSearchIndex} with the lowercase-and-contains scan over every title,
+ * content and username that keyword search used before. Run with {@code main} and a large heap
+ * (e.g. {@code -Xmx4g}); the forum sizes default to 100 000 and 1 000 000 posts, replies included.
+ */
+public final class PostSearchBenchmark {
+    private static final int[] DEFAULT_SIZES = {100_000, 1_000_000};
+    private static final int REPLIES_PER_POST = 9;
+    private static final String[] QUERIES = {"user42", "journal", "arch", "snapshot index", "検索", "论坛 user7"};
+    private static final int INDEXED_RUNS = 20;
+    private static final int SCAN_RUNS = 3;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private PostSearchBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args optionally, the forum sizes to measure
+     */
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        for (int size : sizes) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        final List<OriginalPost> threads =
+                SyntheticPosts.generate(size / (REPLIES_PER_POST + 1), REPLIES_PER_POST, 1L);
+        final List<Post> all = flatten(threads);
+
+        final long buildStart = System.nanoTime();
+        final PostSearchIndex index = new PostSearchIndex();
+        index.addThreads(threads);
+        System.out.printf("%,d posts: index built in %.0f ms%n", all.size(),
+                (System.nanoTime() - buildStart) / NANOS_PER_MILLI);
+
+        for (String query : QUERIES) {
+            int matches = 0;
+            long start = System.nanoTime();
+            for (int run = 0; run < INDEXED_RUNS; run++) {
+                matches = index.search(query).size();
+            }
+            final double indexed = (System.nanoTime() - start) / NANOS_PER_MILLI / INDEXED_RUNS;
+            start = System.nanoTime();
+            for (int run = 0; run < INDEXED_RUNS; run++) {
+                index.search(query, 20);
+            }
+            final double top20 = (System.nanoTime() - start) / NANOS_PER_MILLI / INDEXED_RUNS;
+            start = System.nanoTime();
+            int scanned = 0;
+            for (int run = 0; run < SCAN_RUNS; run++) {
+                scanned = scan(all, query).size();
+            }
+            final double scan = (System.nanoTime() - start) / NANOS_PER_MILLI / SCAN_RUNS;
+            System.out.printf("  %-16s index %8.2f ms (%,9d hits), top 20 %8.2f ms, scan %8.2f ms (%,9d hits)%n",
+                    query, indexed, matches, top20, scan, scanned);
+        }
+    }
+
+    private static List<Post> scan(List<Post> all, String keyword) {
+        final String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        final List<Post> results = new ArrayList<>();
+        for (Post post : all) {
+            final boolean titleMatches = post instanceof OriginalPost
+                    && ((OriginalPost) post).getTitle().toLowerCase(Locale.ROOT).contains(lowerKeyword);
+            if (titleMatches || post.getContent().toLowerCase(Locale.ROOT).contains(lowerKeyword)
+                    || post.getCreatorUsername().toLowerCase(Locale.ROOT).contains(lowerKeyword)) {
+                results.add(post);
+            }
+        }
+        return results;
+    }
+
+    private static List<Post> flatten(List<OriginalPost> threads) {
+        final List<Post> all = new ArrayList<>();
+        final List<Post> stack = new ArrayList<>(threads);
+        while (!stack.isEmpty()) {
+            final Post post = stack.remove(stack.size() - 1);
+            all.add(post);
+            if (post instanceof OriginalPost) {
+                stack.addAll(((OriginalPost) post).getReplies());
+            }
+            else {
+                stack.addAll(((ReplyPost) post).getReplies());
+            }
+        }
+        return all;
+    }
+}
@@ -0,0 +1,101 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+    private OriginalPost swing;
+    private OriginalPost japanese;
+    private ReplyPost reply;
+
+    @BeforeEach
+    void setUp() {
+        swing = new OriginalPost(1L, "Swing layouts", "How do I nest panels?", "alice", new Date(), 0, 0);
+        japanese = new OriginalPost(2L, "東京の天気", "今日は晴れです。藍月なくる大好き", "bob", new Date(), 0, 0);
+        reply = new ReplyPost(3L, "carol", "Use a BorderLayout with nested panels, swing is fine", new Date(), 0, 0);
+        swing.addReply(reply);
+        index = new PostSearchIndex();
+        index.addThreads(List.of(swing, japanese));
+    }
+
+    @Test
+    void findsWordsInTitlesContentsAndUsernames() {
+        assertEquals(List.of(reply), index.search("borderlayout"));
+        assertEquals(List.of(japanese), index.search("BOB"));
+        assertEquals(2, index.search("panels").size());
+    }
+
+    @Test
+    void allQueryWordsMustMatchAsPrefixes() {
+        assertEquals(List.of(reply), index.search("bord nest"));
+        assertEquals(2, index.search("pan").size());
+        assertTrue(index.search("panels cobol").isEmpty());
+    }
+
+    @Test
+    void titleMatchesRankFirst() {
+        assertEquals(List.of(swing, reply), index.search("swing"));
+    }
+
+    @Test
+    void findsJapaneseWithoutSpaces() {
+        assertEquals(List.of(japanese), index.search("天気"));
+        assertEquals(List.of(japanese), index.search("晴れ"));
+        assertEquals(List.of(japanese), index.search("大好き"));
+        assertEquals(List.of(japanese), index.search("気"));
+        assertTrue(index.search("天晴").isEmpty());
+    }
+
+    @Test
+    void normalizesFullWidthLatin() {
+        assertEquals(List.of(swing, reply), index.search("ＳＷＩＮＧ"));
+    }
+
+    @Test
+    void editsReplaceTheOldContent() {
+        reply.setContent("Try GridBagLayout instead");
+        index.add(reply);
+
+        assertEquals(List.of(reply), index.search("gridbag"));
+        assertTrue(index.search("borderlayout").isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void manyEditsKeepResultsCorrect() {
+        for (int i = 0; i < 5_000; i++) {
+            reply.setContent("revision" + i);
+            index.add(reply);
+        }
+
+        assertEquals(List.of(reply), index.search("revision4999"));
+        assertTrue(index.search("revision4998").isEmpty());
+        assertEquals(List.of(swing), index.search("swing"));
+    }
+
+    @Test
+    void limitKeepsTheBestMatches() {
+        final List<OriginalPost> posts = new ArrayList<>();
+        for (long id = 10; id < 20; id++) {
+            posts.add(new OriginalPost(id, "other", "java " + "java ".repeat((int) id), "dave", new Date(), 0, 0));
+        }
+        index.addThreads(posts);
+
+        final List<Post> best = index.search("java", 3);
+        assertEquals(3, best.size());
+        assertEquals(index.search("java").subList(0, 3), best);
+    }
+}
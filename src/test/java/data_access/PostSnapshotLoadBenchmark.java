@@ -0,0 +1,71 @@
+package data_access;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+
+import entities.OriginalPost;
+
+/**
+ * Compares cold-start load time of the JSON snapshot with the binary snapshot.
+ * Run with {@code main}; the forum size can be given as the first argument.
+ */
+public final class PostSnapshotLoadBenchmark {
+    private static final int DEFAULT_POSTS = 50_000;
+    private static final int REPLIES_PER_POST = 10;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private PostSnapshotLoadBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args optionally, the number of original posts to generate
+     * @throws IOException if the snapshots could not be written or read
+     */
+    public static void main(String[] args) throws IOException {
+        final int postCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSTS;
+        final List<OriginalPost> posts = SyntheticPosts.generate(postCount, REPLIES_PER_POST, 1L);
+        final File json = File.createTempFile("posts", ".json");
+        final File binary = File.createTempFile("posts", ".bin");
+        json.deleteOnExit();
+        binary.deleteOnExit();
+        try (OutputStream output = Files.newOutputStream(json.toPath())) {
+            new PostJsonWriter(true).write(posts, output);
+        }
+        try (OutputStream output = Files.newOutputStream(binary.toPath())) {
+            BinaryPostSnapshot.write(posts, output);
+        }
+        System.out.printf("%d posts, %d replies each: JSON %.1f MB, binary %.1f MB%n", postCount, REPLIES_PER_POST,
+                json.length() / BYTES_PER_MEGABYTE, binary.length() / BYTES_PER_MEGABYTE);
+
+        measure("json", () -> new PostJsonReader().read(json, new HashMap<>()));
+        measure("binary", () -> BinaryPostSnapshot.read(binary, new HashMap<>()));
+    }
+
+    private static void measure(String name, Load load) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            load.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            load.run();
+        }
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("%-8s %8.1f ms/load%n", name, elapsed / NANOS_PER_MILLI / MEASURED_ROUNDS);
+    }
+
+    /**
+     * One full load of the snapshot.
+     */
+    @FunctionalInterface
+    private interface Load {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,91 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import use_case.browse_posts.FeedCursor;
+
+class ScoreIndexTest {
+
+    @Test
+    void ordersByScoreThenId() {
+        final ScoreIndex index = new ScoreIndex();
+        index.update(1L, 5);
+        index.update(2L, 9);
+        index.update(3L, 5);
+        index.update(4L, -2);
+
+        assertEquals(List.of(2L, 1L, 3L, 4L), index.topIds(null, 10));
+        assertEquals(List.of(2L, 1L), index.topIds(null, 2));
+        assertEquals(List.of(3L, 4L), index.topIds(new FeedCursor(5, 1L), 10));
+        assertEquals(2, index.rankOf(3L));
+        assertEquals(-1, index.rankOf(99L));
+    }
+
+    @Test
+    void votesMovePosts() {
+        final ScoreIndex index = new ScoreIndex();
+        index.update(1L, 1);
+        index.update(2L, 2);
+        index.update(1L, 3);
+        index.addIfAbsent(1L, 0);
+
+        assertEquals(List.of(1L, 2L), index.topIds(null, 10));
+        assertEquals(0, index.rankOf(1L));
+        index.remove(1L);
+        assertEquals(List.of(2L), index.topIds(null, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void agreesWithSortingAfterManyVotes() {
+        final Random random = new Random(3L);
+        final ScoreIndex index = new ScoreIndex();
+        final Map<Long, Long> scores = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            final long id = random.nextInt(2_000);
+            final long score = random.nextInt(100) - 20;
+            if (random.nextInt(10) == 0) {
+                index.remove(id);
+                scores.remove(id);
+            }
+            else {
+                index.update(id, score);
+                scores.put(id, score);
+            }
+        }
+
+        final List<FeedCursor> expected = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : scores.entrySet()) {
+            expected.add(new FeedCursor(entry.getValue(), entry.getKey()));
+        }
+        expected.sort(null);
+        assertEquals(expected.size(), index.size());
+        for (int rank = 0; rank < expected.size(); rank += 37) {
+            assertEquals(rank, index.rankOf(expected.get(rank).getPostId()));
+        }
+
+        final List<Long> paged = new ArrayList<>();
+        FeedCursor after = null;
+        List<Long> page = index.topIds(null, 25);
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            final long last = page.get(page.size() - 1);
+            after = new FeedCursor(scores.get(last), last);
+            page = index.topIds(after, 25);
+        }
+        assertEquals(expected.size(), paged.size());
+        for (int i = 0; i < paged.size(); i++) {
+            assertEquals(expected.get(i).getPostId(), paged.get(i));
+        }
+        assertTrue(index.topIds(after, 25).isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import entities.OriginalPost;
+import entities.Post;
+import entities.ReplyPost;
+
+class ShardedPostDataAccessObjectTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File threads;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final OriginalPost first = new OriginalPost(1, "First", "Hello", "alice", new Date(), 0, 0);
+        first.addReply(new ReplyPost(2, "bob", "Reply", new Date(), 0, 0));
+        final OriginalPost second = new OriginalPost(3, "Second", "World", "carol", new Date(), 0, 0);
+        final OriginalPost third = new OriginalPost(4, "Third", "Again", "dave", new Date(), 0, 0);
+        third.setReferencedPost(first.getReplies().get(0));
+        final File postsJson = tempDir.resolve("posts.json").toFile();
+        try (OutputStream output = Files.newOutputStream(postsJson.toPath())) {
+            new PostJsonWriter(true).write(List.of(first, second, third), output);
+        }
+        threads = tempDir.resolve("threads").toFile();
+        new ShardedPostDataAccessObject(threads.getPath()).importJson(postsJson);
+    }
+
+    @Test
+    void importCreatesOneSegmentPerThread() {
+        assertEquals(4, threads.list().length);
+
+        final ShardedPostDataAccessObject dao = new ShardedPostDataAccessObject(threads.getPath());
+        final List<OriginalPost> posts = dao.getAllPosts();
+
+        assertEquals(3, posts.size());
+        assertEquals("Second", posts.get(1).getTitle());
+        assertSame(dao.getPostById(2L), posts.get(2).getReferencedPost());
+    }
+
+    @Test
+    void reimportDeletesSegmentsOfDroppedThreads() throws IOException {
+        final File postsJson = tempDir.resolve("fewer.json").toFile();
+        try (OutputStream output = Files.newOutputStream(postsJson.toPath())) {
+            new PostJsonWriter(true).write(
+                    List.of(new OriginalPost(3, "Second", "World", "carol", new Date(), 0, 0)), output);
+        }
+        new ShardedPostDataAccessObject(threads.getPath()).importJson(postsJson);
+
+        assertFalse(new File(threads, "thread-1.json").exists());
+        assertFalse(new File(threads, "thread-4.json").exists());
+        assertTrue(new File(threads, "thread-3.json").exists());
+        assertEquals(List.of(3L), new ShardedPostDataAccessObject(threads.getPath()).getThreadIds());
+    }
+
+    @Test
+    void readingOneThreadLoadsOnlyItsSegment() {
+        final ShardedPostDataAccessObject dao = new ShardedPostDataAccessObject(threads.getPath());
+
+        assertEquals("World", dao.getThread(3L).getContent());
+        assertEquals(List.of(1L, 3L, 4L), dao.getThreadIds());
+        assertEquals(1, dao.getLoadedThreadCount());
+    }
+
+    @Test
+    void replyRewritesOnlyItsThreadSegment() throws IOException {
+        final File firstSegment = new File(threads, "thread-1.json");
+        final File secondSegment = new File(threads, "thread-3.json");
+        final byte[] secondBefore = Files.readAllBytes(secondSegment.toPath());
+        final long secondModified = secondSegment.lastModified();
+        final ShardedPostDataAccessObject dao = new ShardedPostDataAccessObject(threads.getPath());
+
+        final Post reply = dao.getPostById(2L);
+        final ReplyPost nested = new ReplyPost("erin", "Nested reply");
+        dao.save(nested, (ReplyPost) reply);
+        dao.saveVote(2L, 5, 1);
+
+        assertArrayEquals(secondBefore, Files.readAllBytes(secondSegment.toPath()));
+        assertEquals(secondModified, secondSegment.lastModified());
+        final ShardedPostDataAccessObject reloaded = new ShardedPostDataAccessObject(threads.getPath());
+        assertNotNull(reloaded.getPostById(nested.getId()));
+        assertEquals(5, reloaded.getPostById(2L).getVotes()[0]);
+        assertEquals(1, reloaded.getLoadedThreadCount());
+        assertTrue(new String(Files.readAllBytes(firstSegment.toPath()), StandardCharsets.UTF_8)
+                .contains("Nested reply"));
+    }
+
+    @Test
+    void newThreadsAreAddedToTheIndex() {
+        final ShardedPostDataAccessObject dao = new ShardedPostDataAccessObject(threads.getPath());
+        final OriginalPost post = new OriginalPost("frank", "Fourth", "New thread");
+
+        dao.save(post);
+
+        final ShardedPostDataAccessObject reloaded = new ShardedPostDataAccessObject(threads.getPath());
+        assertEquals(4, reloaded.getThreadIds().size());
+        assertEquals("New thread", reloaded.getThread(post.getId()).getContent());
+    }
+}
@@ -0,0 +1,82 @@
+package data_access;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import entities.OriginalPost;
+import entities.ReplyPost;
+
+/**
+ * Generates reproducible forums of arbitrary size for benchmarks.
+ */
+public final class SyntheticPosts {
+    private static final String[] WORDS = {
+        "java", "swing", "forum", "reply", "vote", "thread", "clean", "architecture", "entity", "presenter",
+        "controller", "interactor", "posting", "search", "index", "snapshot", "journal", "database",
+        "日本語", "検索", "投稿", "返信", "한국어", "中文", "论坛",
+    };
+    private static final int WORDS_PER_CONTENT = 40;
+    private static final int WORDS_PER_TITLE = 5;
+    private static final int MAX_VOTES = 50;
+    private static final int USERS = 500;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int DAYS = 365;
+
+    private SyntheticPosts() {
+    }
+
+    /**
+     * Generates original posts, each with replies spread over a few nesting levels.
+     * Ids are assigned sequentially starting at 1, replies included.
+     * @param postCount the number of original posts
+     * @param repliesPerPost the number of replies under each original post
+     * @param seed the random seed, so that runs are comparable
+     * @return the generated posts
+     */
+    public static List<OriginalPost> generate(int postCount, int repliesPerPost, long seed) {
+        final Random random = new Random(seed);
+        final long now = System.currentTimeMillis();
+        final List<OriginalPost> posts = new ArrayList<>(postCount);
+        long nextId = 1;
+        for (int i = 0; i < postCount; i++) {
+            final OriginalPost post = new OriginalPost(nextId++, words(random, WORDS_PER_TITLE),
+                    words(random, WORDS_PER_CONTENT), user(random), date(random, now),
+                    random.nextInt(MAX_VOTES), random.nextInt(MAX_VOTES));
+            final List<ReplyPost> thread = new ArrayList<>();
+            for (int r = 0; r < repliesPerPost; r++) {
+                final ReplyPost reply = new ReplyPost(nextId++, user(random), words(random, WORDS_PER_CONTENT),
+                        date(random, now), random.nextInt(MAX_VOTES), random.nextInt(MAX_VOTES));
+                if (thread.isEmpty() || random.nextBoolean()) {
+                    post.addReply(reply);
+                }
+                else {
+                    thread.get(random.nextInt(thread.size())).addReply(reply);
+                }
+                thread.add(reply);
+            }
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    private static String words(Random random, int count) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String user(Random random) {
+        return "user" + random.nextInt(USERS);
+    }
+
+    private static Date date(Random random, long now) {
+        return new Date(now - random.nextInt(DAYS) * DAY_MILLIS);
+    }
+}
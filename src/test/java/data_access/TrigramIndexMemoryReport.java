@@ -0,0 +1,91 @@
+package data_access;
+
+import java.util.List;
+
+import entities.OriginalPost;
+
+/**
+ * Reports the heap taken by a {@link PostSubstringIndex}, scaled to one million posts, and compares keyword
+ * search through it with the lowercase-and-contains scan it replaces.
+ * Run with {@code main} and a large heap (e.g. {@code -Xmx4g}); the number of posts can be given as the first
+ * argument and defaults to one million.
+ */
+public final class TrigramIndexMemoryReport {
+    private static final int DEFAULT_POSTS = 1_000_000;
+    private static final int REPLIES_PER_POST = 0;
+    private static final double POSTS_PER_MILLION = 1_000_000.0;
+    private static final int GC_ROUNDS = 5;
+    private static final long GC_PAUSE_MILLIS = 100;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final int RUNS = 5;
+    private static final String[] KEYWORDS = {"user42", "itect", "napshot ind", "検索", "論壇"};
+
+    private TrigramIndexMemoryReport() {
+    }
+
+    /**
+     * Runs the report.
+     * @param args optionally, the number of posts to generate
+     * @throws InterruptedException if interrupted while waiting for garbage collection
+     */
+    public static void main(String[] args) throws InterruptedException {
+        final int postCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POSTS;
+        final List<OriginalPost> posts = SyntheticPosts.generate(postCount, REPLIES_PER_POST, 1L);
+
+        final long before = usedHeap();
+        final long start = System.nanoTime();
+        final PostSubstringIndex index = new PostSubstringIndex();
+        index.addThreads(posts);
+        final long buildNanos = System.nanoTime() - start;
+        final long after = usedHeap();
+
+        final double scale = POSTS_PER_MILLION / postCount;
+        System.out.printf("%,d posts: index built in %.0f ms, %,d postings%n", postCount,
+                buildNanos / NANOS_PER_MILLI, index.getPostingCount());
+        System.out.printf("  measured  %8.1f MB (%.1f MB per million posts)%n",
+                (after - before) / BYTES_PER_MEGABYTE, (after - before) * scale / BYTES_PER_MEGABYTE);
+        System.out.printf("  estimated %8.1f MB (%.1f MB per million posts)%n",
+                index.estimateMemoryBytes() / BYTES_PER_MEGABYTE,
+                index.estimateMemoryBytes() * scale / BYTES_PER_MEGABYTE);
+
+        for (String keyword : KEYWORDS) {
+            int indexHits = 0;
+            long indexNanos = Long.MAX_VALUE;
+            int scanHits = 0;
+            long scanNanos = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long runStart = System.nanoTime();
+                indexHits = index.search(keyword).size();
+                indexNanos = Math.min(indexNanos, System.nanoTime() - runStart);
+                runStart = System.nanoTime();
+                scanHits = scan(posts, keyword);
+                scanNanos = Math.min(scanNanos, System.nanoTime() - runStart);
+            }
+            System.out.printf("  %-12s index %8.2f ms (%,9d hits), scan %8.2f ms (%,9d hits)%n", keyword,
+                    indexNanos / NANOS_PER_MILLI, indexHits, scanNanos / NANOS_PER_MILLI, scanHits);
+        }
+    }
+
+    private static int scan(List<OriginalPost> posts, String keyword) {
+        final String lowerKeyword = keyword.toLowerCase();
+        int hits = 0;
+        for (OriginalPost post : posts) {
+            if (post.getTitle().toLowerCase().contains(lowerKeyword)
+                    || post.getContent().toLowerCase().contains(lowerKeyword)
+                    || post.getCreatorUsername().toLowerCase().contains(lowerKeyword)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MILLIS);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,94 @@
+package data_access;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import entities.OriginalPost;
+import use_case.upvote_downvote.VoteDataAccessInterface;
+import use_case.upvote_downvote.VoteInputData;
+import use_case.upvote_downvote.VoteInteractor;
+import use_case.upvote_downvote.VoteOutputBoundary;
+import use_case.upvote_downvote.VoteOutputData;
+
+/**
+ * Measures sustained votes per second through {@link VoteInteractor} with votes written straight to the
+ * file DAO and with the {@link WriteBehindVoteDataAccessObject} in front of it.
+ * Run with {@code main}.
+ */
+public final class VoteThroughputBenchmark {
+    private static final int POSTS = 2_000;
+    private static final int REPLIES_PER_POST = 5;
+    private static final int HOT_POSTS = 20;
+    private static final long RUN_MILLIS = 5_000;
+    private static final long FLUSH_INTERVAL_MILLIS = 2_000;
+    private static final int FLUSH_BATCH_SIZE = 100;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private VoteThroughputBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args unused
+     * @throws IOException if the posts file could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        for (boolean journaled : new boolean[] {false, true}) {
+            final String mode = journaled ? "journaled" : "snapshot";
+            run(mode + ", direct", createDao(journaled), false);
+            run(mode + ", write-behind", createDao(journaled), true);
+        }
+    }
+
+    private static FilePostDataAccessObject createDao(boolean journaled) throws IOException {
+        final List<OriginalPost> posts = SyntheticPosts.generate(POSTS, REPLIES_PER_POST, 1L);
+        final File file = File.createTempFile("posts", ".json");
+        file.deleteOnExit();
+        new File(file.getPath() + ".journal").deleteOnExit();
+        try (OutputStream output = Files.newOutputStream(file.toPath())) {
+            new PostJsonWriter(true).write(posts, output);
+        }
+        return new FilePostDataAccessObject(file.getPath(), journaled);
+    }
+
+    private static void run(String name, FilePostDataAccessObject dao, boolean writeBehind) {
+        final VoteDataAccessInterface votes;
+        if (writeBehind) {
+            votes = new WriteBehindVoteDataAccessObject(dao, FLUSH_INTERVAL_MILLIS, FLUSH_BATCH_SIZE);
+        }
+        else {
+            votes = dao;
+        }
+        final VoteInteractor interactor = new VoteInteractor(votes, new VoteOutputBoundary() {
+            @Override
+            public void prepareSuccessView(VoteOutputData outputData) {
+                // Nothing to present
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                throw new IllegalStateException(errorMessage);
+            }
+        });
+        dao.getAllPosts();
+
+        final Random random = new Random(1L);
+        final long start = System.currentTimeMillis();
+        long count = 0;
+        while (System.currentTimeMillis() - start < RUN_MILLIS) {
+            // Ids 1..POSTS * (REPLIES_PER_POST + 1) exist; voting concentrates on a few hot threads
+            final long id = 1 + random.nextInt(HOT_POSTS) * (REPLIES_PER_POST + 1L);
+            interactor.execute(new VoteInputData(random.nextBoolean(), id));
+            count++;
+        }
+        if (votes instanceof WriteBehindVoteDataAccessObject) {
+            ((WriteBehindVoteDataAccessObject) votes).close();
+        }
+        final long elapsed = System.currentTimeMillis() - start;
+        System.out.printf("%-24s %10.0f votes/s%n", name, count * MILLIS_PER_SECOND / elapsed);
+    }
+}
@@ -0,0 +1,105 @@
+package data_access;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import entities.OriginalPost;
+import entities.Post;
+import use_case.upvote_downvote.VoteDataAccessInterface;
+
+class WriteBehindVoteDataAccessObjectTest {
+
+    private static final long NEVER = 60_000;
+    private static final long SHORT_INTERVAL = 20;
+    private static final long WAIT_MILLIS = 2_000;
+
+    private final Map<Long, Post> posts = new HashMap<>();
+    private final List<Map<Long, int[]>> writtenBatches = new ArrayList<>();
+    private final VoteDataAccessInterface storage = new VoteDataAccessInterface() {
+        @Override
+        public Post getPostById(long contentId) {
+            return posts.get(contentId);
+        }
+
+        @Override
+        public void saveVote(long contentId, int newUpvotes, int newDownvotes) {
+            final Map<Long, int[]> batch = new HashMap<>();
+            batch.put(contentId, new int[] {newUpvotes, newDownvotes});
+            saveVotes(batch);
+        }
+
+        @Override
+        public void saveVotes(Map<Long, int[]> votes) {
+            synchronized (writtenBatches) {
+                writtenBatches.add(new HashMap<>(votes));
+                writtenBatches.notifyAll();
+            }
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        posts.put(1L, new OriginalPost(1L, "One", "Content", "alice", new Date(), 0, 0));
+        posts.put(2L, new OriginalPost(2L, "Two", "Content", "bob", new Date(), 0, 0));
+    }
+
+    @Test
+    void repeatedVotesCoalesceIntoOneWrite() {
+        final WriteBehindVoteDataAccessObject buffer = new WriteBehindVoteDataAccessObject(storage, NEVER, 100);
+        for (int i = 1; i <= 50; i++) {
+            buffer.saveVote(1L, i, 0);
+        }
+        buffer.saveVote(2L, 0, 1);
+
+        assertEquals(50, posts.get(1L).getVotes()[0]);
+        assertEquals(2, buffer.getPendingCount());
+        assertEquals(0, writtenBatches.size());
+
+        buffer.close();
+
+        assertEquals(1, writtenBatches.size());
+        assertArrayEquals(new int[] {50, 0}, writtenBatches.get(0).get(1L));
+        assertArrayEquals(new int[] {0, 1}, writtenBatches.get(0).get(2L));
+    }
+
+    @Test
+    void fullBatchIsWrittenWithoutWaitingForTheInterval() throws InterruptedException {
+        final WriteBehindVoteDataAccessObject buffer = new WriteBehindVoteDataAccessObject(storage, NEVER, 2);
+        buffer.saveVote(1L, 1, 0);
+        buffer.saveVote(2L, 1, 0);
+
+        awaitBatches(1);
+        assertEquals(2, writtenBatches.get(0).size());
+        buffer.close();
+    }
+
+    @Test
+    void votesAreWrittenAfterTheInterval() throws InterruptedException {
+        final WriteBehindVoteDataAccessObject buffer =
+                new WriteBehindVoteDataAccessObject(storage, SHORT_INTERVAL, 100);
+        buffer.saveVote(1L, 3, 1);
+
+        awaitBatches(1);
+        assertArrayEquals(new int[] {3, 1}, writtenBatches.get(0).get(1L));
+        buffer.close();
+    }
+
+    private void awaitBatches(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        synchronized (writtenBatches) {
+            while (writtenBatches.size() < count && System.currentTimeMillis() < deadline) {
+                writtenBatches.wait(WAIT_MILLIS);
+            }
+        }
+        assertEquals(count, writtenBatches.size());
+    }
+}
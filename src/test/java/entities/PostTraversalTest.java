@@ -0,0 +1,89 @@
+package entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PostTraversalTest {
+
+    private static final int DEEP = 100_000;
+
+    private static OriginalPost chain(int depth) {
+        final Date date = new Date();
+        final OriginalPost root = new OriginalPost(1L, "Title", "Content", "alice", date, 0, 0);
+        Post parent = root;
+        for (int level = 1; level <= depth; level++) {
+            final ReplyPost reply = new ReplyPost(level + 1L, "bob", "Level " + level, date, 0, 0);
+            if (parent == root) {
+                root.addReply(reply);
+            }
+            else {
+                ((ReplyPost) parent).addReply(reply);
+            }
+            parent = reply;
+        }
+        return root;
+    }
+
+    @Test
+    void visitsPostsInReadingOrderWithParentsAndDepths() {
+        final Date date = new Date();
+        final OriginalPost root = new OriginalPost(1L, "Title", "Content", "alice", date, 0, 0);
+        final ReplyPost first = new ReplyPost(2L, "bob", "First", date, 0, 0);
+        final ReplyPost nested = new ReplyPost(3L, "carol", "Nested", date, 0, 0);
+        final ReplyPost second = new ReplyPost(4L, "dave", "Second", date, 0, 0);
+        first.addReply(nested);
+        root.addReply(first);
+        root.addReply(second);
+
+        final List<String> visits = new ArrayList<>();
+        assertTrue(PostTraversal.walkThreads(List.of(root), (post, parent, depth) -> {
+            final String parentId;
+            if (parent == null) {
+                parentId = "-";
+            }
+            else {
+                parentId = String.valueOf(parent.getId());
+            }
+            visits.add(post.getId() + "<" + parentId + "@" + depth);
+            return true;
+        }));
+        assertEquals(List.of("1<-@0", "2<1@1", "3<2@2", "4<1@1"), visits);
+    }
+
+    @Test
+    void walkStopsWhenTheVisitorSaysSo() {
+        final OriginalPost root = chain(10);
+        final List<Long> visited = new ArrayList<>();
+        assertFalse(PostTraversal.walkReplies(root, (reply, parent, depth) -> {
+            visited.add(reply.getId());
+            return depth < 2;
+        }));
+        assertEquals(List.of(2L, 3L, 4L), visited);
+    }
+
+    @Test
+    void chainsOfAHundredThousandRepliesAreWalkedWithoutRecursion() {
+        final OriginalPost root = chain(DEEP);
+        final int[] count = new int[1];
+        final Post[] last = new Post[1];
+        final Post[] lastParent = new Post[1];
+        PostTraversal.walkReplies(root, (reply, parent, depth) -> {
+            count[0]++;
+            last[0] = reply;
+            lastParent[0] = parent;
+            assertEquals(count[0] - 1, depth);
+            return true;
+        });
+        assertEquals(DEEP, count[0]);
+        assertEquals(DEEP + 1L, last[0].getId());
+        assertSame(lastParent[0].getReplies().get(0), last[0]);
+    }
+}
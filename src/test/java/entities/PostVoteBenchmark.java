@@ -0,0 +1,66 @@
+package entities;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Compares contended voting on one post through the atomic counters with the unsynchronized
+ * read-modify-write of {@code getVotes()} and {@code setUpvotes} that the vote interactor used to do.
+ * Run with {@code main}.
+ */
+public final class PostVoteBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+    private static final int VOTES_PER_THREAD = 5_000_000;
+    private static final int ROUNDS = 3;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private PostVoteBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     * @param args unused
+     * @throws InterruptedException if interrupted while waiting for the voting threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int threads : THREAD_COUNTS) {
+                run("atomic", threads, Post::upvote);
+                run("read-modify-write", threads, post -> post.setUpvotes(post.getVotes()[0] + 1));
+            }
+        }
+    }
+
+    private static void run(String name, int threads, Vote vote) throws InterruptedException {
+        final Post post = new OriginalPost(1L, "Title", "Content", "user", new Date(), 0, 0);
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] voters = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            voters[t] = new Thread(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < VOTES_PER_THREAD; i++) {
+                    vote.apply(post);
+                }
+            });
+            voters[t].start();
+        }
+        final long begin = System.nanoTime();
+        start.countDown();
+        for (Thread voter : voters) {
+            voter.join();
+        }
+        final long elapsed = System.nanoTime() - begin;
+        final long expected = (long) threads * VOTES_PER_THREAD;
+        System.out.printf("%-18s %d threads: %6.1f M votes/s, %d of %d votes kept%n", name, threads,
+                expected * NANOS_PER_SECOND / elapsed / 1e6, post.getUpvotes(), expected);
+    }
+
+    private interface Vote {
+        void apply(Post post);
+    }
+}
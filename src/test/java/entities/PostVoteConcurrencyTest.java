@@ -0,0 +1,113 @@
+package entities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the atomic vote counters on Post.
+ */
+public class PostVoteConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int VOTES_PER_THREAD = 20_000;
+
+    @Test
+    void concurrentUpvotesAreNeverLost() throws Exception {
+        final Post post = new OriginalPost(1L, "Title", "Content", "user", new Date(), 0, 0);
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < VOTES_PER_THREAD; i++) {
+                post.upvote();
+            }
+        });
+
+        assertArrayEquals(new int[] {THREADS * VOTES_PER_THREAD, 0}, post.getVotes());
+    }
+
+    @Test
+    void concurrentMixedVotesAreNeverLost() throws Exception {
+        // Enough upvotes up front that every downvote is allowed
+        final int initialUpvotes = THREADS * VOTES_PER_THREAD;
+        final Post post = new ReplyPost(2L, "user", "Content", new Date(), initialUpvotes, 0);
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < VOTES_PER_THREAD; i++) {
+                if (thread % 2 == 0) {
+                    post.upvote();
+                }
+                else {
+                    post.downvote();
+                }
+            }
+        });
+
+        final int votesPerSide = THREADS / 2 * VOTES_PER_THREAD;
+        assertEquals(initialUpvotes + votesPerSide, post.getUpvotes());
+        assertEquals(votesPerSide, post.getDownvotes());
+    }
+
+    @Test
+    void concurrentDownvotesNeverExceedUpvotes() throws Exception {
+        final Post post = new OriginalPost(3L, "Title", "Content", "user", new Date(), 100, 0);
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < VOTES_PER_THREAD; i++) {
+                post.downvote();
+            }
+        });
+
+        assertArrayEquals(new int[] {100, 100}, post.getVotes());
+    }
+
+    @Test
+    void lateOlderTotalsDoNotUndoNewerVotes() {
+        final Post post = new OriginalPost(4L, "Title", "Content", "user", new Date(), 0, 0);
+        final int[] older = post.upvote();
+        post.upvote();
+
+        assertArrayEquals(new int[] {2, 0}, post.advanceVotes(older[0], older[1]));
+    }
+
+    @Test
+    void getVotesReturnsASnapshot() {
+        final Post post = new OriginalPost(5L, "Title", "Content", "user", new Date(), 3, 1);
+        post.getVotes()[0] = 99;
+
+        assertEquals(3, post.getUpvotes());
+        post.setUpvotes(7);
+        post.setDownvotes(2);
+        assertArrayEquals(new int[] {7, 2}, post.getVotes());
+    }
+
+    private void runConcurrently(Voter voter) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                voter.vote(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+
+    private interface Voter {
+        void vote(int thread);
+    }
+}
@@ -0,0 +1,127 @@
+package interface_adapter.search_post;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+
+import interface_adapter.browse_posts.BrowsePostsState;
+import use_case.browse_posts.BrowsePostsOutputData;
+import use_case.search_post.PostTitleIndex;
+import use_case.search_post.SearchPostInputData;
+import use_case.search_post.SearchPostInteractor;
+
+class AsyncSearchPostControllerTest {
+
+    private static final int DEBOUNCE_MILLIS = 50;
+    private static final long WAIT_MILLIS = 2_000;
+
+    private final JPanel postsPanel = new JPanel();
+    private final BrowsePostsState state = createState();
+
+    @Test
+    void onlyTheLastKeystrokeIsSearchedAndPresented() throws Exception {
+        final List<String> searchedKeywords = new ArrayList<>();
+        final AsyncSearchPostController controller = new AsyncSearchPostController(new SearchPostInteractor() {
+            @Override
+            public List<BrowsePostsOutputData.PostData> findMatches(PostTitleIndex titleIndex, String keyword,
+                                                                    BooleanSupplier cancelled) {
+                synchronized (searchedKeywords) {
+                    searchedKeywords.add(keyword);
+                }
+                return super.findMatches(titleIndex, keyword, cancelled);
+            }
+        }, DEBOUNCE_MILLIS);
+
+        type(controller, "g", "ga", "gam", "game", "game ", "game 2");
+        awaitPresented(controller, 1);
+
+        assertEquals(List.of("game 2"), searchedKeywords);
+        assertEquals(List.of("game 2"), shownTitles());
+    }
+
+    @Test
+    void supersededSearchIsCancelledAndNeverPresented() throws Exception {
+        final CountDownLatch slowSearchStarted = new CountDownLatch(1);
+        final AsyncSearchPostController controller = new AsyncSearchPostController(new SearchPostInteractor() {
+            @Override
+            public List<BrowsePostsOutputData.PostData> findMatches(PostTitleIndex titleIndex, String keyword,
+                                                                    BooleanSupplier cancelled) {
+                if ("game".equals(keyword)) {
+                    slowSearchStarted.countDown();
+                    // Stands in for a search over a large board that notices it was superseded
+                    while (!cancelled.getAsBoolean()) {
+                        Thread.onSpinWait();
+                    }
+                    return null;
+                }
+                return super.findMatches(titleIndex, keyword, cancelled);
+            }
+        }, DEBOUNCE_MILLIS);
+
+        type(controller, "game");
+        slowSearchStarted.await();
+        type(controller, "drey");
+        awaitPresented(controller, 1);
+        Thread.sleep(DEBOUNCE_MILLIS * 2);
+
+        assertEquals(1, controller.getPresentedCount());
+        assertEquals(List.of("drey 3"), shownTitles());
+    }
+
+    private void type(AsyncSearchPostController controller, String... keywords) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            for (String keyword : keywords) {
+                controller.searchPosts(new SearchPostInputData(postsPanel, state, keyword));
+            }
+        });
+    }
+
+    private static void awaitPresented(AsyncSearchPostController controller, int count) throws Exception {
+        final long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (controller.getPresentedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(DEBOUNCE_MILLIS / 5);
+        }
+        assertEquals(count, controller.getPresentedCount());
+    }
+
+    private List<String> shownTitles() throws Exception {
+        final List<String> titles = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            for (Component postPanel : postsPanel.getComponents()) {
+                if (postPanel instanceof JPanel) {
+                    for (Component titlePanel : ((JPanel) postPanel).getComponents()) {
+                        if (titlePanel instanceof JPanel) {
+                            for (Component title : ((JPanel) titlePanel).getComponents()) {
+                                if (title instanceof JLabel && "titlePost".equals(title.getName())) {
+                                    titles.add(((JLabel) title).getText());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        return titles;
+    }
+
+    private static BrowsePostsState createState() {
+        final List<BrowsePostsOutputData.PostData> posts = new ArrayList<>();
+        posts.add(new BrowsePostsOutputData.PostData(1, "game 1", "game 1 content", "bob1", new Date(), 0, 0));
+        posts.add(new BrowsePostsOutputData.PostData(2, "game 2", "game 2 content", "bob1", new Date(), 2, 0));
+        posts.add(new BrowsePostsOutputData.PostData(3, "drey 3", "drey 3 content", "k3f", new Date(), 3, 1));
+        final BrowsePostsState state = new BrowsePostsState();
+        state.setPosts(posts);
+        return state;
+    }
+}
@@ -0,0 +1,82 @@
+package interface_adapter.upvote_downvote;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import interface_adapter.read_post.ReadPostState;
+import interface_adapter.read_post.ReadPostViewModel;
+import use_case.read_post.ReadPostOutputData;
+import use_case.read_post.ThreadDelta;
+import use_case.upvote_downvote.VoteOutputData;
+
+class VotePresenterTest {
+
+    private static final int DEEP = 100_000;
+
+    @Test
+    void votesDeepInAHundredThousandReplyChainAreShown() {
+        final List<ReadPostOutputData.ReplyData> replies = new ArrayList<>();
+        List<ReadPostOutputData.ReplyData> level = replies;
+        ReadPostOutputData.ReplyData deepest = null;
+        for (int i = 0; i < DEEP; i++) {
+            deepest = new ReadPostOutputData.ReplyData(i + 2L, "bob", "Reply " + i, 0, 0, new ArrayList<>());
+            level.add(deepest);
+            level = deepest.getNestedReplies();
+        }
+        final ReadPostViewModel viewModel = new ReadPostViewModel();
+        final ReadPostState state = new ReadPostState();
+        state.setId(1L);
+        state.setReplies(replies);
+        viewModel.setState(state);
+
+        new VotePresenter(viewModel).prepareSuccessView(new VoteOutputData(DEEP + 1L, 4, 1, false));
+
+        assertEquals(4, deepest.getUpvotes());
+        assertEquals(1, deepest.getDownvotes());
+    }
+
+    @Test
+    void votedRepliesMoveUpAmongTheirSiblings() {
+        final List<ReadPostOutputData.ReplyData> replies = new ArrayList<>();
+        final ReadPostOutputData.ReplyData parent =
+                new ReadPostOutputData.ReplyData(2L, "bob", "Parent", 0, 0, new ArrayList<>());
+        parent.getNestedReplies().add(new ReadPostOutputData.ReplyData(3L, "carol", "A", 1, 0, new ArrayList<>()));
+        parent.getNestedReplies().add(new ReadPostOutputData.ReplyData(4L, "dave", "B", 0, 0, new ArrayList<>()));
+        replies.add(parent);
+        final ReadPostViewModel viewModel = new ReadPostViewModel();
+        final ReadPostState state = new ReadPostState();
+        state.setId(1L);
+        state.setReplies(replies);
+        viewModel.setState(state);
+
+        new VotePresenter(viewModel).prepareSuccessView(new VoteOutputData(4L, 3, 0, false));
+
+        assertEquals(4L, parent.getNestedReplies().get(0).getId());
+    }
+
+    @Test
+    void votesFromACachedThreadApplyToTheShownCopy() {
+        final List<ReadPostOutputData.ReplyData> replies = new ArrayList<>();
+        replies.add(new ReadPostOutputData.ReplyData(2L, "bob", "A", 0, 0, new ArrayList<>()));
+        replies.add(new ReadPostOutputData.ReplyData(3L, "carol", "B", 0, 0, new ArrayList<>()));
+        final ReadPostViewModel viewModel = new ReadPostViewModel();
+        final ReadPostState state = new ReadPostState();
+        state.setId(1L);
+        state.setReplies(replies);
+        viewModel.setState(state);
+
+        final ReadPostOutputData.ReplyData voted =
+                new ReadPostOutputData.ReplyData(3L, "carol", "B", 2, 0, new ArrayList<>());
+        final ThreadDelta delta = new ThreadDelta(1L, voted, List.of(3L, 2L));
+        new VotePresenter(viewModel).prepareSuccessView(new VoteOutputData(3L, 2, 0, false, delta));
+
+        assertEquals(3L, replies.get(0).getId());
+        assertEquals(2, replies.get(0).getUpvotes());
+        assertNotSame(voted, replies.get(0));
+    }
+}
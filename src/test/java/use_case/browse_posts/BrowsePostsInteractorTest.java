@@ -108,6 +108,119 @@ class BrowsePostsInteractorTest {
         assertEquals(1L, posts.get(2).getId());
     }
 
+    @Test
+    void pagesFollowCursorsThroughTheWholeFeed() {
+        final Date date = new Date();
+        for (long id = 1; id <= 45; id++) {
+            // Scores repeat, so ties are broken by id
+            dataAccess.addPost(new OriginalPost(id, "Title " + id, "Content", "user", date, (int) (id % 7), 0));
+        }
+
+        interactor.execute();
+        final List<BrowsePostsOutputData.PostData> feed = new ArrayList<>(outputBoundary.getOutputData().getPosts());
+        assertTrue(outputBoundary.getOutputData().isFirstPage());
+        assertEquals(BrowsePostsInputData.DEFAULT_PAGE_SIZE, feed.size());
+        while (outputBoundary.getOutputData().getNextCursor() != null) {
+            interactor.execute(new BrowsePostsInputData(outputBoundary.getOutputData().getNextCursor()));
+            assertFalse(outputBoundary.getOutputData().isFirstPage());
+            feed.addAll(outputBoundary.getOutputData().getPosts());
+        }
+
+        assertEquals(45, feed.size());
+        for (int i = 1; i < feed.size(); i++) {
+            final BrowsePostsOutputData.PostData previous = feed.get(i - 1);
+            final BrowsePostsOutputData.PostData current = feed.get(i);
+            final int previousScore = previous.getUpvotes() - previous.getDownvotes();
+            final int currentScore = current.getUpvotes() - current.getDownvotes();
+            assertTrue(previousScore > currentScore
+                    || previousScore == currentScore && previous.getId() < current.getId());
+        }
+    }
+
+    @Test
+    void hotModeFavoursRecentActivity() {
+        final long now = System.currentTimeMillis();
+        final OriginalPost popularButOld = new OriginalPost(1L, "Old", "Content", "user",
+                new Date(now - 30L * HotScore.HALF_LIFE_MILLIS), 100, 0);
+        final OriginalPost fresh = new OriginalPost(2L, "Fresh", "Content", "user", new Date(now), 1, 0);
+        final OriginalPost quiet = new OriginalPost(3L, "Quiet", "Content", "user",
+                new Date(now - HotScore.HALF_LIFE_MILLIS), 0, 0);
+        dataAccess.addPost(popularButOld);
+        dataAccess.addPost(fresh);
+        dataAccess.addPost(quiet);
+
+        interactor.execute(new BrowsePostsInputData(null, 2, SortMode.HOT));
+        final List<BrowsePostsOutputData.PostData> firstPage = outputBoundary.getOutputData().getPosts();
+        assertEquals(2L, firstPage.get(0).getId());
+        assertEquals(3L, firstPage.get(1).getId());
+
+        interactor.execute(new BrowsePostsInputData(outputBoundary.getOutputData().getNextCursor(), 2,
+                SortMode.HOT));
+        assertEquals(1L, outputBoundary.getOutputData().getPosts().get(0).getId());
+        assertNull(outputBoundary.getOutputData().getNextCursor());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        final Date date = new Date();
+        dataAccess.addPost(new OriginalPost(1L, "Title 1", "Content", "user", date, 3, 0));
+        dataAccess.addPost(new OriginalPost(2L, "Title 2", "Content", "user", date, 2, 0));
+
+        interactor.execute(new BrowsePostsInputData(null, 2));
+
+        assertEquals(2, outputBoundary.getOutputData().getPosts().size());
+        assertNull(outputBoundary.getOutputData().getNextCursor());
+    }
+
+    @Test
+    void invalidCursorFails() {
+        interactor.execute(new BrowsePostsInputData("not a cursor"));
+
+        assertTrue(outputBoundary.isFailCalled());
+        assertTrue(outputBoundary.getErrorMessage().contains("Invalid feed cursor"));
+    }
+
+    @Test
+    void longContentIsPreviewedOnceUntilEdited() {
+        final String longContent = "word ".repeat(PostPreviewCache.CONTENT_PREVIEW_LENGTH);
+        final OriginalPost post = new OriginalPost(1L, "Title", longContent, "user", new Date(), 0, 0);
+        dataAccess.addPost(post);
+
+        interactor.execute();
+        final String preview = outputBoundary.getOutputData().getPosts().get(0).getContent();
+        assertEquals(longContent.substring(0, PostPreviewCache.CONTENT_PREVIEW_LENGTH) + "...", preview);
+
+        interactor.execute();
+        // The same preview object is handed out again, nothing is cut twice
+        assertTrue(preview == outputBoundary.getOutputData().getPosts().get(0).getContent());
+
+        post.setContent("Edited");
+        interactor.execute();
+        assertEquals("Edited", outputBoundary.getOutputData().getPosts().get(0).getContent());
+    }
+
+    @Test
+    void referenceSummaryFollowsEditsOfTheReferencedReply() {
+        final entities.ReplyPost reply = new entities.ReplyPost(10L, "replyUser", "Before", new Date(), 0, 0);
+        final OriginalPost post = new OriginalPost(1L, "Title", "Content", "user", new Date(), 0, 0);
+        post.setReferencedPost(reply);
+        dataAccess.addPost(post);
+
+        interactor.execute();
+        assertEquals("Before", outputBoundary.getOutputData().getPosts().get(0).getReferencedPostTitle());
+
+        reply.setContent("After");
+        interactor.execute();
+        assertEquals("After", outputBoundary.getOutputData().getPosts().get(0).getReferencedPostTitle());
+    }
+
+    @Test
+    void previewsNeverSplitSurrogatePairs() {
+        final String text = "a".repeat(PostPreviewCache.REFERENCE_PREVIEW_LENGTH - 1) + "\uD83D\uDE00 and more";
+        assertEquals("a".repeat(PostPreviewCache.REFERENCE_PREVIEW_LENGTH - 1) + "...",
+                PostPreviewCache.truncate(text, PostPreviewCache.REFERENCE_PREVIEW_LENGTH));
+    }
+
     @Test
     void testSwitchToCreatePostView() {
         // Act
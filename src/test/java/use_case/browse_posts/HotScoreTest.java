@@ -0,0 +1,72 @@
+package use_case.browse_posts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import entities.OriginalPost;
+import entities.ReplyPost;
+
+class HotScoreTest {
+
+    private static final long HOUR = 60L * 60 * 1000;
+    private static final long NOW = HotScore.EPOCH_MILLIS + 1000 * HOUR;
+
+    @Test
+    void newerPostsWithTheSameVotesAreHotter() {
+        final OriginalPost older = new OriginalPost(1L, "Old", "Content", "alice", new Date(NOW - 48 * HOUR), 5, 0);
+        final OriginalPost newer = new OriginalPost(2L, "New", "Content", "bob", new Date(NOW), 5, 0);
+
+        assertTrue(HotScore.of(newer) > HotScore.of(older));
+        // One half-life of age is worth doubling the activity
+        final OriginalPost doubled = new OriginalPost(3L, "Old", "Content", "carol",
+                new Date(NOW - HotScore.HALF_LIFE_MILLIS), 11, 0);
+        assertEquals(HotScore.of(newer), HotScore.of(doubled), 1e-9);
+    }
+
+    @Test
+    void recentRepliesLiftAnOlderThread() {
+        final OriginalPost older = new OriginalPost(1L, "Old", "Content", "alice", new Date(NOW - 24 * HOUR), 0, 0);
+        final OriginalPost quiet = new OriginalPost(2L, "Quiet", "Content", "bob", new Date(NOW - HOUR), 0, 0);
+        assertTrue(HotScore.of(quiet) > HotScore.of(older));
+
+        for (int i = 0; i < 3; i++) {
+            older.addReply(new ReplyPost(10L + i, "carol", "Reply", new Date(NOW), 0, 0));
+        }
+        assertTrue(HotScore.of(older) > HotScore.of(quiet));
+    }
+
+    @Test
+    void incrementalEventsMatchScoringFromScratch() {
+        final Date created = new Date(NOW);
+        final OriginalPost post = new OriginalPost(1L, "Post", "Content", "alice", created, 0, 0);
+        final double createdHalfLives = HotScore.halfLives(created.getTime());
+        double hot = HotScore.of(post);
+
+        hot = HotScore.add(hot, createdHalfLives, 3 * HotScore.VOTE_WEIGHT, createdHalfLives);
+        final ReplyPost reply = new ReplyPost(2L, "bob", "Reply", new Date(NOW + 5 * HOUR), 0, 0);
+        post.addReply(reply);
+        hot = HotScore.add(hot, createdHalfLives, HotScore.REPLY_WEIGHT,
+                HotScore.halfLives(reply.getCreationDate().getTime()));
+        post.setVotes(3, 0);
+
+        assertEquals(HotScore.of(post), hot, 1e-9);
+    }
+
+    @Test
+    void distantEventsAndDownvotesStayFinite() {
+        final double created = HotScore.halfLives(NOW);
+        final double yearsLater = HotScore.halfLives(NOW + 5 * 365 * 24 * HOUR);
+
+        final double revived = HotScore.add(created, created, HotScore.REPLY_WEIGHT, yearsLater);
+        assertTrue(Double.isFinite(revived));
+        assertEquals(yearsLater + 1, revived, 1e-9);
+
+        final double buried = HotScore.add(created, created, -100 * HotScore.VOTE_WEIGHT, created);
+        assertTrue(Double.isFinite(buried));
+        assertTrue(buried < created);
+    }
+}
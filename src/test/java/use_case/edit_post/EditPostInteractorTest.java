@@ -2,6 +2,9 @@ package use_case.edit_post;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.swing.*;
 
 import org.junit.jupiter.api.Test;
@@ -12,6 +15,8 @@ import interface_adapter.read_post.ReadPostState;
 
 public class EditPostInteractorTest {
 
+    private final Map<Long, String> edits = new HashMap<>();
+
     ReadPostState createSamplePost() {
         final ReadPostState state = new ReadPostState();
         state.setUsername("bob123");
@@ -29,11 +34,11 @@ public class EditPostInteractorTest {
         final User curUser = new User("Bob Marley", "bob123", "bobmarl@gmail.com",
                 "bobby111222333");
         final JDialog dialog = new JDialog();
-        final EditPostController editPostController =
-                new EditPostController(new EditPostInputData(contentArea, state.getId(), curUser.getUsername(), state,
-                        newText, dialog));
-        editPostController.editPost();
+        final EditPostController editPostController = new EditPostController(new EditPostInteractor(edits::put));
+        editPostController.editPost(new EditPostInputData(contentArea, state.getId(), curUser.getUsername(), state,
+                newText, dialog));
         assertEquals(newText, state.getContent());
+        assertEquals(newText, edits.get(1L));
     }
 
     @Test
@@ -45,11 +50,11 @@ public class EditPostInteractorTest {
         final User curUser = new User("Bob Marley", "bob123", "bobmarl@gmail.com",
                 "bobby111222333");
         final JDialog dialog = new JDialog();
-        final EditPostController editPostController =
-                new EditPostController(new EditPostInputData(contentArea, state.getId(), curUser.getUsername(), state,
-                        newText, dialog));
-        editPostController.editPost();
+        final EditPostController editPostController = new EditPostController(new EditPostInteractor(edits::put));
+        editPostController.editPost(new EditPostInputData(contentArea, state.getId(), curUser.getUsername(), state,
+                newText, dialog));
         assertEquals(original, state.getContent());
+        assertTrue(edits.isEmpty());
     }
 
     @Test
@@ -61,11 +66,11 @@ public class EditPostInteractorTest {
         final User curUser = new User("Bob Marley", "bob1", "bobmarl@gmail.com",
                 "bobby111222333");
         final JDialog dialog = new JDialog();
-        final EditPostController editPostController =
-                new EditPostController(new EditPostInputData(contentArea, state.getId(), curUser.getUsername(), state,
-                        newText, dialog));
-        editPostController.editPost();
+        final EditPostController editPostController = new EditPostController(new EditPostInteractor(edits::put));
+        editPostController.editPost(new EditPostInputData(contentArea, state.getId(), curUser.getUsername(), state,
+                newText, dialog));
         assertEquals(original, state.getContent());
+        assertTrue(edits.isEmpty());
     }
 
     @Test
@@ -77,10 +82,10 @@ public class EditPostInteractorTest {
         final User curUser = new User("Bob Marley", "bob1", "bobmarl@gmail.com",
                 "bobby111222333");
         final JDialog dialog = new JDialog();
-        final EditPostController editPostController =
-                new EditPostController(new EditPostInputData(contentArea, state.getId(), curUser.getUsername(), state,
-                        newText, dialog));
-        editPostController.editPost();
+        final EditPostController editPostController = new EditPostController(new EditPostInteractor(edits::put));
+        editPostController.editPost(new EditPostInputData(contentArea, state.getId(), curUser.getUsername(), state,
+                newText, dialog));
         assertEquals(original, state.getContent());
+        assertTrue(edits.isEmpty());
     }
 }
@@ -122,6 +122,33 @@ class ReadPostInteractorTest {
         assertEquals("Nested Reply", nestedReplyData.getContent());
     }
 
+    @Test
+    void repliesBeyondTheFirstPageLoadOnDemand() {
+        final Date date = new Date();
+        final OriginalPost post = new OriginalPost(1L, "Title", "Content", "user", date, 0, 0);
+        final int replyCount = ReplyWindow.DEFAULT_PAGE_SIZE + 3;
+        for (int i = 0; i < replyCount; i++) {
+            post.addReply(new ReplyPost(10L + i, "replier", "Reply " + i, date, 0, 0));
+        }
+        dataAccess.addPost(1L, post);
+
+        interactor.execute(new ReadPostInputData(1L));
+        final ReadPostOutputData opened = outputBoundary.getOutputData();
+        assertEquals(ReplyWindow.DEFAULT_PAGE_SIZE, opened.getReplies().size());
+        assertEquals(replyCount, opened.getReplyCount());
+
+        interactor.loadMoreReplies(new ReadPostInputData(1L, 1L));
+        final ReplyPageOutputData page = outputBoundary.getReplyPage();
+        assertEquals(3, page.getReplies().size());
+        assertEquals("Reply " + ReplyWindow.DEFAULT_PAGE_SIZE, page.getReplies().get(0).getContent());
+
+        interactor.execute(new ReadPostInputData(1L));
+        assertEquals(replyCount, outputBoundary.getOutputData().getReplies().size());
+
+        interactor.loadMoreReplies(new ReadPostInputData(1L, 999L));
+        assertTrue(outputBoundary.isFailCalled());
+    }
+
     @Test
     void executePostNotFound() {
         // Arrange
@@ -399,6 +426,7 @@ class ReadPostInteractorTest {
         private boolean successCalled;
         private boolean failCalled;
         private ReadPostOutputData outputData;
+        private ReplyPageOutputData replyPage;
         private String errorMessage;
 
         boolean isSuccessCalled() {
@@ -417,12 +445,21 @@ class ReadPostInteractorTest {
             return errorMessage;
         }
 
+        ReplyPageOutputData getReplyPage() {
+            return replyPage;
+        }
+
         @Override
         public void prepareSuccessView(ReadPostOutputData data) {
             this.successCalled = true;
             this.outputData = data;
         }
 
+        @Override
+        public void prepareMoreRepliesView(ReplyPageOutputData data) {
+            this.replyPage = data;
+        }
+
         @Override
         public void prepareFailView(String message) {
             this.failCalled = true;
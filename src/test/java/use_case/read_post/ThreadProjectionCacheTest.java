@@ -0,0 +1,126 @@
+package use_case.read_post;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import entities.OriginalPost;
+import entities.ReplyPost;
+
+class ThreadProjectionCacheTest {
+
+    private final ThreadProjectionCache cache = new ThreadProjectionCache();
+
+    private static OriginalPost thread() {
+        final Date date = new Date();
+        final OriginalPost root = new OriginalPost(1L, "Title", "Content", "alice", date, 0, 0);
+        final ReplyPost first = new ReplyPost(2L, "bob", "First", date, 0, 0);
+        final ReplyPost second = new ReplyPost(3L, "carol", "Second", date, 0, 0);
+        first.addReply(new ReplyPost(4L, "dave", "Nested", date, 0, 0));
+        root.addReply(first);
+        root.addReply(second);
+        return root;
+    }
+
+    @Test
+    void reopeningAThreadReusesItsProjection() {
+        final OriginalPost root = thread();
+        final ThreadProjection projection = cache.projectionOf(root);
+        final List<ReadPostOutputData.ReplyData> replies = projection.getReplies();
+        assertEquals(2, replies.size());
+        assertEquals("First", replies.get(0).getContent());
+        assertEquals(4L, replies.get(0).getNestedReplies().get(0).getId());
+
+        // What readers do to their copy never reaches the cache
+        replies.get(0).getNestedReplies().clear();
+        replies.remove(1);
+
+        // Votes cast behind the cache's back are picked up without rebuilding
+        root.getReplies().get(1).setVotes(3, 1);
+        assertSame(projection, cache.projectionOf(root));
+        final List<ReadPostOutputData.ReplyData> reopened = projection.getReplies();
+        assertEquals(1, reopened.get(0).getNestedReplies().size());
+        assertEquals(3, reopened.get(1).getUpvotes());
+        assertEquals(1, reopened.get(1).getDownvotes());
+    }
+
+    @Test
+    void repliesAndVotesPatchTheCachedThread() {
+        final OriginalPost root = thread();
+        final ThreadProjection projection = cache.projectionOf(root);
+
+        final ReplyPost answer = new ReplyPost(5L, "erin", "Answer", new Date(), 0, 0);
+        root.getReplies().get(1).addReply(answer);
+        final ThreadDelta added = cache.replyAdded(3L, answer);
+        assertEquals("Answer", added.getReply().getContent());
+        assertEquals(List.of(5L), added.getSiblingOrder());
+        assertEquals(5L, projection.getReplies().get(1).getNestedReplies().get(0).getId());
+        assertEquals(1, projection.getReplies().get(1).getReplyCount());
+
+        root.getReplies().get(1).setVotes(2, 0);
+        final ThreadDelta voted = cache.votesChanged(3L, 2, 0);
+        assertEquals(1L, voted.getParentId());
+        assertEquals(2, voted.getReply().getUpvotes());
+        assertEquals(List.of(3L, 2L), voted.getSiblingOrder());
+        assertSame(projection, cache.projectionOf(root));
+        assertEquals(3L, projection.getReplies().get(0).getId());
+    }
+
+    @Test
+    void changesOutsideTheCacheRebuildTheThread() {
+        final OriginalPost root = thread();
+        final ThreadProjection projection = cache.projectionOf(root);
+
+        root.getReplies().get(0).getReplies().get(0).setContent("Edited");
+        final ThreadProjection edited = cache.projectionOf(root);
+        assertNotSame(projection, edited);
+        assertEquals("Edited", edited.getReplies().get(0).getNestedReplies().get(0).getContent());
+
+        root.addReply(new ReplyPost(6L, "frank", "Unannounced", new Date(), 0, 0));
+        assertEquals(3, cache.projectionOf(root).getReplies().size());
+    }
+
+    @Test
+    void deepChainsOpenToTheDepthLimitAndContinueOnDemand() {
+        final int depth = 100_000;
+        final Date date = new Date();
+        final OriginalPost root = new OriginalPost(1L, "Title", "Content", "alice", date, 0, 0);
+        ReplyPost parent = new ReplyPost(2L, "bob", "Level 1", date, 0, 0);
+        root.addReply(parent);
+        for (int level = 2; level <= depth; level++) {
+            final ReplyPost reply = new ReplyPost(level + 1L, "bob", "Level " + level, date, 0, 0);
+            parent.addReply(reply);
+            parent = reply;
+        }
+        final ThreadProjectionCache windowed = new ThreadProjectionCache(1, new ReplyWindow(1, 1, 3));
+
+        ReadPostOutputData.ReplyData last = windowed.projectionOf(root).getReplies().get(0);
+        for (int level = 1; level < 3; level++) {
+            last = last.getNestedReplies().get(0);
+        }
+        assertEquals("Level 3", last.getContent());
+        assertTrue(last.getNestedReplies().isEmpty());
+        assertEquals(1, last.getReplyCount());
+
+        final ReplyPageOutputData continued = windowed.loadMore(root, last.getId());
+        assertEquals("Level 4", continued.getReplies().get(0).getContent());
+        assertEquals("Level 6", continued.getReplies().get(0).getNestedReplies().get(0)
+                .getNestedReplies().get(0).getContent());
+    }
+
+    @Test
+    void repliesOutsideCachedThreadsCarryTheReplyAlone() {
+        final ReplyPost reply = new ReplyPost(7L, "gina", "Elsewhere", new Date(), 0, 0);
+        final ThreadDelta delta = cache.replyAdded(99L, reply);
+        assertEquals("Elsewhere", delta.getReply().getContent());
+        assertNull(delta.getSiblingOrder());
+        assertNull(cache.votesChanged(7L, 1, 0));
+    }
+}
@@ -185,6 +185,50 @@ public class ReferencePostInteractorTest {
         interactor.searchPosts(inputData);
     }
 
+    @Test
+    void searchPostsBestMatchFirstTest() {
+        final OriginalPost post1 = new OriginalPost("user1", "Test Title", "This is test content");
+        final OriginalPost post2 = new OriginalPost("user2", "Another Title", "More test content");
+        final InMemoryPostDataAccessObject rankingRepository = new InMemoryPostDataAccessObject() {
+            @Override
+            public List<Post> searchPostsBestMatch(String keyword) {
+                return List.of(post2, post1);
+            }
+        };
+        rankingRepository.savePost(post1);
+        rankingRepository.savePost(post2);
+
+        final ReferencePostInputData inputData = new ReferencePostInputData("1", "test");
+
+        final ReferencePostOutputBoundary successPresenter = new ReferencePostOutputBoundary() {
+            @Override
+            public void prepareSearchResultsView(ReferencePostOutputData outputData) {
+                final List<ReferencePostOutputData.PostSearchResult> results = outputData.getSearchResults();
+                assertEquals(2, results.size());
+                assertEquals(String.valueOf(post2.getId()), results.get(0).getPostId());
+                assertEquals(String.valueOf(post1.getId()), results.get(1).getPostId());
+            }
+
+            @Override
+            public void prepareSuccessView(ReferencePostOutputData outputData) {
+                fail("prepareSuccessView should not be called for search.");
+            }
+
+            @Override
+            public void prepareFailView(String errorMessage) {
+                fail("Search should succeed, but got error: " + errorMessage);
+            }
+
+            @Override
+            public void cancelReferencePost() {
+                fail("cancelReferencePost should not be called.");
+            }
+        };
+
+        interactor = new ReferencePostInteractor(rankingRepository, successPresenter);
+        interactor.searchPosts(inputData);
+    }
+
     @Test
     void searchPostsNoResultsTest() {
         // Create a post that does not match
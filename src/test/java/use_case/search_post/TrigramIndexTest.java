@@ -0,0 +1,116 @@
+package use_case.search_post;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private TrigramIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex<>(Function.identity());
+        index.add(1, "Swing layouts: nesting a BorderLayout");
+        index.add(2, "東京の天気は晴れです");
+        index.add(3, "Clean Architecture in Java");
+        index.add(4, "ab");
+    }
+
+    @Test
+    void matchesSubstringsInsideWordsIgnoringCase() {
+        assertEquals(List.of("Swing layouts: nesting a BorderLayout"), index.search("DERlay"));
+        assertEquals(List.of("Clean Architecture in Java"), index.search("n arch"));
+        assertEquals(List.of("Swing layouts: nesting a BorderLayout"), index.search("layout"));
+    }
+
+    @Test
+    void verifiesCandidatesHavingEveryTrigramOutOfOrder() {
+        index.add(5, "abcd bcde");
+        // Both trigrams of the keyword occur in the text, but not next to each other
+        assertTrue(index.search("abcde").isEmpty());
+        assertEquals(List.of("abcd bcde"), index.search("d bcd"));
+    }
+
+    @Test
+    void matchesJapaneseSubstringsOfAnyLength() {
+        final List<String> japanese = List.of("東京の天気は晴れです");
+        assertEquals(japanese, index.search("天気"));
+        assertEquals(japanese, index.search("の天気は"));
+        assertEquals(japanese, index.search("晴"));
+        assertTrue(index.search("天晴").isEmpty());
+    }
+
+    @Test
+    void shortAndEmptyKeywordsCheckEveryItem() {
+        assertEquals(List.of("ab"), index.search("AB"));
+        assertEquals(List.of("Swing layouts: nesting a BorderLayout", "Clean Architecture in Java"),
+                index.search("IN"));
+        assertEquals(4, index.search("").size());
+    }
+
+    @Test
+    void replacingAndRemovingItemsUpdatesMatches() {
+        index.add(3, "Clean Architecture in Kotlin");
+        assertTrue(index.search("java").isEmpty());
+        assertEquals(List.of("Clean Architecture in Kotlin"), index.search("kotlin"));
+        index.remove(3);
+        assertTrue(index.search("architecture").isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void cancelledSearchReturnsNull() {
+        assertNull(index.search("layout", () -> true));
+    }
+
+    @Test
+    void agreesWithContainsAfterManyReplacements() {
+        final Random random = new Random(7L);
+        final String alphabet = "abcXYZ 検索";
+        final List<String> texts = new ArrayList<>();
+        final TrigramIndex<String> randomIndex = new TrigramIndex<>(Function.identity());
+        for (int key = 0; key < 3000; key++) {
+            final String text = randomText(random, alphabet, 12);
+            final int replaced = random.nextInt(key + 1);
+            if (replaced < texts.size()) {
+                texts.set(replaced, text);
+                randomIndex.add(replaced, text);
+            }
+            else {
+                texts.add(text);
+                randomIndex.add(texts.size() - 1, text);
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            final String keyword = randomText(random, alphabet, 1 + random.nextInt(4));
+            final List<String> expected = new ArrayList<>();
+            for (String text : texts) {
+                if (text.toLowerCase(Locale.ROOT).contains(keyword.toLowerCase(Locale.ROOT))) {
+                    expected.add(text);
+                }
+            }
+            final List<String> found = randomIndex.search(keyword);
+            expected.sort(String::compareTo);
+            found.sort(String::compareTo);
+            assertEquals(expected, found, keyword);
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}